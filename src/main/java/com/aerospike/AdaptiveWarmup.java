@@ -0,0 +1,227 @@
+package com.aerospike;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/*
+Ends the warmup once the workload has converged ('--AdaptiveWarmup'). The warmup duration is the maximum.
+Each window:
+    Throughput -- The queries completed during the window per second
+    50% and 99% -- The latency (service time) percentiles of the queries completed during the window
+The warmup has converged once the throughput and both percentiles of the last consecutive windows are within the tolerance
+(the difference between the largest and smallest value is within the tolerance of their mean).
+A window without any completed queries restarts the convergence.
+ */
+public final class AdaptiveWarmup implements AutoCloseable {
+
+    /*
+    The measurements of a window.
+     */
+    public record Window(double throughput, long p50NS, long p99NS) {}
+
+    private final LongSupplier completedCount;
+    private final Supplier<Histogram> latencySnapshot;
+    private final Duration window;
+    private final double tolerancePct;
+    private final int requiredWindows;
+    private final Runnable onConverged;
+    private final LogSource logger = LogSource.getInstance();
+    private final Deque<Window> recentWindows = new ArrayDeque<>();
+    private final List<Window> windows = new ArrayList<>();
+
+    private ScheduledExecutorService warmupExecutor = null;
+    private long startNanos;
+    private long lastCompleted;
+    private Histogram lastSnapshot;
+    private volatile Duration convergedAfter = null;
+
+    /*
+        completedCount -- The total number of completed queries
+        latencySnapshot -- Returns all latencies recorded so far
+        window -- The time of each measurement window
+        tolerancePct -- The allowed variation (percent) of the measurements over the consecutive windows
+        requiredWindows -- The number of consecutive windows that must be within the tolerance
+        onConverged -- Called once when converged (ends the warmup)
+     */
+    public AdaptiveWarmup(LongSupplier completedCount,
+                          Supplier<Histogram> latencySnapshot,
+                          Duration window,
+                          double tolerancePct,
+                          int requiredWindows,
+                          Runnable onConverged) {
+        this.completedCount = completedCount;
+        this.latencySnapshot = latencySnapshot;
+        this.window = window;
+        this.tolerancePct = tolerancePct;
+        this.requiredWindows = Math.max(2, requiredWindows);
+        this.onConverged = onConverged;
+    }
+
+    /*
+    Returns true if the spread (largest minus smallest) of each measurement is within the tolerance of its mean.
+     */
+    public static boolean IsConverged(List<Window> windows, double tolerancePct) {
+        if(windows.isEmpty()) {
+            return false;
+        }
+        return WithinTolerance(windows.stream().mapToDouble(Window::throughput).toArray(), tolerancePct)
+                && WithinTolerance(windows.stream().mapToDouble(Window::p50NS).toArray(), tolerancePct)
+                && WithinTolerance(windows.stream().mapToDouble(Window::p99NS).toArray(), tolerancePct);
+    }
+
+    private static boolean WithinTolerance(double[] values, double tolerancePct) {
+        double min = Double.MAX_VALUE;
+        double max = 0;
+        double sum = 0;
+        for (double value : values) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+            sum += value;
+        }
+        final double mean = sum / values.length;
+        if(mean <= 0) {
+            return false;
+        }
+        return ((max - min) / mean) * 100.0 <= tolerancePct;
+    }
+
+    public boolean isConverged() { return convergedAfter != null; }
+    /*
+    Returns the time from the start of the warmup until converged. Null if not converged.
+     */
+    public Duration getConvergedAfter() { return convergedAfter; }
+    //Windows are added by Evaluate while holding the lock
+    public synchronized List<Window> getWindows() { return List.copyOf(windows); }
+
+    /*
+    Starts measuring. The first window is evaluated after one window.
+     */
+    public synchronized void Start() {
+        if(warmupExecutor != null) {
+            return;
+        }
+        startNanos = System.nanoTime();
+        lastCompleted = completedCount.getAsLong();
+        lastSnapshot = latencySnapshot.get();
+
+        warmupExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread thread = new Thread(r, "AdaptiveWarmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        warmupExecutor.scheduleAtFixedRate(this::Evaluate,
+                                            window.toMillis(),
+                                            window.toMillis(),
+                                            TimeUnit.MILLISECONDS);
+        logger.PrintDebug("AdaptiveWarmup",
+                            "Started with a window of %s, %d windows, tolerance %.2f%%",
+                            window,
+                            requiredWindows,
+                            tolerancePct);
+    }
+
+    /*
+    Measures the last window and determines if converged.
+     */
+    public synchronized void Evaluate() {
+        if(isConverged()) {
+            return;
+        }
+        try {
+            final long completed = completedCount.getAsLong();
+            final Histogram snapshot = latencySnapshot.get();
+            final Histogram windowLatency = snapshot.copy();
+            if(lastSnapshot != null) {
+                windowLatency.subtract(lastSnapshot);
+            }
+            final long completedDelta = completed - lastCompleted;
+            lastCompleted = completed;
+            lastSnapshot = snapshot;
+
+            if(completedDelta <= 0 || windowLatency.getTotalCount() == 0) {
+                recentWindows.clear();
+                return;
+            }
+            final Window measured = new Window(completedDelta / (window.toNanos() / 1_000_000_000.0),
+                                                windowLatency.getValueAtPercentile(50.0),
+                                                windowLatency.getValueAtPercentile(99.0));
+            windows.add(measured);
+            recentWindows.addLast(measured);
+            if(recentWindows.size() > requiredWindows) {
+                recentWindows.removeFirst();
+            }
+            logger.PrintDebug("AdaptiveWarmup",
+                                "Window %d: %,.2f QPS, 50%% %,.3f ms, 99%% %,.3f ms",
+                                windows.size(),
+                                measured.throughput(),
+                                measured.p50NS() / Helpers.NS_TO_MS,
+                                measured.p99NS() / Helpers.NS_TO_MS);
+
+            if(recentWindows.size() == requiredWindows
+                    && IsConverged(List.copyOf(recentWindows), tolerancePct)) {
+                convergedAfter = Duration.ofNanos(System.nanoTime() - startNanos);
+                logger.info("Warmup converged after {} ({} windows)",
+                                Helpers.FmtDuration(convergedAfter),
+                                windows.size());
+                onConverged.run();
+            }
+        } catch (Exception e) {
+            logger.Print("AdaptiveWarmup", e);
+        }
+    }
+
+    /*
+    Prints whether the warmup converged and the measurements of the converged windows.
+    Can be called while measuring (runtime control summary).
+     */
+    public synchronized void PrintSummary(PrintStream printStream, Duration maxDuration) {
+        if(isConverged()) {
+            final Window last = windows.get(windows.size() - 1);
+            printStream.printf("\tAdaptive Warmup: Converged after %s (Maximum %s, %,d Windows of %s, Tolerance %.2f%%)%n",
+                                Helpers.FmtDuration(convergedAfter),
+                                Helpers.FmtDuration(maxDuration),
+                                windows.size(),
+                                Helpers.FmtDuration(window),
+                                tolerancePct);
+            printStream.printf("\t\tConverged: %,.2f QPS\t50%% %,.3f ms\t99%% %,.3f ms%n",
+                                last.throughput(),
+                                last.p50NS() / Helpers.NS_TO_MS,
+                                last.p99NS() / Helpers.NS_TO_MS);
+        } else {
+            printStream.printf("\tAdaptive Warmup: Did not converge within the maximum of %s (%,d Windows of %s, Tolerance %.2f%%)%n",
+                                Helpers.FmtDuration(maxDuration),
+                                windows.size(),
+                                Helpers.FmtDuration(window),
+                                tolerancePct);
+        }
+    }
+
+    /*
+    Stops measuring. Waits for an evaluation in progress so it completes before the summary.
+     */
+    @Override
+    public void close() {
+        final ScheduledExecutorService executor;
+        synchronized (this) {
+            executor = warmupExecutor;
+            warmupExecutor = null;
+        }
+        if(executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(window.toMillis() + 1000, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ignored) {}
+        }
+    }
+}
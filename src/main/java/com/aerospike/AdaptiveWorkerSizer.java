@@ -0,0 +1,280 @@
+package com.aerospike;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/*
+Periodically resizes the worker pool based on the measured queue depth and service time ('--AdaptiveWorkers').
+Using Little's law, the number of busy workers required is the arrival rate times the mean service time.
+Each interval:
+    Arrival Rate -- The queries completed during the interval plus the growth of the worker queue
+    Service Time -- The mean time to execute a query (worker start to completion) during the interval
+    Required -- Arrival Rate * Service Time plus the headroom, plus the workers needed to drain the queued queries within one interval
+The pool grows immediately to the required number of workers and shrinks only when the required number is
+below the shrink threshold (and only half of the difference at a time) so the size doesn't oscillate.
+Every decision is logged and the recommended static '--workers' value (based on the peak required workers) is reported.
+ */
+public final class AdaptiveWorkerSizer implements AutoCloseable {
+
+    //Additional workers above the measured concurrency to absorb variation
+    public static final double Headroom = 0.25;
+    //The pool only shrinks if the required workers are below this fraction of the current workers
+    public static final double ShrinkThreshold = 0.80;
+
+    /*
+    A resize decision.
+     */
+    public record Decision(long elapsedMS,
+                           int fromWorkers,
+                           int toWorkers,
+                           double arrivalRate,
+                           double serviceTimeMS,
+                           long queueDepth) {}
+
+    private final ThreadPoolExecutor pool;
+    private final LongSupplier completedCount;
+    private final LongSupplier serviceTimeNS;
+    private final int minWorkers;
+    private final int maxWorkers;
+    private final Duration interval;
+    private final String name;
+    private final LogSource logger = LogSource.getInstance();
+    private final List<Decision> decisions = new ArrayList<>();
+
+    private ScheduledExecutorService sizerExecutor = null;
+    private int startWorkers;
+    private long startNanos;
+    private long lastCompleted;
+    private long lastServiceTimeNS;
+    private long lastQueueDepth;
+    //The largest measured concurrency (arrival rate * service time)
+    private double peakConcurrency = 0;
+    private double peakServiceTimeMS = 0;
+
+    /*
+        pool -- The worker pool being resized
+        completedCount -- The total number of completed queries
+        serviceTimeNS -- The total time spent executing the completed queries
+        minWorkers, maxWorkers -- The range of the pool size
+        interval -- The time between decisions
+        name -- Used when logging (e.g., Workload)
+     */
+    public AdaptiveWorkerSizer(ThreadPoolExecutor pool,
+                               LongSupplier completedCount,
+                               LongSupplier serviceTimeNS,
+                               int minWorkers,
+                               int maxWorkers,
+                               Duration interval,
+                               String name) {
+        this.pool = pool;
+        this.completedCount = completedCount;
+        this.serviceTimeNS = serviceTimeNS;
+        this.minWorkers = Math.max(1, minWorkers);
+        this.maxWorkers = Math.max(this.minWorkers, maxWorkers);
+        this.interval = interval;
+        this.name = name;
+    }
+
+    /*
+    Returns the number of workers required to serve the arrival rate (Little's law) including the headroom and
+    the workers needed to drain the queued queries within the interval.
+     */
+    public static int RequiredWorkers(double arrivalRate,
+                                      double meanServiceNS,
+                                      long queueDepth,
+                                      double intervalSecs) {
+        final double serviceSecs = meanServiceNS / 1_000_000_000.0;
+        final double concurrency = arrivalRate * serviceSecs * (1.0 + Headroom);
+        final double drain = intervalSecs <= 0 ? 0 : (queueDepth * serviceSecs) / intervalSecs;
+        return (int) Math.ceil(concurrency + drain);
+    }
+
+    /*
+    Returns the next pool size. Grows immediately and shrinks by half of the difference once the required
+    workers are below the shrink threshold.
+     */
+    public static int NextWorkers(int currentWorkers,
+                                  int requiredWorkers,
+                                  int minWorkers,
+                                  int maxWorkers) {
+        int next = currentWorkers;
+        if(requiredWorkers > currentWorkers) {
+            next = requiredWorkers;
+        } else if(requiredWorkers < currentWorkers * ShrinkThreshold) {
+            next = currentWorkers - (currentWorkers - requiredWorkers) / 2;
+        }
+        return Math.min(maxWorkers, Math.max(minWorkers, next));
+    }
+
+    public int getMinWorkers() { return minWorkers; }
+    public int getMaxWorkers() { return maxWorkers; }
+    public int getStartWorkers() { return startWorkers; }
+    public int getCurrentWorkers() { return pool.getCorePoolSize(); }
+    //Decisions are added by Adjust while holding the lock
+    public synchronized List<Decision> getDecisions() { return List.copyOf(decisions); }
+
+    /*
+    Returns the recommended static number of workers based on the peak measured concurrency.
+     */
+    public int getRecommendedWorkers() {
+        final int recommended = (int) Math.ceil(peakConcurrency * (1.0 + Headroom));
+        return Math.min(maxWorkers, Math.max(minWorkers, recommended));
+    }
+
+    /*
+    Starts the background sizer. The first decision is made after one interval.
+     */
+    public synchronized void Start() {
+        if(sizerExecutor != null) {
+            return;
+        }
+        startWorkers = pool.getCorePoolSize();
+        startNanos = System.nanoTime();
+        lastCompleted = completedCount.getAsLong();
+        lastServiceTimeNS = serviceTimeNS.getAsLong();
+        lastQueueDepth = pool.getQueue().size();
+
+        sizerExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread thread = new Thread(r, "AdaptiveWorkerSizer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sizerExecutor.scheduleAtFixedRate(this::Adjust,
+                                            interval.toMillis(),
+                                            interval.toMillis(),
+                                            TimeUnit.MILLISECONDS);
+        logger.PrintDebug("AdaptiveWorkerSizer",
+                            "Started for %s with %d workers (Min %d, Max %d) every %s",
+                            name,
+                            startWorkers,
+                            minWorkers,
+                            maxWorkers,
+                            interval);
+    }
+
+    /*
+    Measures the last interval and resizes the pool, if required.
+     */
+    public synchronized void Adjust() {
+        try {
+            final long completed = completedCount.getAsLong();
+            final long serviceNS = serviceTimeNS.getAsLong();
+            final long queueDepth = pool.getQueue().size();
+            final long completedDelta = completed - lastCompleted;
+            final double intervalSecs = interval.toNanos() / 1_000_000_000.0;
+
+            if(completedDelta <= 0) {
+                //No completions so there is no service time to measure. Grow if queries are waiting.
+                if(queueDepth > lastQueueDepth) {
+                    Resize(NextWorkers(getCurrentWorkers(), getCurrentWorkers() * 2, minWorkers, maxWorkers),
+                            0,
+                            0,
+                            queueDepth);
+                }
+            } else {
+                final double arrivalRate = Math.max(0, completedDelta + (queueDepth - lastQueueDepth)) / intervalSecs;
+                final double meanServiceNS = (double) (serviceNS - lastServiceTimeNS) / completedDelta;
+                final double concurrency = arrivalRate * (meanServiceNS / 1_000_000_000.0);
+                if(concurrency > peakConcurrency) {
+                    peakConcurrency = concurrency;
+                    peakServiceTimeMS = meanServiceNS / 1_000_000.0;
+                }
+                Resize(NextWorkers(getCurrentWorkers(),
+                                    RequiredWorkers(arrivalRate, meanServiceNS, queueDepth, intervalSecs),
+                                    minWorkers,
+                                    maxWorkers),
+                        arrivalRate,
+                        meanServiceNS / 1_000_000.0,
+                        queueDepth);
+            }
+
+            lastCompleted = completed;
+            lastServiceTimeNS = serviceNS;
+            lastQueueDepth = queueDepth;
+        } catch (Exception e) {
+            logger.Print("AdaptiveWorkerSizer", e);
+        }
+    }
+
+    private void Resize(int newWorkers, double arrivalRate, double serviceTimeMS, long queueDepth) {
+        final int currentWorkers = getCurrentWorkers();
+        if(newWorkers == currentWorkers) {
+            return;
+        }
+        //The core size can never exceed the maximum size
+        if(newWorkers > currentWorkers) {
+            pool.setMaximumPoolSize(newWorkers);
+            pool.setCorePoolSize(newWorkers);
+        } else {
+            pool.setCorePoolSize(newWorkers);
+            pool.setMaximumPoolSize(newWorkers);
+        }
+        final Decision decision = new Decision(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos),
+                                                currentWorkers,
+                                                newWorkers,
+                                                arrivalRate,
+                                                serviceTimeMS,
+                                                queueDepth);
+        decisions.add(decision);
+        logger.info("Adaptive Workers {}: {} -> {} workers (Arrival Rate: {}/s, Service Time: {} ms, Queued: {})",
+                        name,
+                        currentWorkers,
+                        newWorkers,
+                        String.format("%,.2f", arrivalRate),
+                        String.format("%,.3f", serviceTimeMS),
+                        queueDepth);
+        logger.PrintDebug("AdaptiveWorkerSizer",
+                            "%s: %d -> %d workers (Arrival Rate: %,.2f/s, Service Time: %,.3f ms, Queued: %,d)",
+                            name,
+                            currentWorkers,
+                            newWorkers,
+                            arrivalRate,
+                            serviceTimeMS,
+                            queueDepth);
+    }
+
+    /*
+    Prints the sizing summary and the recommended static sizing.
+     */
+    public void PrintSummary(PrintStream printStream, int schedulers) {
+        printStream.printf("\tAdaptive Workers: Start %,d\tEnd %,d\tRange %,d-%,d\tAdjustments %,d%n",
+                            startWorkers,
+                            getCurrentWorkers(),
+                            minWorkers,
+                            maxWorkers,
+                            getDecisions().size());
+        if(peakConcurrency > 0) {
+            printStream.printf("\t\tPeak Concurrency: %,.2f (Service Time: %,.3f ms)%n",
+                                peakConcurrency,
+                                peakServiceTimeMS);
+        }
+        printStream.printf("\t\tRecommended Static Sizing: -s %d -w %d%n",
+                            schedulers,
+                            getRecommendedWorkers());
+    }
+
+    /*
+    Stops the background sizer. The pool keeps its current size.
+     */
+    @Override
+    public void close() {
+        final ScheduledExecutorService executor;
+        synchronized (this) {
+            executor = sizerExecutor;
+            sizerExecutor = null;
+        }
+        if(executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(interval.toMillis() + 1000, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ignored) {}
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.aerospike;
+
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.util.SplittableRandom;
+
+/*
+Determines the time between query arrivals (dispatches) of a scheduler. All processes keep the target (mean) QPS.
+Processes:
+    uniform -- Queries are dispatched at fixed intervals (default).
+    poisson -- Exponential inter-arrival times (Poisson process) like independent clients.
+    onoff:<OnDuration>:<OffDuration> -- A Poisson process that only dispatches during the On period and is idle during the Off period.
+            The rate during the On period is increased so that the mean QPS is maintained.
+    hyperexp:<CV> -- Hyper-exponential inter-arrival times with a coefficient of variation of CV (must be greater than one).
+            This produces clusters of arrivals (bursts) followed by gaps.
+ */
+public interface ArrivalProcess {
+
+    /*
+    Returns the time (ns) until the next arrival.
+        meanIntervalNS -- The mean time between arrivals based on the target QPS
+        elapsedNS -- The time of the current arrival from the start of the run
+        random -- The scheduler's random number generator
+     */
+    long NextIntervalNS(long meanIntervalNS, long elapsedNS, SplittableRandom random);
+
+    /*
+    The process's description (e.g., poisson)
+     */
+    String Description();
+
+    /*
+    Returns true if the process produces fixed intervals (no random number generator is required).
+     */
+    default boolean isUniform() { return false; }
+
+    /*
+    Returns an exponentially distributed value with the provided mean.
+     */
+    static double Exponential(double mean, SplittableRandom random) {
+        //1 - nextDouble is in (0,1] so the log is finite
+        return -mean * Math.log(1.0 - random.nextDouble());
+    }
+
+    record Uniform() implements ArrivalProcess {
+        @Override
+        public long NextIntervalNS(long meanIntervalNS, long elapsedNS, SplittableRandom random) {
+            return meanIntervalNS;
+        }
+
+        @Override
+        public String Description() { return "uniform"; }
+
+        @Override
+        public boolean isUniform() { return true; }
+    }
+
+    record Poisson() implements ArrivalProcess {
+        @Override
+        public long NextIntervalNS(long meanIntervalNS, long elapsedNS, SplittableRandom random) {
+            return Math.round(Exponential(meanIntervalNS, random));
+        }
+
+        @Override
+        public String Description() { return "poisson"; }
+    }
+
+    record OnOff(Duration on, Duration off) implements ArrivalProcess {
+        @Override
+        public long NextIntervalNS(long meanIntervalNS, long elapsedNS, SplittableRandom random) {
+            final long onNS = on.toNanos();
+            final long cycleNS = onNS + off.toNanos();
+            //The arrival time is only consumed during the On period so the mean is scaled by the On fraction
+            double remaining = Exponential(meanIntervalNS * ((double) onNS / cycleNS), random);
+            long position = elapsedNS;
+
+            while (true) {
+                final long cyclePos = position % cycleNS;
+                if(cyclePos >= onNS) {
+                    position += cycleNS - cyclePos;
+                    continue;
+                }
+                final long onLeft = onNS - cyclePos;
+                if(remaining <= onLeft) {
+                    position += Math.round(remaining);
+                    break;
+                }
+                remaining -= onLeft;
+                position += onLeft;
+            }
+            return position - elapsedNS;
+        }
+
+        @Override
+        public String Description() { return String.format("onoff (On: %s, Off: %s)", on, off); }
+    }
+
+    /*
+    Two-phase hyper-exponential distribution with balanced means.
+     */
+    record HyperExponential(double cv) implements ArrivalProcess {
+        @Override
+        public long NextIntervalNS(long meanIntervalNS, long elapsedNS, SplittableRandom random) {
+            final double cv2 = cv * cv;
+            final double p1 = 0.5 * (1.0 + Math.sqrt((cv2 - 1.0) / (cv2 + 1.0)));
+            final double phaseMean = random.nextDouble() < p1
+                                        ? meanIntervalNS / (2.0 * p1)
+                                        : meanIntervalNS / (2.0 * (1.0 - p1));
+            return Math.round(Exponential(phaseMean, random));
+        }
+
+        @Override
+        public String Description() { return String.format("hyperexp (CV: %.2f)", cv); }
+    }
+
+    /*
+    Parses a process (e.g., "onoff:5s:10s"). See the interface's description for the format.
+    Durations are in the same format as the '--duration' option.
+    Throws IllegalArgumentException if the process is not valid.
+     */
+    static ArrivalProcess Parse(String value) throws IllegalArgumentException {
+        if(value == null || value.isBlank()) {
+            return new Uniform();
+        }
+        final String[] parts = value.trim().split(":");
+        final TinkerBenchArgs.DurationConverter durationConverter = new TinkerBenchArgs.DurationConverter();
+
+        try {
+            switch (parts[0].toLowerCase()) {
+                case "uniform":
+                case "fixed":
+                    CheckArgs(parts, 1, "uniform");
+                    return new Uniform();
+                case "poisson":
+                case "exponential":
+                    CheckArgs(parts, 1, "poisson");
+                    return new Poisson();
+                case "onoff":
+                    CheckArgs(parts, 3, "onoff:<OnDuration>:<OffDuration>");
+                    final Duration on = durationConverter.convert(parts[1]);
+                    final Duration off = durationConverter.convert(parts[2]);
+                    if(on.isZero() || on.isNegative() || off.isNegative()) {
+                        throw new IllegalArgumentException("Arrival Process On duration must be greater than zero and Off cannot be negative");
+                    }
+                    return new OnOff(on, off);
+                case "hyperexp":
+                case "hyperexponential":
+                    CheckArgs(parts, 2, "hyperexp:<CV>");
+                    final double cv = Double.parseDouble(parts[1]);
+                    if(cv <= 1.0) {
+                        throw new IllegalArgumentException("Arrival Process hyperexp CV must be greater than one");
+                    }
+                    return new HyperExponential(cv);
+                default:
+                    throw new IllegalArgumentException(String.format("Unknown Arrival Process '%s'. Must be uniform, poisson, onoff, or hyperexp", parts[0]));
+            }
+        } catch (NumberFormatException | DateTimeException e) {
+            throw new IllegalArgumentException(String.format("Invalid Arrival Process '%s': %s", value, e.getMessage()), e);
+        }
+    }
+
+    private static void CheckArgs(String[] parts, int expected, String format) {
+        if(parts.length != expected) {
+            throw new IllegalArgumentException(String.format("Arrival Process must be in the form of '%s'", format));
+        }
+    }
+}
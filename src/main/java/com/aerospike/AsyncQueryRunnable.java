@@ -0,0 +1,21 @@
+package com.aerospike;
+
+import org.javatuples.Pair;
+
+import java.util.concurrent.CompletableFuture;
+
+/*
+Query workloads that can be submitted without blocking the calling thread should inherit from this interface.
+The callAsync function is the asynchronous version of the call function and is only used when the async mode is enabled ('--Async').
+The returned future should complete with the same pair that call would return:
+        1) the key (first element) will be a boolean
+        2) the value (second element) is an object passed to the postCall function
+The callAsync function additional notes:
+    The workload is measured from the submission until the future is completed.
+    If callAsync throws or the future completes exceptionally, it is treated as an error (same as call).
+    The preCall function is called on the same thread as callAsync. The postCall function is called on the thread completing the future.
+ */
+public interface AsyncQueryRunnable extends QueryRunnable {
+
+    CompletableFuture<Pair<Boolean,Object>> callAsync() throws Exception;
+}
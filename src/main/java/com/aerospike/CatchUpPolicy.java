@@ -0,0 +1,13 @@
+package com.aerospike;
+
+/*
+Determines how a scheduler catches up once it has fallen behind its schedule (missed one or more dispatch slots).
+    Burst -- All missed slots are dispatched immediately (back-to-back).
+    Skip -- Missed slots are dropped (not dispatched) and the scheduler resumes at the next slot.
+    Spread -- Missed slots are dispatched at twice the target rate until the scheduler is back on schedule.
+ */
+public enum CatchUpPolicy {
+    Burst,
+    Skip,
+    Spread
+}
@@ -0,0 +1,246 @@
+package com.aerospike;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/*
+A local (loopback only) HTTP control plane used to steer a running workload ('--ControlPort').
+Requests:
+    GET  /status -- The current workload, status, target and achieved QPS
+    GET  /summary -- The current summary report (the workload continues). The report is also written to the log.
+    POST /qps?value=<QPS> -- Changes the target QPS
+    POST /pause -- Pauses dispatching new queries
+    POST /resume -- Resumes dispatching
+    POST /weights?<Member>=<Weight>&... -- Changes the Query Mix weights by member name or position (zero based).
+                                        Members not provided keep their weight.
+Responses are plain text. A change made by the control plane only applies to the current run (stage).
+Binding to the loopback address doesn't stop a browser on the host from sending requests (cross-site request forgery or DNS rebinding),
+so a request with an 'Origin' header (sent by browsers) or without a loopback 'Host' header is rejected (403).
+ */
+public final class ControlServer implements AutoCloseable {
+
+    private static final Set<String> LoopbackHosts = Set.of("localhost", "127.0.0.1", "[::1]");
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final LogSource logger = LogSource.getInstance();
+    private volatile WorkloadProviderScheduler scheduler = null;
+
+    /*
+    Binds the server to the loopback address and port. If the port is zero, an ephemeral port is used.
+     */
+    public ControlServer(int port) throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            final Thread thread = new Thread(r, "ControlServer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server.setExecutor(executor);
+
+        server.createContext("/status", exchange -> Handle(exchange, "GET", this::Status));
+        server.createContext("/summary", exchange -> Handle(exchange, "GET", this::Summary));
+        server.createContext("/qps", exchange -> Handle(exchange, "POST", this::ChangeQPS));
+        server.createContext("/pause", exchange -> Handle(exchange, "POST", (s, q) -> { s.Pause(); return "Paused"; }));
+        server.createContext("/resume", exchange -> Handle(exchange, "POST", (s, q) -> { s.Resume(); return "Resumed"; }));
+        server.createContext("/weights", exchange -> Handle(exchange, "POST", this::ChangeWeights));
+    }
+
+    /*
+    A control request. Returns the response text.
+    Throws IllegalArgumentException or IllegalStateException if the request is not valid.
+     */
+    @FunctionalInterface
+    private interface Action {
+        String apply(WorkloadProviderScheduler scheduler, Map<String, String> parameters);
+    }
+
+    public void Start() {
+        server.start();
+        final String msg = String.format("Runtime Control listening on http://%s:%d",
+                                            server.getAddress().getHostString(),
+                                            getPort());
+        System.out.println(msg);
+        logger.info(msg);
+    }
+
+    public int getPort() { return server.getAddress().getPort(); }
+
+    /*
+    Sets the workload scheduler being controlled.
+     */
+    public void setScheduler(WorkloadProviderScheduler scheduler) { this.scheduler = scheduler; }
+
+    private void Handle(HttpExchange exchange, String method, Action action) throws IOException {
+        int code = 200;
+        String response;
+        try {
+            final WorkloadProviderScheduler current = scheduler;
+            if(!IsLocalRequest(exchange.getRequestHeaders().getFirst("Host"),
+                                exchange.getRequestHeaders().getFirst("Origin"))) {
+                code = 403;
+                response = "Only local, non-browser requests are accepted";
+                logger.warn("Runtime Control rejected {} {} (Host: {}, Origin: {})",
+                                exchange.getRequestMethod(),
+                                exchange.getRequestURI(),
+                                exchange.getRequestHeaders().getFirst("Host"),
+                                exchange.getRequestHeaders().getFirst("Origin"));
+            } else if(!method.equalsIgnoreCase(exchange.getRequestMethod())) {
+                code = 405;
+                response = String.format("%s requires %s", exchange.getRequestURI().getPath(), method);
+            } else if(current == null) {
+                code = 409;
+                response = "No workload";
+            } else {
+                response = action.apply(current, ParseQuery(exchange.getRequestURI().getRawQuery()));
+                logger.info("Runtime Control {} {}: {}",
+                                exchange.getRequestMethod(),
+                                exchange.getRequestURI(),
+                                code);
+            }
+        } catch (IllegalArgumentException e) {
+            code = 400;
+            response = e.getMessage();
+        } catch (IllegalStateException e) {
+            code = 409;
+            response = e.getMessage();
+        } catch (Exception e) {
+            code = 500;
+            response = e.toString();
+            logger.Print("ControlServer", e);
+        }
+
+        final byte[] body = (response + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(code, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+
+    /*
+    Returns true if the request has no 'Origin' header and its 'Host' header is a loopback name (port is ignored).
+    The host name is not resolved since a rebound DNS name can resolve to the loopback address.
+     */
+    static boolean IsLocalRequest(String host, String origin) {
+        if(origin != null || host == null || host.isBlank()) {
+            return false;
+        }
+        String name = host.trim().toLowerCase(Locale.ROOT);
+        if(name.startsWith("[")) {
+            final int end = name.indexOf(']');
+            if(end < 0) { return false; }
+            name = name.substring(0, end + 1);
+        } else {
+            final int sep = name.indexOf(':');
+            if(sep >= 0) {
+                name = name.substring(0, sep);
+            }
+        }
+        return LoopbackHosts.contains(name);
+    }
+
+    static Map<String, String> ParseQuery(String rawQuery) {
+        final Map<String, String> parameters = new LinkedHashMap<>();
+        if(rawQuery == null || rawQuery.isBlank()) {
+            return parameters;
+        }
+        for (String pair : rawQuery.split("&")) {
+            if(pair.isEmpty()) { continue; }
+            final int sep = pair.indexOf('=');
+            final String name = URLDecoder.decode(sep < 0 ? pair : pair.substring(0, sep), StandardCharsets.UTF_8);
+            final String value = sep < 0 ? "" : URLDecoder.decode(pair.substring(sep + 1), StandardCharsets.UTF_8);
+            parameters.put(name, value);
+        }
+        return parameters;
+    }
+
+    private String Status(WorkloadProviderScheduler scheduler, Map<String, String> parameters) {
+        final QueryRunnable query = scheduler.getQuery();
+        return String.format("Workload: %s%nStatus: %s%s%nTarget QPS: %,d%nAchieved QPS: %,.2f%nSuccess: %,d%nErrors: %,d%nElapsed: %s%nRemaining: %s",
+                                query == null ? "N/A" : query.Name(),
+                                scheduler.getStatus(),
+                                scheduler.isPaused() ? " (Paused)" : "",
+                                scheduler.getTargetCallsPerSecond(),
+                                scheduler.getCallsPerSecond(),
+                                scheduler.getSuccessCount(),
+                                scheduler.getErrorCount(),
+                                Helpers.FmtDuration(scheduler.getRunningDuration()),
+                                Helpers.FmtDuration(scheduler.getRemainingTime()));
+    }
+
+    private String Summary(WorkloadProviderScheduler scheduler, Map<String, String> parameters) {
+        final String summary = scheduler.SummarySnapshot();
+        logger.info("Runtime Control Summary Snapshot:{}{}", System.lineSeparator(), summary);
+        return summary;
+    }
+
+    private String ChangeQPS(WorkloadProviderScheduler scheduler, Map<String, String> parameters) {
+        final String value = parameters.get("value");
+        if(value == null) {
+            throw new IllegalArgumentException("Parameter 'value' is required (e.g., /qps?value=500)");
+        }
+        final int qps;
+        try {
+            qps = Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("Invalid QPS '%s'", value));
+        }
+        if(!scheduler.setTargetQPS(qps)) {
+            throw new IllegalStateException("Target QPS cannot be changed in closed-loop mode");
+        }
+        return String.format("Target QPS: %,d", qps);
+    }
+
+    private String ChangeWeights(WorkloadProviderScheduler scheduler, Map<String, String> parameters) {
+        if(!(scheduler.getQuery() instanceof MixedQueryWorkloadProvider mix)) {
+            throw new IllegalStateException("The workload is not a Query Mix");
+        }
+        if(parameters.isEmpty()) {
+            throw new IllegalArgumentException("At least one '<Member>=<Weight>' parameter is required");
+        }
+        final double[] weights = new double[mix.getMemberCount()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = mix.getMemberWeightPct(i);
+        }
+        for (Map.Entry<String, String> parameter : parameters.entrySet()) {
+            int member = mix.getMemberIndex(parameter.getKey());
+            if(member < 0) {
+                try {
+                    member = Integer.parseInt(parameter.getKey());
+                } catch (NumberFormatException ignored) {}
+            }
+            if(member < 0 || member >= weights.length) {
+                throw new IllegalArgumentException(String.format("Unknown Query Mix member '%s'", parameter.getKey()));
+            }
+            try {
+                weights[member] = Double.parseDouble(parameter.getValue().trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(String.format("Invalid weight '%s' for member '%s'",
+                                                                    parameter.getValue(),
+                                                                    parameter.getKey()));
+            }
+        }
+        scheduler.setQueryMixWeights(weights);
+        return mix.getDescription();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,215 @@
+package com.aerospike;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/*
+Aggregates the errors encountered by a workload without retaining every exception.
+Errors are grouped by the exception's class and its normalized message (numbers, hex values, and UUIDs are replaced by '#').
+Each group tracks:
+    The number of occurrences
+    The first and last time the error occurred
+    A latency histogram of the failed queries. It is created on the group's first latency, auto-resizes,
+        and uses a low precision (see LatencyDigits) so that an error storm stays cheap.
+    A bounded reservoir of sample exceptions (including their stack traces)
+The number of groups is bounded. Once reached, new messages are grouped under their exception class with an "<other messages>" message.
+ */
+public final class ErrorAggregator {
+
+    public static final int DefaultMaxGroups = 256;
+    public static final int DefaultSampleSize = 5;
+    public static final String OtherMessages = "<other messages>";
+    //The precision of a group's latency histogram
+    public static final int LatencyDigits = 2;
+
+    private static final int MaxMessageLength = 512;
+    private static final Pattern normalizePattern = Pattern.compile(
+            "[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}|0x[0-9a-fA-F]+|\\d+");
+
+    public record Key(String exceptionClass, String message) {}
+
+    /*
+    The aggregated information of an error group.
+     */
+    public static final class Group {
+        private final Key key;
+        private final LongAdder count = new LongAdder();
+        private final long firstTimeMillis;
+        private final AtomicLong lastTimeMillis;
+        //Null until the group's first latency
+        private volatile ConcurrentHistogram latencyHistogram = null;
+        private final AtomicReferenceArray<Exception> samples;
+
+        private Group(Key key, long timeMillis, int sampleSize) {
+            this.key = key;
+            this.firstTimeMillis = timeMillis;
+            this.lastTimeMillis = new AtomicLong(timeMillis);
+            this.samples = new AtomicReferenceArray<>(sampleSize);
+        }
+
+        private ConcurrentHistogram latencyHistogram() {
+            ConcurrentHistogram histogram = latencyHistogram;
+            if(histogram == null) {
+                synchronized (this) {
+                    histogram = latencyHistogram;
+                    if(histogram == null) {
+                        histogram = new ConcurrentHistogram(LatencyDigits);
+                        latencyHistogram = histogram;
+                    }
+                }
+            }
+            return histogram;
+        }
+
+        private void add(Exception e, long latency, long timeMillis) {
+            count.increment();
+            lastTimeMillis.accumulateAndGet(timeMillis, Math::max);
+            if(latency > 0) {
+                latencyHistogram().recordValue(latency);
+            }
+
+            //Reservoir sampling so that the samples represent the complete run
+            final long seen = count.sum();
+            if(seen <= samples.length()) {
+                samples.compareAndSet((int) (seen - 1), null, e);
+            } else {
+                final long slot = ThreadLocalRandom.current().nextLong(seen);
+                if(slot < samples.length()) {
+                    samples.set((int) slot, e);
+                }
+            }
+        }
+
+        public Key getKey() { return key; }
+
+        public String getExceptionClass() { return key.exceptionClass(); }
+
+        public String getMessage() { return key.message(); }
+
+        public long getCount() { return count.sum(); }
+
+        public LocalDateTime getFirstTime() { return toDateTime(firstTimeMillis); }
+
+        public LocalDateTime getLastTime() { return toDateTime(lastTimeMillis.get()); }
+
+        /*
+        Returns a copy of the latencies of the failed queries (ns). Errors without a latency are not recorded.
+        The histogram is empty if no latency was recorded.
+         */
+        public Histogram getLatencyHistogram() {
+            final ConcurrentHistogram histogram = latencyHistogram;
+            return histogram == null ? new Histogram(LatencyDigits) : histogram.copy();
+        }
+
+        /*
+        Returns the sampled exceptions.
+         */
+        public List<Exception> getSamples() {
+            final List<Exception> result = new ArrayList<>(samples.length());
+            for (int i = 0; i < samples.length(); i++) {
+                final Exception sample = samples.get(i);
+                if(sample != null) {
+                    result.add(sample);
+                }
+            }
+            return result;
+        }
+
+        private static LocalDateTime toDateTime(long timeMillis) {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(timeMillis), ZoneId.systemDefault());
+        }
+    }
+
+    private final ConcurrentHashMap<Key, Group> groups = new ConcurrentHashMap<>();
+    private final int maxGroups;
+    private final int sampleSize;
+
+    public ErrorAggregator() {
+        this(DefaultMaxGroups, DefaultSampleSize);
+    }
+
+    public ErrorAggregator(int maxGroups, int sampleSize) {
+        this.maxGroups = maxGroups;
+        this.sampleSize = sampleSize;
+    }
+
+    /*
+    Returns the message with numbers, hex values, and UUIDs replaced by '#'.
+     */
+    public static String NormalizeMessage(String message) {
+        if(message == null) { return "<Null>"; }
+        if(message.length() > MaxMessageLength) {
+            message = message.substring(0, MaxMessageLength);
+        }
+        return normalizePattern.matcher(message).replaceAll("#");
+    }
+
+    /*
+    Records the error.
+        latency -- The latency (ns) of the failed query or zero if not known
+     */
+    public void add(Exception e, long latency) {
+        final long now = System.currentTimeMillis();
+        final String className = e.getClass().getName();
+        Key key = new Key(className, NormalizeMessage(Helpers.getErrorMessage(e)));
+        Group group = groups.get(key);
+
+        if(group == null) {
+            if(groups.size() >= maxGroups) {
+                key = new Key(className, OtherMessages);
+            }
+            group = groups.computeIfAbsent(key,
+                                            k -> new Group(k, now, sampleSize));
+        }
+        group.add(e, latency, now);
+    }
+
+    public void clear() { groups.clear(); }
+
+    public boolean isEmpty() { return groups.isEmpty(); }
+
+    /*
+    Returns the total number of errors recorded.
+     */
+    public long getCount() {
+        long total = 0;
+        for (Group group : groups.values()) {
+            total += group.getCount();
+        }
+        return total;
+    }
+
+    /*
+    Returns the error groups ordered by exception class and then by the number of occurrences (descending).
+     */
+    public List<Group> getGroups() {
+        final List<Group> result = new ArrayList<>(groups.values());
+        result.sort(Comparator.comparing(Group::getExceptionClass)
+                        .thenComparing(Comparator.comparingLong(Group::getCount).reversed()));
+        return result;
+    }
+
+    /*
+    Returns the sampled exceptions of all groups.
+     */
+    public List<Exception> getSamples() {
+        final List<Exception> result = new ArrayList<>();
+        for (Group group : getGroups()) {
+            result.addAll(group.getSamples());
+        }
+        return result;
+    }
+}
@@ -2,11 +2,18 @@ package com.aerospike;
 
 import org.apache.tinkerpop.gremlin.jsr223.GremlinLangScriptEngine;
 import org.apache.tinkerpop.gremlin.jsr223.JavaTranslator;
+import org.apache.tinkerpop.gremlin.language.grammar.GremlinAntlrToJava;
+import org.apache.tinkerpop.gremlin.language.grammar.GremlinQueryParser;
+import org.apache.tinkerpop.gremlin.language.grammar.VariableResolver;
 import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.DefaultGraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.translator.GroovyTranslator;
+import org.apache.tinkerpop.gremlin.process.traversal.util.AndP;
+import org.apache.tinkerpop.gremlin.process.traversal.util.ConnectiveP;
+import org.apache.tinkerpop.gremlin.process.traversal.util.OrP;
 import org.javatuples.Pair;
 
 import javax.script.*;
@@ -14,11 +21,17 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-public final class EvalQueryWorkloadProvider extends QueryWorkloadProvider {
+public final class EvalQueryWorkloadProvider extends QueryWorkloadProvider implements AsyncQueryRunnable {
 
     final String orgGremlinString;
     final LogSource logger;
@@ -36,6 +49,14 @@ public final class EvalQueryWorkloadProvider extends QueryWorkloadProvider {
     String traversalSource;
 
     ThreadLocal<Helpers.MutablePair<Bytecode, Bindings>> bytecodeThreadLocal;
+    ///  Compiled once with the id placeholders kept as bindings (see BindBytecode).
+    ///  Null if the Gremlin string could not be compiled as a template, in which case bytecodeThreadLocal is used.
+    Bytecode bytecodeTemplate;
+    ///  The bindings (ids) produced by preCall for the current worker thread's call
+    final ThreadLocal<Bindings> callBindings = new ThreadLocal<>();
+    ///  The terminator's result of the current worker thread's last call. Only kept if used by the next step of a session.
+    final ThreadLocal<Object> stepOutput = new ThreadLocal<>();
+    volatile boolean keepStepOutput = false;
     boolean prepared = false;
 
     public enum Terminator {
@@ -129,6 +150,10 @@ public final class EvalQueryWorkloadProvider extends QueryWorkloadProvider {
 
             logger.PrintDebug("EvalQueryWorkloadProvider.getBindings", "Pre Call with id %s", useIds);
         }
+        final List<Object> stepInput = getStepInput();
+        if(stepInput != null) {
+            bindings.put(SessionWorkloadProvider.StepInputVariable, stepInput);
+        }
 
         logger.PrintDebug("EvalQueryWorkloadProvider.getBindings", bindings.toString());
 
@@ -208,6 +233,7 @@ public final class EvalQueryWorkloadProvider extends QueryWorkloadProvider {
                             Helpers.BLACK,
                             Helpers.GREEN_BACKGROUND);
 
+            bytecodeTemplate = CompileTemplate(gremlinString);
             bytecodeThreadLocal = ThreadLocal.withInitial(() -> {
                 final Bindings bindings = this.createBindings();
                 try {
@@ -270,11 +296,110 @@ public final class EvalQueryWorkloadProvider extends QueryWorkloadProvider {
                                         : "Completed");
     }
 
+    /*
+    Compiles the Gremlin string once where the id placeholders are kept as Bytecode Bindings.
+    This bytecode is shared by all workers and re-bound with new ids for each call (see BindBytecode).
+    Returns null if the string cannot be compiled this way (e.g., a placeholder is used where the
+    grammar requires a literal like 'limit(x)'). In this case, the string is compiled per worker thread.
+     */
+    private Bytecode CompileTemplate(final String gremlinString) {
+        final VariableResolver resolver = new VariableResolver.DefaultVariableResolver(createBindings());
+        try {
+            final Object traversal = GremlinQueryParser.parse(gremlinString,
+                                                                new GremlinAntlrToJava(G(),
+                                                                        (name, context) ->
+                                                                            new Bytecode.Binding<>(name,
+                                                                                                    resolver.apply(name, context))));
+            if(traversal instanceof Traversal.Admin<?,?> traversalAdmin) {
+                compiled.set(true);
+                logger.PrintDebug("CompileTemplate", "Compiled Bytecode Template %s", traversalAdmin.getBytecode());
+                return traversalAdmin.getBytecode();
+            }
+        } catch (Exception e) {
+            logger.PrintDebug("CompileTemplate", "Could not compile Bytecode Template, compiling per worker thread. Error: %s", e.getMessage());
+        }
+        return null;
+    }
+
+    /*
+    Returns a copy of the template where every binding is replaced by its value from bindings.
+    Bindings within nested traversals, predicates, and collections are also replaced.
+     */
+    static Bytecode BindBytecode(final Bytecode template, final Map<String,Object> bindings) {
+        final Bytecode bytecode = new Bytecode();
+        for (Bytecode.Instruction instruction : template.getSourceInstructions()) {
+            bytecode.addSource(instruction.getOperator(),
+                                BindArguments(instruction.getArguments(), bindings));
+        }
+        for (Bytecode.Instruction instruction : template.getStepInstructions()) {
+            bytecode.addStep(instruction.getOperator(),
+                                BindArguments(instruction.getArguments(), bindings));
+        }
+        return bytecode;
+    }
+
+    private static Object[] BindArguments(final Object[] arguments, final Map<String,Object> bindings) {
+        final Object[] boundArguments = new Object[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            boundArguments[i] = BindArgument(arguments[i], bindings);
+        }
+        return boundArguments;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object BindArgument(final Object argument, final Map<String,Object> bindings) {
+        return switch (argument) {
+            case Bytecode.Binding<?> binding -> bindings.containsKey(binding.variable())
+                                                    ? bindings.get(binding.variable())
+                                                    : binding.value();
+            case Bytecode bytecode -> BindBytecode(bytecode, bindings);
+            case ConnectiveP<?> connectiveP -> {
+                final List<P<Object>> predicates = new ArrayList<>();
+                for (P<?> predicate : connectiveP.getPredicates()) {
+                    predicates.add((P<Object>) BindArgument(predicate, bindings));
+                }
+                yield connectiveP instanceof AndP<?>
+                        ? new AndP<>(predicates)
+                        : new OrP<>(predicates);
+            }
+            case P<?> predicate -> {
+                final P<Object> boundPredicate = (P<Object>) predicate.clone();
+                boundPredicate.setValue(BindArgument(predicate.getValue(), bindings));
+                yield boundPredicate;
+            }
+            case List<?> list -> {
+                final List<Object> boundList = new ArrayList<>(list.size());
+                for (Object item : list) {
+                    boundList.add(BindArgument(item, bindings));
+                }
+                yield boundList;
+            }
+            case Set<?> set -> {
+                final Set<Object> boundSet = new LinkedHashSet<>(set.size());
+                for (Object item : set) {
+                    boundSet.add(BindArgument(item, bindings));
+                }
+                yield boundSet;
+            }
+            case Map<?,?> map -> {
+                final Map<Object,Object> boundMap = new LinkedHashMap<>(map.size());
+                map.forEach((key, value) -> boundMap.put(BindArgument(key, bindings),
+                                                            BindArgument(value, bindings)));
+                yield boundMap;
+            }
+            case null, default -> argument;
+        };
+    }
+
     public String BytecodeTranslator() {
-        final Helpers.MutablePair<Bytecode,Bindings> bytecodePair = bytecodeThreadLocal.get();
-        if(bytecodePair.first != null) {
+        final Bytecode bytecode = bytecodeTemplate == null
+                                    ? bytecodeThreadLocal.get().first
+                                    : BindBytecode(bytecodeTemplate, callBindings.get() == null
+                                                                        ? createBindings()
+                                                                        : callBindings.get());
+        if(bytecode != null) {
             JavaTranslator<GraphTraversalSource, Traversal.Admin<?, ?>> translator = JavaTranslator.of(G());
-            try (Traversal<?, ?> translatedTraversal = translator.translate(bytecodePair.first)) {
+            try (Traversal<?, ?> translatedTraversal = translator.translate(bytecode)) {
                 return translatedTraversal.toString();
             } catch (Exception e) {
                 logger.PrintDebug("EvalQueryWorkloadProvider", e);
@@ -353,42 +478,95 @@ public final class EvalQueryWorkloadProvider extends QueryWorkloadProvider {
         }
     }
 
+    private Traversal.Admin<?,?> CreateTraversal() throws ScriptException {
+        // If close not performed, there seems to be a leak according to the profiler
+        if(bytecodeTemplate == null) {
+            final Helpers.MutablePair<Bytecode,Bindings> bytecodePair = bytecodeThreadLocal.get();
+            return engine.eval(bytecodePair.first,
+                                bytecodePair.second,
+                                traversalSource);
+        }
+        final Bindings bindings = callBindings.get();
+        return engine.eval(this.idFmtArgsPos.length() == 0
+                                && (bindings == null || !bindings.containsKey(SessionWorkloadProvider.StepInputVariable))
+                                ? bytecodeTemplate
+                                : BindBytecode(bytecodeTemplate, bindings),
+                            bindings,
+                            traversalSource);
+    }
+
+    /*
+    Executes the terminator step and returns its result (null for iterate and nop).
+     */
+    private Object ExecuteTerminator(final Traversal<?,?> traversal) {
+        switch (terminator) {
+            case next:
+                return traversal.next();
+            case hasNext:
+                return traversal.hasNext();
+            case iterate:
+                traversal.iterate();
+                return null;
+            case toSet:
+                return traversal.toSet();
+            case toList:
+                return traversal.toList();
+            case nop:
+                return null;
+            default:
+                logger.Print("EvalQueryWorkloadProvider", true, "Unknown terminator: '%s'", terminator);
+                throw new IllegalStateException("This should never happen: Unknown terminator " + terminator);
+        }
+    }
+
     @Override
     public Pair<Boolean,Object> call() throws Exception {
 
-        final Helpers.MutablePair<Bytecode,Bindings> bytecodePair = bytecodeThreadLocal.get();
+        final Traversal.Admin<?,?> resultTraversal = CreateTraversal();
 
-        // If close not performed, there seems to be a leak according to the profiler
-        final Traversal.Admin<?,?> resultTraversal = engine.eval(bytecodePair.first,
-                                                                    bytecodePair.second,
-                                                                    traversalSource);
         if (!isPrintResult) {
-            switch (terminator) {
-                case next:
-                    resultTraversal.next();
-                    break;
-                case hasNext:
-                    resultTraversal.hasNext();
-                    break;
-                case iterate:
-                    resultTraversal.iterate();
-                    break;
-                case toSet:
-                    resultTraversal.toSet();
-                    break;
-                case toList:
-                    resultTraversal.toList();
-                    break;
-                case nop:
-                    break;
-                default:
-                    logger.Print("EvalQueryWorkloadProvider", true, "Unknown terminator: '%s'", terminator);
-                    throw new IllegalStateException("This should never happen: Unknown terminator " + terminator);
+            final Object result = ExecuteTerminator(resultTraversal);
+            if(keepStepOutput) {
+                stepOutput.set(result);
             }
         }
         return new Pair<>(true, resultTraversal);
     }
 
+    /*
+    If true, the terminator's result of each call is kept so it can be passed to the next step of a session (see getStepOutput).
+     */
+    public void setKeepStepOutput(boolean keep) { this.keepStepOutput = keep; }
+
+    /*
+    Returns the terminator's result of the current thread's last call (the value is the traversal).
+    Null if the result was not kept (see setKeepStepOutput) or the results are printed.
+     */
+    @Override
+    public Object getStepOutput(Object value) {
+        final Object result = stepOutput.get();
+        stepOutput.remove();
+        return result;
+    }
+
+    /*
+    Submits the traversal using the driver's non-blocking API (Traversal.promise).
+    The terminator step is executed once the results are available.
+     */
+    @Override
+    public CompletableFuture<Pair<Boolean,Object>> callAsync() throws Exception {
+
+        final Traversal.Admin<?,?> resultTraversal = CreateTraversal();
+
+        if (isPrintResult || terminator == Terminator.nop) {
+            return CompletableFuture.completedFuture(new Pair<>(true, resultTraversal));
+        }
+        return resultTraversal.promise(traversal -> {
+            ExecuteTerminator(traversal);
+            return new Pair<>(true, resultTraversal);
+        });
+    }
+
     /*
    Called before the actual workload is executed.
    This is called within the scheduler and is NOT part of the workload measurement.
@@ -398,6 +576,10 @@ public final class EvalQueryWorkloadProvider extends QueryWorkloadProvider {
     public void preCall() {
 
         if(!getProvider().isAborted()) {
+            if(bytecodeTemplate != null) {
+                callBindings.set(createBindings());
+                return;
+            }
             final Helpers.MutablePair<Bytecode,Bindings> bytecodePair = bytecodeThreadLocal.get();
             Bindings bindings = createBindings();
 
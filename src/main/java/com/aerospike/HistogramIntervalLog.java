@@ -0,0 +1,170 @@
+package com.aerospike;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/*
+Periodically writes the interval histograms of a set of LatencyRecorders to a HdrHistogram log file.
+Each recorder's interval is written with its tag (e.g., "latency") so the log can be processed by the standard
+HdrHistogram tooling (e.g., HistogramLogProcessor, HdrHistogram Log Analyzer).
+Histograms are written in the compressed HdrHistogram log format where values are in nanoseconds.
+ */
+public final class HistogramIntervalLog implements AutoCloseable {
+
+    private final File logFile;
+    private final Duration interval;
+    private final Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+    private final LogSource logger = LogSource.getInstance();
+
+    private ScheduledExecutorService writerExecutor = null;
+    private PrintStream logStream = null;
+    private HistogramLogWriter logWriter = null;
+
+    public HistogramIntervalLog(String logPath, Duration interval) {
+        this.logFile = new File(logPath);
+        this.interval = interval;
+    }
+
+    /*
+    Returns the path of the log file based on the stage being executed.
+        Warmup -- "-warmup" is added before the file's extension (e.g., run-warmup.hlog)
+        QPS -- if greater than zero, "-<qps>qps" is added before the file's extension (e.g., run-1000qps.hlog)
+     */
+    public static String StagePath(String logPath, boolean isWarmup, int qps) {
+        if(isWarmup) {
+            return AddSuffix(logPath, "-warmup");
+        } else if(qps > 0) {
+            return AddSuffix(logPath, "-" + qps + "qps");
+        }
+        return logPath;
+    }
+
+    /*
+    Returns the path of the log file for a scenario stage. "-<stageName>" is added before the file's extension (e.g., run-baseline.hlog)
+     */
+    public static String StagePath(String logPath, String stageName) {
+        return AddSuffix(logPath, "-" + stageName.replaceAll("[^A-Za-z0-9_.-]", "_"));
+    }
+
+    private static String AddSuffix(String logPath, String suffix) {
+        final int extPos = logPath.lastIndexOf('.');
+        final int sepPos = Math.max(logPath.lastIndexOf('/'), logPath.lastIndexOf('\\'));
+        if(extPos > sepPos + 1) {
+            return logPath.substring(0, extPos) + suffix + logPath.substring(extPos);
+        }
+        return logPath + suffix;
+    }
+
+    public File getLogFile() { return logFile; }
+
+    public Duration getInterval() { return interval; }
+
+    /*
+    Adds a recorder whose interval histograms are written using the tag.
+    Must be called before Start.
+     */
+    public HistogramIntervalLog addRecorder(String tag, LatencyRecorder recorder) {
+        recorders.put(tag, recorder);
+        return this;
+    }
+
+    /*
+    Creates the log file, writes the log header, and starts the background writer.
+    Any values recorded before this call are discarded from the first interval.
+     */
+    public synchronized void Start() throws FileNotFoundException {
+        if(logWriter != null) {
+            return;
+        }
+
+        final File parent = logFile.getAbsoluteFile().getParentFile();
+        if(parent != null && !parent.exists()) {
+            //noinspection ResultOfMethodCallIgnored
+            parent.mkdirs();
+        }
+        for (LatencyRecorder recorder : recorders.values()) {
+            recorder.nextInterval();
+        }
+
+        final long startTimeMS = System.currentTimeMillis();
+        logStream = new PrintStream(logFile);
+        logWriter = new HistogramLogWriter(logStream);
+        logWriter.outputLogFormatVersion();
+        logWriter.outputComment("TinkerBench Interval Histograms (values in ns) Tags: "
+                                    + String.join(",", recorders.keySet()));
+        logWriter.outputStartTime(startTimeMS);
+        logWriter.setBaseTime(startTimeMS);
+        logWriter.outputLegend();
+
+        writerExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread thread = new Thread(r, "HistogramIntervalLog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        writerExecutor.scheduleAtFixedRate(this::WriteIntervals,
+                                            interval.toMillis(),
+                                            interval.toMillis(),
+                                            TimeUnit.MILLISECONDS);
+        logger.PrintDebug("HistogramIntervalLog",
+                            "Started logging to %s every %s",
+                            logFile,
+                            interval);
+    }
+
+    /*
+    Writes the current interval histogram of each recorder.
+     */
+    public synchronized void WriteIntervals() {
+        if(logWriter == null) {
+            return;
+        }
+        try {
+            for (Map.Entry<String, LatencyRecorder> entry : recorders.entrySet()) {
+                final Histogram intervalHistogram = entry.getValue().nextInterval();
+                intervalHistogram.setTag(entry.getKey());
+                logWriter.outputIntervalHistogram(intervalHistogram);
+            }
+            logStream.flush();
+        } catch (Exception e) {
+            logger.Print("HistogramIntervalLog", e);
+        }
+    }
+
+    /*
+    Stops the background writer, writes the final interval, and closes the log file.
+     */
+    @Override
+    public void close() {
+        final ScheduledExecutorService executor;
+        synchronized (this) {
+            executor = writerExecutor;
+            writerExecutor = null;
+        }
+        if(executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(interval.toMillis() + 1000, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ignored) {}
+        }
+
+        synchronized (this) {
+            if(logWriter != null) {
+                WriteIntervals();
+                logStream.close();
+                logWriter = null;
+                logStream = null;
+                logger.PrintDebug("HistogramIntervalLog", "Closed %s", logFile);
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.aerospike;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+Records latencies from many threads without the threads contending on a single histogram.
+Values are recorded into one of several HdrHistogram Recorders (stripes) selected by the recording thread's id.
+The stripes are merged on read:
+    snapshot -- All values recorded since this recorder was created (or reset).
+    nextInterval -- The values recorded since the prior call to nextInterval.
+An auto-resizing recorder grows its range as larger values are recorded, so extreme values are measured instead of clamped.
+A value that cannot be recorded (negative or beyond the range of the recorder) is clipped to the range and counted (see getClippedCount).
+ */
+public final class LatencyRecorder {
+
+    //The largest value an auto-resizing histogram can grow to
+    private static final long AutoResizeHighestValue = Long.MAX_VALUE / 2;
+
+    private final Recorder[] stripes;
+    private final int stripeMask;
+    private final long highestTrackableValue;
+    private final int numberOfSignificantValueDigits;
+    private final boolean autoResize;
+    //The largest value recorded as is, larger values are clipped
+    private final long recordLimit;
+    private final LongAdder clippedCount = new LongAdder();
+    private final Histogram accumulatedHistogram;
+    private final Histogram intervalHistogram;
+    //The histogram recycled by each stripe (a Recorder only accepts a histogram it produced)
+    private final Histogram[] stripeHistograms;
+
+    /*
+    Creates an auto-resizing recorder.
+     */
+    public LatencyRecorder(final int numberOfSignificantValueDigits) {
+        this(0, numberOfSignificantValueDigits, true, Runtime.getRuntime().availableProcessors());
+    }
+
+    /*
+    Creates a recorder with a fixed range of 1 to highestTrackableValue.
+     */
+    public LatencyRecorder(final long highestTrackableValue,
+                           final int numberOfSignificantValueDigits) {
+        this(highestTrackableValue, numberOfSignificantValueDigits, false, Runtime.getRuntime().availableProcessors());
+    }
+
+    /*
+    Creates a recorder with at least minStripes stripes regardless of the number of processors.
+    A highestTrackableValue of zero creates an auto-resizing recorder.
+     */
+    LatencyRecorder(final long highestTrackableValue,
+                    final int numberOfSignificantValueDigits,
+                    final int minStripes) {
+        this(highestTrackableValue, numberOfSignificantValueDigits, highestTrackableValue <= 0, minStripes);
+    }
+
+    private LatencyRecorder(final long highestTrackableValue,
+                            final int numberOfSignificantValueDigits,
+                            final boolean autoResize,
+                            final int minStripes) {
+        this.highestTrackableValue = highestTrackableValue;
+        this.numberOfSignificantValueDigits = numberOfSignificantValueDigits;
+        this.autoResize = autoResize;
+        this.recordLimit = autoResize ? AutoResizeHighestValue : highestTrackableValue;
+
+        //Number of stripes is a power of 2 so that the stripe can be selected by masking the thread id
+        int nbrStripes = 1;
+        while (nbrStripes < minStripes) {
+            nbrStripes <<= 1;
+        }
+        this.stripes = new Recorder[nbrStripes];
+        this.stripeHistograms = new Histogram[nbrStripes];
+        this.stripeMask = nbrStripes - 1;
+        for (int i = 0; i < nbrStripes; i++) {
+            this.stripes[i] = autoResize
+                                ? new Recorder(numberOfSignificantValueDigits)
+                                : new Recorder(highestTrackableValue, numberOfSignificantValueDigits);
+        }
+        this.accumulatedHistogram = autoResize
+                                        ? new Histogram(numberOfSignificantValueDigits)
+                                        : new Histogram(highestTrackableValue, numberOfSignificantValueDigits);
+        this.intervalHistogram = autoResize
+                                    ? new Histogram(numberOfSignificantValueDigits)
+                                    : new Histogram(highestTrackableValue, numberOfSignificantValueDigits);
+        this.intervalHistogram.setStartTimeStamp(System.currentTimeMillis());
+    }
+
+    public void recordValue(final long value) {
+        final Recorder stripe = stripes[(int) (Thread.currentThread().threadId() & stripeMask)];
+        if(value < 0) {
+            clippedCount.increment();
+            stripe.recordValue(0);
+        } else if(value > recordLimit) {
+            clippedCount.increment();
+            stripe.recordValue(recordLimit);
+        } else {
+            stripe.recordValue(value);
+        }
+    }
+
+    /*
+    Returns the highest value of a fixed recorder. Zero if the recorder auto-resizes.
+     */
+    public long getHighestTrackableValue() { return highestTrackableValue; }
+
+    public boolean isAutoResize() { return autoResize; }
+
+    /*
+    Returns the number of values that could not be recorded as is and were clipped since created (or reset).
+     */
+    public long getClippedCount() { return clippedCount.sum(); }
+
+    public int getNumberOfSignificantValueDigits() { return numberOfSignificantValueDigits; }
+
+    int getStripeCount() { return stripes.length; }
+
+    /*
+    Moves the values recorded by the stripes into the accumulated and interval histograms.
+     */
+    private void drainStripes() {
+        for (int i = 0; i < stripes.length; i++) {
+            stripeHistograms[i] = stripes[i].getIntervalHistogram(stripeHistograms[i]);
+            accumulatedHistogram.add(stripeHistograms[i]);
+            intervalHistogram.add(stripeHistograms[i]);
+        }
+    }
+
+    /*
+    Returns a copy of all values recorded.
+     */
+    public synchronized Histogram snapshot() {
+        drainStripes();
+        return accumulatedHistogram.copy();
+    }
+
+    /*
+    Returns the values recorded since the prior call to this method (or since created).
+     */
+    public synchronized Histogram nextInterval() {
+        drainStripes();
+        final Histogram interval = intervalHistogram.copy();
+        interval.setStartTimeStamp(intervalHistogram.getStartTimeStamp());
+        interval.setEndTimeStamp(System.currentTimeMillis());
+        intervalHistogram.reset();
+        intervalHistogram.setStartTimeStamp(interval.getEndTimeStamp());
+        return interval;
+    }
+
+    /*
+    Discards all recorded values so the recorder (and its memory) can be reused for another workload.
+    Values recorded concurrently with the reset may be lost.
+     */
+    public synchronized void reset() {
+        for (Recorder stripe : stripes) {
+            stripe.reset();
+        }
+        accumulatedHistogram.reset();
+        intervalHistogram.reset();
+        clippedCount.reset();
+        intervalHistogram.setStartTimeStamp(System.currentTimeMillis());
+    }
+}
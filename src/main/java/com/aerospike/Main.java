@@ -2,6 +2,9 @@ package com.aerospike;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
@@ -14,29 +17,105 @@ public class Main extends TinkerBenchArgs {
     @SuppressWarnings("unused")
     private static final Logger log = LoggerFactory.getLogger(Main.class);
     private static final AtomicInteger exitStatus = new AtomicInteger(0);
-    private static QueryRunnable workloadRunnerCache;
-
-    private static void ExecuteWorkload(OpenTelemetry openTel,
-                                        LogSource logger,
-                                        AGSGraphTraversal agsGraphTraversal,
-                                        IdManager idManager,
-                                        Duration targetRunDuration,
-                                        TinkerBenchArgs args,
-                                        int qps,
-                                        boolean isWarmUp,
-                                        boolean ranWarmUp) {
-
-        try (final WorkloadProvider workload = new WorkloadProviderScheduler(openTel,
-                                                                            targetRunDuration,
-                                                                            qps,
-                                                                            isWarmUp,
-                                                                            ranWarmUp,
-                                                                            args)) {
+    /*
+    A compiled query and the workload provider it is bound to.
+     */
+    private record CachedQuery(QueryRunnable runner, WorkloadProvider provider) {}
+
+    //The queries (compiled) by query name, Gremlin string, or query mix so they are reused between workloads
+    private static final Map<String, CachedQuery> workloadRunnerCache = new HashMap<>();
+    //The scheduler (and its thread pools) reused between the warmup and workloads (see WorkloadProviderScheduler.Reset)
+    private static WorkloadProviderScheduler reusableScheduler = null;
+    //The runtime control endpoint ('--ControlPort') or null if disabled
+    private static ControlServer controlServer = null;
+
+    /*
+    Returns the reusable scheduler reset for the next workload. A new scheduler is created if it cannot be reset.
+     */
+    private static WorkloadProviderScheduler AcquireScheduler(OpenTelemetry openTel,
+                                                              Duration targetRunDuration,
+                                                              TinkerBenchArgs args,
+                                                              int qps,
+                                                              boolean isWarmUp,
+                                                              boolean ranWarmUp) {
+        if(reusableScheduler != null) {
+            if(reusableScheduler.canReset()) {
+                return reusableScheduler.Reset(targetRunDuration,
+                                                qps,
+                                                isWarmUp,
+                                                ranWarmUp);
+            }
+            reusableScheduler.close();
+        }
+        reusableScheduler = new WorkloadProviderScheduler(openTel,
+                                                            targetRunDuration,
+                                                            qps,
+                                                            isWarmUp,
+                                                            ranWarmUp,
+                                                            args);
+        if(controlServer != null) {
+            controlServer.setScheduler(reusableScheduler);
+        }
+        return reusableScheduler;
+    }
+
+    /*
+    Closes the reusable scheduler, if one exists.
+     */
+    private static void CloseScheduler() {
+        if(controlServer != null) {
+            controlServer.setScheduler(null);
+        }
+        if(reusableScheduler != null) {
+            reusableScheduler.close();
+            reusableScheduler = null;
+        }
+    }
+
+    /*
+    Executes the warmup or workload and returns the completed workload provider or null if aborted before execution.
+    The workload provider is reused by the next workload so its statistics must be obtained before the next execution.
+     */
+    private static WorkloadProvider ExecuteWorkload(OpenTelemetry openTel,
+                                                    LogSource logger,
+                                                    AGSGraphTraversal agsGraphTraversal,
+                                                    IdManager idManager,
+                                                    Duration targetRunDuration,
+                                                    TinkerBenchArgs args,
+                                                    int qps,
+                                                    boolean isWarmUp,
+                                                    boolean ranWarmUp) {
+
+        try {
+            final WorkloadProvider workload = AcquireScheduler(openTel,
+                                                                targetRunDuration,
+                                                                args,
+                                                                qps,
+                                                                isWarmUp,
+                                                                ranWarmUp);
             final boolean isQueryString = args.queryNameOrString
                                             .indexOf(".") > 0;
-
-            final QueryRunnable workloadRunner = workloadRunnerCache == null
-                                                    ? (isQueryString
+            final String queryKey = args.queryMix != null
+                                        ? Arrays.toString(args.queryMix)
+                                        : args.session != null
+                                        ? Arrays.toString(args.session)
+                                        : args.queryNameOrString;
+            final CachedQuery cachedQuery = workloadRunnerCache.get(queryKey);
+
+            final QueryRunnable workloadRunner = cachedQuery == null
+                                                    ? (args.queryMix != null && args.queryMix.length > 0
+                                                        ? new MixedQueryWorkloadProvider(workload,
+                                                                                            agsGraphTraversal,
+                                                                                            args.queryMix,
+                                                                                            idManager,
+                                                                                            args.debug)
+                                                        : args.session != null && args.session.length > 0
+                                                        ? new SessionWorkloadProvider(workload,
+                                                                                        agsGraphTraversal,
+                                                                                        args.session,
+                                                                                        idManager,
+                                                                                        args.debug)
+                                                        : isQueryString
                                                         ? new EvalQueryWorkloadProvider(workload,
                                                                                         agsGraphTraversal,
                                                                                         args.queryNameOrString,
@@ -46,10 +125,12 @@ public class Main extends TinkerBenchArgs {
                                                                             agsGraphTraversal,
                                                                             idManager,
                                                                             args.debug))
-                                                    : workloadRunnerCache.SetWorkloadProvider(workload);
+                                                    : cachedQuery.provider() == workload
+                                                        ? BindQuery(workload, cachedQuery.runner())
+                                                        : cachedQuery.runner().SetWorkloadProvider(workload);
 
             if (mainInstance.abortRun.get())
-                return;
+                return null;
 
             if(!args.appTestMode
                     && args.idManager.enabled()) {
@@ -103,9 +184,9 @@ public class Main extends TinkerBenchArgs {
             workloadRunner.PrepareCompile();
 
             if (mainInstance.abortRun.get())
-                return;
+                return null;
 
-            workloadRunnerCache = workloadRunner;
+            workloadRunnerCache.put(queryKey, new CachedQuery(workloadRunner, workload));
 
             if (isWarmUp) {
                 System.out.println("Preparing WarmUp...");
@@ -130,14 +211,24 @@ public class Main extends TinkerBenchArgs {
                 System.out.println("Workload Completed...");
                 logger.info("Workload Completed...");
             }
+            return workload;
 
         } catch (Exception e) {
             args.errorRun.set(true);
             logger.error(isWarmUp ? "Warmup" : "Workload", e);
+            CloseScheduler();
             throw new RuntimeException(e);
         }
     }
 
+    /*
+    Binds a cached query to the reused workload provider it was created with.
+     */
+    private static QueryRunnable BindQuery(WorkloadProvider workload, QueryRunnable runner) {
+        workload.setQuery(runner);
+        return runner;
+    }
+
     @Override
     public Integer call() throws Exception {
         if(ListPredefinedQueries()) {
@@ -182,8 +273,13 @@ public class Main extends TinkerBenchArgs {
             final AGSGraphTraversalSource agsGraphTraversalSource
                             = new AGSGraphTraversalSource(this, openTel)) {
 
+            if(controlPort > 0) {
+                controlServer = new ControlServer(controlPort);
+                controlServer.Start();
+            }
+
             boolean ranWarmup = false;
-            if (!warmupDuration.isZero()) {
+            if (scenario == null && !warmupDuration.isZero()) {
                 ExecuteWorkload(openTel,
                                     logger,
                                     agsGraphTraversalSource,
@@ -196,7 +292,20 @@ public class Main extends TinkerBenchArgs {
                 ranWarmup = true;
             }
 
-            if (!(abortRun.get()
+            if (scenario != null) {
+                RunScenario(openTel,
+                            logger,
+                            agsGraphTraversalSource);
+                terminateRun.set(true);
+            } else if (searchThroughput
+                    && !(abortRun.get()
+                            || errorRun.get())) {
+                SearchThroughput(openTel,
+                                    logger,
+                                    agsGraphTraversalSource,
+                                    ranWarmup);
+                terminateRun.set(true);
+            } else if (!(abortRun.get()
                     || errorRun.get())) {
 
                 if(incrQPS > 0) {
@@ -259,10 +368,17 @@ public class Main extends TinkerBenchArgs {
 
                 terminateRun.set(true);
             }
+            //Closed before the graph traversal source and OpenTelemetry
+            CloseScheduler();
         } catch (Exception e) {
+            CloseScheduler();
             errorRun.set(true);
             e.printStackTrace(System.err);
         } finally {
+            if(controlServer != null) {
+                controlServer.close();
+                controlServer = null;
+            }
 
             if(errorRun.get()) {
                 Helpers.Println(System.out,
@@ -309,6 +425,162 @@ public class Main extends TinkerBenchArgs {
         return exitStatus.get();
     }
 
+    /*
+    Searches for the maximum sustainable QPS that meets the SLO by executing probes (workloads) at different QPS.
+    The graph traversal source, id manager, and query are reused between probes.
+    A probe that doesn't obtain the QPS or exceeds the number of errors fails the probe but doesn't end the search.
+     */
+    private void SearchThroughput(OpenTelemetry openTel,
+                                  LogSource logger,
+                                  AGSGraphTraversal agsGraphTraversalSource,
+                                  boolean ranWarmup) {
+        final ThroughputSearch search = new ThroughputSearch(this);
+
+        Helpers.Println(System.out,
+                String.format("Searching for the Maximum Sustainable QPS starting at %s",
+                        Helpers.FmtInt(this.queriesPerSecond)),
+                Helpers.BLACK,
+                Helpers.GREEN_BACKGROUND);
+        logger.info("Searching for the Maximum Sustainable QPS starting at {}", this.queriesPerSecond);
+
+        int probeQPS;
+        while ((probeQPS = search.NextQPS()) > 0) {
+            Helpers.Println(System.out,
+                    String.format("Probe %d Target QPS of %s",
+                            search.getProbes().size() + 1,
+                            Helpers.FmtInt(probeQPS)),
+                    Helpers.BLACK,
+                    Helpers.GREEN_BACKGROUND);
+            logger.info("Probe Target QPS: {}", probeQPS);
+
+            final WorkloadProvider probe = ExecuteWorkload(openTel,
+                                                            logger,
+                                                            agsGraphTraversalSource,
+                                                            this.idManager,
+                                                            duration,
+                                                            this,
+                                                            probeQPS,
+                                                            false,
+                                                            ranWarmup);
+            if(probe == null
+                    || abortSIGRun.get()
+                    || (abortRun.get() && !errorRun.get())) {
+                break;
+            }
+
+            final ThroughputSearch.Probe result = search.Evaluate(probeQPS,
+                                                                    probe.getCallsPerSecond(),
+                                                                    probe.getCorrectedLatencyMSAtPercentile(search.getSLOPercentile()),
+                                                                    probe.getSuccessCount(),
+                                                                    probe.getErrorCount() + probe.getTimeoutCount() + probe.getShedCount());
+            search.Record(result);
+            final String msg = String.format("Probe Target QPS %s: %s %s",
+                                                Helpers.FmtInt(probeQPS),
+                                                result.passed() ? "Passed" : "Failed",
+                                                result.reason());
+            Helpers.Println(System.out,
+                    msg,
+                    Helpers.BLACK,
+                    result.passed() ? Helpers.GREEN_BACKGROUND : Helpers.YELLOW_BACKGROUND);
+            logger.info(msg);
+
+            qpsErrorRun.set(false);
+            errorRun.set(false);
+            abortRun.set(false);
+            ranWarmup = true;
+        }
+
+        search.PrintResults(System.out);
+        try (LogSource.Stream logStream = new LogSource.Stream(logger)) {
+            search.PrintResults(logStream.getPrintStream());
+            logStream.info();
+        }
+
+        if(search.getBestQPS() <= 0) {
+            qpsErrorRun.set(true);
+        }
+    }
+
+    /*
+    Executes all stages of the scenario ('--Scenario') and prints the consolidated report.
+    The graph traversal source, id manager, and queries are reused between stages.
+    A stage that doesn't obtain the QPS or exceeds the number of errors is reported but doesn't end the scenario.
+    Only measured stages (not the warmup or cool-down) affect the exit code.
+     */
+    private void RunScenario(OpenTelemetry openTel,
+                             LogSource logger,
+                             AGSGraphTraversal agsGraphTraversalSource) {
+        final String scenarioHistogramLogPath = this.histogramLogPath;
+        boolean ranWarmup = false;
+        boolean stageQPSError = false;
+        boolean stageError = false;
+
+        Helpers.Println(System.out,
+                String.format("Executing Scenario %s (%d Stages)",
+                        scenario.getName(),
+                        scenario.getStages().size()),
+                Helpers.BLACK,
+                Helpers.GREEN_BACKGROUND);
+        logger.info("Executing Scenario {}", scenario.getName());
+
+        for (Scenario.Stage stage : scenario.getStages()) {
+            final String msg = String.format("Stage %s: Target QPS of %s for %s",
+                                                stage.name(),
+                                                Helpers.FmtInt(stage.qps()),
+                                                Helpers.FmtDuration(stage.duration()));
+            Helpers.Println(System.out,
+                    msg,
+                    Helpers.BLACK,
+                    Helpers.GREEN_BACKGROUND);
+            logger.info(msg);
+
+            stage.Apply(this);
+            if(scenarioHistogramLogPath != null && !stage.warmup()) {
+                this.histogramLogPath = HistogramIntervalLog.StagePath(scenarioHistogramLogPath,
+                                                                        stage.name());
+            }
+
+            final WorkloadProvider workload = ExecuteWorkload(openTel,
+                                                                logger,
+                                                                agsGraphTraversalSource,
+                                                                this.idManager,
+                                                                stage.duration(),
+                                                                this,
+                                                                stage.qps(),
+                                                                stage.warmup(),
+                                                                ranWarmup);
+            if(workload == null
+                    || abortSIGRun.get()
+                    || (abortRun.get() && !errorRun.get())) {
+                break;
+            }
+            scenario.Record(stage, workload);
+
+            if(stage.isMeasured()) {
+                stageQPSError |= qpsErrorRun.get();
+                stageError |= errorRun.get();
+            }
+            qpsErrorRun.set(false);
+            errorRun.set(false);
+            abortRun.set(false);
+            ranWarmup = true;
+        }
+        this.histogramLogPath = scenarioHistogramLogPath;
+
+        scenario.PrintResults(System.out);
+        try (LogSource.Stream logStream = new LogSource.Stream(logger)) {
+            scenario.PrintResults(logStream.getPrintStream());
+            logStream.info();
+        }
+
+        if(stageQPSError) {
+            qpsErrorRun.set(true);
+        }
+        if(stageError) {
+            errorRun.set(true);
+        }
+    }
+
     private static final Main mainInstance = new Main();
 
     public static void main(final String[] args) {
@@ -0,0 +1,355 @@
+package com.aerospike;
+
+import org.apache.tinkerpop.gremlin.driver.Cluster;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.javatuples.Pair;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/*
+Executes a weighted mix of queries (predefined queries and/or Gremlin strings) driven by one scheduler.
+Each call selects a member query based on its weight and the scheduler executes the member directly,
+so each member's preCall, call, and postCall are used and its latency, counts, and OpenTelemetry labels are tracked separately.
+A member is defined as '<Weight>:<QueryNameOrGremlinString>' (e.g., "70:AirRoutesQuery1").
+Weights are relative (they don't need to total 100).
+Note: All members share the same Id Manager.
+ */
+public final class MixedQueryWorkloadProvider implements QueryRunnable {
+
+    public static final String MixName = "QueryMix";
+
+    /*
+    A member of the mix.
+     */
+    public record Entry(double weight, String query) {
+
+        /*
+        Parses a member in the form of '<Weight>:<QueryNameOrGremlinString>'.
+        Throws IllegalArgumentException if the member is not valid.
+         */
+        public static Entry Parse(String value) throws IllegalArgumentException {
+            if(value == null || value.isBlank()) {
+                throw new IllegalArgumentException("A Query Mix member is required");
+            }
+            final int sep = value.indexOf(':');
+            if(sep <= 0 || sep == value.length() - 1) {
+                throw new IllegalArgumentException(String.format("Query Mix member '%s' must be in the form of '<Weight>:<QueryNameOrGremlinString>'", value));
+            }
+            final double weight;
+            try {
+                weight = Double.parseDouble(value.substring(0, sep).trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(String.format("Invalid Query Mix weight in '%s': %s", value, e.getMessage()), e);
+            }
+            if(weight <= 0) {
+                throw new IllegalArgumentException(String.format("Query Mix weight in '%s' must be greater than zero", value));
+            }
+            return new Entry(weight, value.substring(sep + 1).trim());
+        }
+    }
+
+    private WorkloadProvider provider;
+    private final AGSGraphTraversal agsGraphTraversal;
+    private final QueryRunnable[] members;
+    //Replaced (not updated) when the weights are changed so a selection never sees a partial update
+    private volatile double[] weightPcts;
+    //The cumulative weights (normalized to 1.0) used to select a member
+    private volatile double[] cumulativeWeights;
+    private final LogSource logger = LogSource.getInstance();
+
+    public MixedQueryWorkloadProvider(final WorkloadProvider provider,
+                                      final AGSGraphTraversal ags,
+                                      final Entry[] entries,
+                                      final IdManager idManager,
+                                      final boolean debug) throws ReflectiveOperationException {
+        if(entries == null || entries.length == 0) {
+            throw new IllegalArgumentException("Query Mix requires at least one member");
+        }
+
+        this.agsGraphTraversal = ags;
+        this.members = new QueryRunnable[entries.length];
+
+        for (int i = 0; i < entries.length; i++) {
+            final String query = entries[i].query();
+            //Each member registers itself with the provider, the mix is registered once all members are created
+            members[i] = query.indexOf(".") > 0
+                            ? new EvalQueryWorkloadProvider(provider,
+                                                            ags,
+                                                            query,
+                                                            idManager)
+                            : Helpers.GetQuery(query,
+                                                provider,
+                                                ags,
+                                                idManager,
+                                                debug);
+        }
+        setWeights(Arrays.stream(entries).mapToDouble(Entry::weight).toArray());
+
+        this.provider = provider;
+        if(this.provider != null) {
+            this.provider.setQuery(this);
+        }
+    }
+
+    /*
+    Changes the members' weights. The weights are in member order and are relative (they don't need to total 100).
+    Throws IllegalArgumentException if the number of weights doesn't match the number of members or a weight is negative.
+    At least one weight must be greater than zero.
+     */
+    public void setWeights(double[] weights) {
+        if(weights == null || weights.length != members.length) {
+            throw new IllegalArgumentException(String.format("Query Mix requires %d weights", members.length));
+        }
+        if(Arrays.stream(weights).anyMatch(w -> w < 0 || Double.isNaN(w))) {
+            throw new IllegalArgumentException("Query Mix weights cannot be negative");
+        }
+        final double totalWeight = Arrays.stream(weights).sum();
+        if(totalWeight <= 0) {
+            throw new IllegalArgumentException("At least one Query Mix weight must be greater than zero");
+        }
+
+        final double[] newWeightPcts = new double[weights.length];
+        final double[] newCumulativeWeights = new double[weights.length];
+        double cumulative = 0;
+
+        for (int i = 0; i < weights.length; i++) {
+            newWeightPcts[i] = (weights[i] / totalWeight) * 100.0;
+            cumulative += weights[i] / totalWeight;
+            newCumulativeWeights[i] = cumulative;
+        }
+        newCumulativeWeights[weights.length - 1] = 1.0;
+
+        this.weightPcts = newWeightPcts;
+        this.cumulativeWeights = newCumulativeWeights;
+    }
+
+    /*
+    Selects a member based on the weights and returns its position.
+     */
+    public int SelectMember() {
+        if(members.length == 1) { return 0; }
+
+        final double[] cumulativeWeights = this.cumulativeWeights;
+        final double value = ThreadLocalRandom.current().nextDouble();
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if(value < cumulativeWeights[i]) {
+                return i;
+            }
+        }
+        return members.length - 1;
+    }
+
+    public int getMemberCount() { return members.length; }
+
+    /*
+    Returns the position of the member with the name (query name or Gremlin string) or -1 if not found.
+     */
+    public int getMemberIndex(String name) {
+        for (int i = 0; i < members.length; i++) {
+            if(members[i].Name().equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public QueryRunnable getMember(int member) { return members[member]; }
+
+    /*
+    Returns the member's weight as a percentage of all weights.
+     */
+    public double getMemberWeightPct(int member) { return weightPcts[member]; }
+
+    /*
+    Returns true if all members can be submitted asynchronously.
+     */
+    public boolean isAsync() {
+        return Arrays.stream(members).allMatch(m -> m instanceof AsyncQueryRunnable);
+    }
+
+    @Override
+    public String Name() { return MixName; }
+
+    @Override
+    public boolean isWarmup() { return provider.isWarmup(); }
+
+    @Override
+    public boolean isPrintResult() {
+        return Arrays.stream(members).anyMatch(QueryRunnable::isPrintResult);
+    }
+
+    /*
+    Results are printed by the member that produced them.
+     */
+    @Override
+    public <V> void PrintResult(V result) { }
+
+    @Override
+    public WorkloadTypes WorkloadType() {
+        return members[0].WorkloadType();
+    }
+
+    @Override
+    public QueryRunnable SetWorkloadProvider(WorkloadProvider newProvider) {
+
+        if(newProvider == null) {
+            throw new IllegalArgumentException("newProvider cannot be null");
+        }
+
+        if(provider != null && provider.getStatus() != WorkloadStatus.Shutdown) {
+            throw new IllegalStateException("Current WorkloadProvider must be in shutdown state");
+        }
+        for (QueryRunnable member : members) {
+            member.SetWorkloadProvider(newProvider);
+        }
+        provider = newProvider;
+        provider.setQuery(this);
+        return this;
+    }
+
+    @Override
+    public QueryRunnable Start() {
+        this.provider.Start();
+        return this;
+    }
+
+    @Override
+    public QueryRunnable awaitTermination() {
+        this.provider.awaitTermination();
+        return this;
+    }
+
+    @Override
+    public QueryRunnable Shutdown() {
+        this.provider.Shutdown();
+        return this;
+    }
+
+    @Override
+    public QueryRunnable PrintSummary() {
+        this.provider.PrintSummary();
+        return this;
+    }
+
+    /*
+    Returns the first member's labels or null to use the CLI's labels.
+     */
+    @Override
+    public String[] getSampleLabelId() {
+        return Arrays.stream(members)
+                .map(QueryRunnable::getSampleLabelId)
+                .filter(l -> l != null)
+                .findFirst()
+                .orElse(null);
+    }
+
+    /*
+    Returns -1 (default from the CLI) if any member uses the default, otherwise the largest member sampling size.
+     */
+    @Override
+    public int getSampleSize() {
+        int size = 0;
+        for (QueryRunnable member : members) {
+            if(member.getSampleSize() < 0) {
+                return -1;
+            }
+            size = Math.max(size, member.getSampleSize());
+        }
+        return size;
+    }
+
+    @Override
+    public Object getVId() { return members[0].getVId(); }
+
+    @Override
+    public Object getVId(int depth) { return members[0].getVId(depth); }
+
+    @Override
+    public String getDescription() {
+        final double[] weightPcts = this.weightPcts;
+        return IntStream.range(0, members.length)
+                .mapToObj(i -> String.format("%.2f%% %s", weightPcts[i], members[i].Name()))
+                .collect(Collectors.joining(", ", "Query Mix (", ")"));
+    }
+
+    @Override
+    public void PrepareCompile() {
+        for (QueryRunnable member : members) {
+            member.PrepareCompile();
+        }
+    }
+
+    /*
+    Performs all member's pre-processing. Returns false if any member cancels the execution.
+     */
+    @Override
+    public boolean preProcess() throws InterruptedException {
+        for (QueryRunnable member : members) {
+            if(!member.preProcess()) {
+                logger.PrintDebug("MixedQueryWorkloadProvider", "Member %s canceled execution", member);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void postProcess() {
+        for (QueryRunnable member : members) {
+            member.postProcess();
+        }
+    }
+
+    /*
+    The scheduler calls the selected member's preCall directly.
+     */
+    @Override
+    public void preCall() { }
+
+    /*
+    The scheduler selects and executes the member directly (see SelectMember).
+    This is only used by callers that don't select a member and executes a member based on the weights.
+     */
+    @Override
+    public Pair<Boolean, Object> call() throws Exception {
+        final QueryRunnable member = members[SelectMember()];
+        member.preCall();
+        Pair<Boolean, Object> result = null;
+        Exception error = null;
+        try {
+            result = member.call();
+            return result;
+        } catch (Exception e) {
+            error = e;
+            throw e;
+        } finally {
+            member.postCall(result == null ? null : result.getValue1(),
+                            result != null && result.getValue0(),
+                            error);
+        }
+    }
+
+    /*
+    The scheduler calls the selected member's postCall directly.
+     */
+    @Override
+    public void postCall(Object value, Boolean success, Throwable exception) { }
+
+    @Override
+    public GraphTraversalSource G() {
+        return agsGraphTraversal == null ? members[0].G() : agsGraphTraversal.G();
+    }
+
+    @Override
+    public Cluster getCluster() {
+        return agsGraphTraversal == null ? members[0].getCluster() : agsGraphTraversal.getCluster();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Gremlin [%s-%s]", Name(), WorkloadType());
+    }
+}
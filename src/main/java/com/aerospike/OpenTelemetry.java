@@ -29,6 +29,12 @@ public interface OpenTelemetry extends AutoCloseable {
     void addException(String exceptionType, String message);
 
     void recordElapsedTime(long elapsedNanos, double currentQPS);
+    void recordCorrectedElapsedTime(long elapsedNanos);
+    void recordQueueWaitTime(long elapsedNanos);
+    void recordScheduleLag(int scheduler, long lagNanos);
+    void addMissedSlots(int scheduler, long missedSlots);
+    void addShedQueries(long shedQueries);
+    void recordQueryResult(String queryName, long elapsedNanos, boolean success);
 
     void incrPendingTransCounter();
     void decrPendingTransCounter();
@@ -57,6 +57,30 @@ public final class OpenTelemetryDummy  implements OpenTelemetry {
     public void recordElapsedTime(long elapsedNanos, double currentQPS) {
     }
 
+    @Override
+    public void recordCorrectedElapsedTime(long elapsedNanos) {
+    }
+
+    @Override
+    public void recordQueueWaitTime(long elapsedNanos) {
+    }
+
+    @Override
+    public void recordScheduleLag(int scheduler, long lagNanos) {
+    }
+
+    @Override
+    public void addMissedSlots(int scheduler, long missedSlots) {
+    }
+
+    @Override
+    public void addShedQueries(long shedQueries) {
+    }
+
+    @Override
+    public void recordQueryResult(String queryName, long elapsedNanos, boolean success) {
+    }
+
     @Override
     public void close() throws Exception {
     }
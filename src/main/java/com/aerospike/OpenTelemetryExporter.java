@@ -50,6 +50,13 @@ public final class OpenTelemetryExporter implements com.aerospike.OpenTelemetry
     private final LongCounter openTelemetryExceptionCounter;
     private final LongUpDownCounter openTelemetryPendingCounter;
     private final DoubleHistogram openTelemetryLatencyMSHistogram;
+    private final DoubleHistogram openTelemetryCorrectedLatencyMSHistogram;
+    private final DoubleHistogram openTelemetryQueueWaitMSHistogram;
+    private final DoubleHistogram openTelemetryScheduleLagMSHistogram;
+    private final LongCounter openTelemetryMissedSlotsCounter;
+    private final LongCounter openTelemetryShedCounter;
+    private final DoubleHistogram openTelemetryQueryLatencyMSHistogram;
+    private final LongCounter openTelemetryQueryCounter;
 
     //0 -- unknown, 1 -- Warmup, 2 -- Workload only, 3 -- Workload (warmup initially ran)
     private int isWarmup = 0;
@@ -127,6 +134,52 @@ public final class OpenTelemetryExporter implements com.aerospike.OpenTelemetry
                         .setUnit("ms")
                         .build();
 
+        this.openTelemetryCorrectedLatencyMSHistogram =
+                openTelemetryMeter
+                        .histogramBuilder(METRIC_NAME + ".lng.latency.corrected")
+                        .setDescription("Aerospike Workload Latencies measured from the intended start time (ms)")
+                        .setUnit("ms")
+                        .build();
+
+        this.openTelemetryQueueWaitMSHistogram =
+                openTelemetryMeter
+                        .histogramBuilder(METRIC_NAME + ".lng.queue.wait")
+                        .setDescription("Aerospike Workload time waiting in the worker queue (ms)")
+                        .setUnit("ms")
+                        .build();
+
+        this.openTelemetryScheduleLagMSHistogram =
+                openTelemetryMeter
+                        .histogramBuilder(METRIC_NAME + ".lng.schedule.lag")
+                        .setDescription("Aerospike Workload difference between the actual and intended dispatch time per scheduler (ms)")
+                        .setUnit("ms")
+                        .build();
+
+        this.openTelemetryMissedSlotsCounter =
+                openTelemetryMeter
+                        .counterBuilder(METRIC_NAME + ".schedule.missed.slots")
+                        .setDescription("Aerospike Workload dispatch slots missed (late or skipped) per scheduler")
+                        .build();
+
+        this.openTelemetryShedCounter =
+                openTelemetryMeter
+                        .counterBuilder(METRIC_NAME + ".queries.shed")
+                        .setDescription("Aerospike Workload queries dropped (shed) because the worker queue was full")
+                        .build();
+
+        this.openTelemetryQueryLatencyMSHistogram =
+                openTelemetryMeter
+                        .histogramBuilder(METRIC_NAME + ".lng.query.latency")
+                        .setDescription("Aerospike Workload Latencies per Query Mix member (ms)")
+                        .setUnit("ms")
+                        .build();
+
+        this.openTelemetryQueryCounter =
+                openTelemetryMeter
+                        .counterBuilder(METRIC_NAME + ".query.count")
+                        .setDescription("Aerospike Workload completed queries per Query Mix member and result")
+                        .build();
+
         this.printDebug("SDK and Metrics Completed");
 
         this.hbAttributes = new Attributes[5];
@@ -550,6 +603,74 @@ public final class OpenTelemetryExporter implements com.aerospike.OpenTelemetry
         this.logger.PrintDebug("OpenTelemetry", "Elapsed Time Record  %s %s", workloadName, wlTypeStage);
     }
 
+    @Override
+    public void recordCorrectedElapsedTime(long elapsedNanos) {
+        if(this.closed.get()) { return; }
+
+        final AttributesBuilder attributes = Attributes.builder();
+        attributes.putAll(this.hbAttributes[0]);
+
+        this.openTelemetryCorrectedLatencyMSHistogram.record(((double) elapsedNanos / Helpers.NS_TO_MS),
+                                                                attributes.build());
+    }
+
+    @Override
+    public void recordQueueWaitTime(long elapsedNanos) {
+        if(this.closed.get()) { return; }
+
+        final AttributesBuilder attributes = Attributes.builder();
+        attributes.putAll(this.hbAttributes[0]);
+
+        this.openTelemetryQueueWaitMSHistogram.record(((double) elapsedNanos / Helpers.NS_TO_MS),
+                                                        attributes.build());
+    }
+
+    @Override
+    public void recordScheduleLag(int scheduler, long lagNanos) {
+        if(this.closed.get()) { return; }
+
+        final AttributesBuilder attributes = Attributes.builder();
+        attributes.putAll(this.hbAttributes[0]);
+        attributes.put("scheduler", scheduler);
+
+        this.openTelemetryScheduleLagMSHistogram.record(((double) lagNanos / Helpers.NS_TO_MS),
+                                                        attributes.build());
+    }
+
+    @Override
+    public void addMissedSlots(int scheduler, long missedSlots) {
+        if(this.closed.get()) { return; }
+
+        final AttributesBuilder attributes = Attributes.builder();
+        attributes.putAll(this.hbAttributes[0]);
+        attributes.put("scheduler", scheduler);
+
+        this.openTelemetryMissedSlotsCounter.add(missedSlots, attributes.build());
+    }
+
+    @Override
+    public void addShedQueries(long shedQueries) {
+        if(this.closed.get()) { return; }
+
+        this.openTelemetryShedCounter.add(shedQueries, this.hbAttributes[0]);
+    }
+
+    @Override
+    public void recordQueryResult(String queryName, long elapsedNanos, boolean success) {
+        if(this.closed.get()) { return; }
+
+        final AttributesBuilder attributes = Attributes.builder();
+        attributes.putAll(this.hbAttributes[0]);
+        attributes.put("query", queryName);
+
+        if(success) {
+            this.openTelemetryQueryLatencyMSHistogram.record(((double) elapsedNanos / Helpers.NS_TO_MS),
+                                                                attributes.build());
+        }
+        attributes.put("result", success ? "success" : "error");
+        this.openTelemetryQueryCounter.add(1, attributes.build());
+    }
+
     private void pendingTransCounter(long amt) {
         if(this.closed.get()) { return; }
 
@@ -1,13 +1,22 @@
 package com.aerospike;
 
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+/*
+Console progress bar of a workload.
+Once started, the bar is updated once a second by a ticker thread that reads the workload's statistics.
+This keeps the progress bar (locking and message formatting) off the query execution path.
+ */
 public class Progressbar implements AutoCloseable {
 
     private final WorkloadProvider workloadProvider;
     private final ProgressBarBuilder.ProgressBar underlyingProgressBar;
     private final AtomicBoolean closed = new AtomicBoolean(false);
     private final boolean isDebug;
+    private ScheduledExecutorService ticker = null;
 
     public Progressbar(WorkloadProvider workload) {
         this.workloadProvider = workload;
@@ -34,6 +43,21 @@ public class Progressbar implements AutoCloseable {
         if(isDebug) {
             System.out.println();
         }
+        if(ticker == null) {
+            ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+                final Thread thread = new Thread(r, "Progressbar");
+                thread.setDaemon(true);
+                return thread;
+            });
+            ticker.scheduleAtFixedRate(this::step, 1, 1, TimeUnit.SECONDS);
+        }
+    }
+
+    private void stopTicker() {
+        if(ticker != null) {
+            ticker.shutdownNow();
+            ticker = null;
+        }
     }
 
     public void start() {
@@ -85,6 +109,7 @@ public class Progressbar implements AutoCloseable {
         if(closed.get()) { return; }
 
         closed.set(true);
+        stopTicker();
         if(!workloadProvider.isAborted()){
             final long delta = this.underlyingProgressBar.getMax() - this.underlyingProgressBar.getCurrent();
             if(delta > 0) {
@@ -111,6 +136,7 @@ public class Progressbar implements AutoCloseable {
     public synchronized void close() {
         if(!closed.get()) {
             closed.set(true);
+            stopTicker();
             underlyingProgressBar.close();
         }
     }
@@ -2,6 +2,7 @@ package com.aerospike;
 
 import org.javatuples.Pair;
 
+import java.util.List;
 import java.util.concurrent.Callable;
 
 /*
@@ -116,4 +117,17 @@ public interface QueryRunnable extends AGSGraphTraversal,
     This is called within the scheduler and is NOT part of the workload measurement.
      */
     void postCall(Object value, Boolean success, Throwable exception);
+
+    /*
+    Sets the values returned by the previous step of a session (see SessionWorkloadProvider) for the next call on the current thread.
+    Null clears the values. Queries that don't consume the values of a previous step ignore them.
+     */
+    default void setStepInput(List<Object> values) { }
+
+    /*
+    Returns the values produced by the last call on the current thread which are passed to the next step of a session.
+        value -- The value returned by the call
+    Null indicates the query doesn't produce values (the next step receives this step's input).
+     */
+    default Object getStepOutput(Object value) { return value; }
 }
@@ -3,6 +3,9 @@ package com.aerospike;
 import org.apache.tinkerpop.gremlin.driver.Cluster;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
 /*
 Implements required interfaces to execute a workload AGS query.
  */
@@ -15,6 +18,8 @@ public abstract class QueryWorkloadProvider implements QueryRunnable {
     private final String workloadName;
     private final IdManager idManager;
     private Object[] idArray = new Object[0];
+    //The values returned by the previous step of a session for the current thread's call (see SessionWorkloadProvider)
+    private final ThreadLocal<List<Object>> stepInput = new ThreadLocal<>();
 
     public QueryWorkloadProvider(final WorkloadProvider provider,
                                  final AGSGraphTraversal ags,
@@ -146,9 +151,30 @@ public abstract class QueryWorkloadProvider implements QueryRunnable {
 
     /*
     Returns a vertex Id from the IDManger or null
+    Within a session, a random value returned by the previous step is used instead.
      */
     @Override
-    public Object getVId() { return this.idManager == null ? null : this.idManager.getId(); }
+    public Object getVId() {
+        final List<Object> input = stepInput.get();
+        if(input != null && !input.isEmpty()) {
+            return input.get(ThreadLocalRandom.current().nextInt(input.size()));
+        }
+        return this.idManager == null ? null : this.idManager.getId();
+    }
+
+    @Override
+    public void setStepInput(List<Object> values) {
+        if(values == null) {
+            stepInput.remove();
+        } else {
+            stepInput.set(values);
+        }
+    }
+
+    /*
+    Returns the values returned by the previous step of a session for the current thread's call or null if not within a session.
+     */
+    public List<Object> getStepInput() { return stepInput.get(); }
 
     /*
         @return This should return the maximum required depth to stratify the gremlin query.
@@ -164,10 +190,17 @@ public abstract class QueryWorkloadProvider implements QueryRunnable {
      *              If the parent hasn't been defined, it will be selected.
      *              If the depth has been defined, the same Id is retuned.
      * @return the random child Id at depth based on its parent
+     *
+     * Within a session, a random value returned by the previous step is used for any depth
+     * since the Id Manager's parent/child relationship doesn't apply to those values.
      */
     @Override
     public Object getVId(int depth) {
 
+        final List<Object> input = stepInput.get();
+        if(input != null && !input.isEmpty()) {
+            return input.get(ThreadLocalRandom.current().nextInt(input.size()));
+        }
         if(depth < this.idArray.length) {
             return this.idArray[depth];
         }
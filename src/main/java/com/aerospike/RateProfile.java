@@ -0,0 +1,166 @@
+package com.aerospike;
+
+import java.time.DateTimeException;
+import java.time.Duration;
+
+/*
+A rate profile changes the target QPS continuously during a run. The dispatchers evaluate the profile at every dispatch
+slot so the rate changes without stopping (re-warming) the workload.
+The profile is relative to the workload's base QPS ('--QueriesPerSec').
+Profiles:
+    ramp:<EndQPS> -- A linear ramp from the base QPS to EndQPS over the run duration.
+    staircase:<StepQPS>:<StepDuration> -- Increases the QPS by StepQPS every StepDuration.
+    sine:<AmplitudeQPS>:<Period> -- A sinusoidal (diurnal) pattern of base QPS +/- AmplitudeQPS with a period of Period.
+    spike:<SpikeQPS>:<Every>:<Length> -- The base QPS with a spike to SpikeQPS that lasts Length at the end of every Every interval.
+The QPS of a profile is never less than one.
+ */
+public interface RateProfile {
+
+    /*
+    Returns the target QPS at the elapsed time from the start of the run based on the base QPS and the run's duration.
+     */
+    double RateAt(double baseQPS, long elapsedNS, long durationNS);
+
+    /*
+    The profile's description (e.g., ramp:5000)
+     */
+    String Description();
+
+    /*
+    Returns the mean target QPS over the duration.
+     */
+    default double MeanRate(double baseQPS, Duration duration) {
+        final int samples = 1000;
+        final double stepNS = (double) duration.toNanos() / samples;
+        double total = 0;
+        for (int i = 0; i < samples; i++) {
+            total += RateAt(baseQPS, (long) ((i + 0.5) * stepNS), duration.toNanos());
+        }
+        return total / samples;
+    }
+
+    /*
+    Returns the highest target QPS over the duration.
+     */
+    default double PeakRate(double baseQPS, Duration duration) {
+        final int samples = 1000;
+        final double stepNS = (double) duration.toNanos() / samples;
+        double peak = 0;
+        for (int i = 0; i <= samples; i++) {
+            peak = Math.max(peak, RateAt(baseQPS, (long) (i * stepNS), duration.toNanos()));
+        }
+        return peak;
+    }
+
+    private static double AtLeastOne(double qps) { return Math.max(qps, 1.0); }
+
+    record Ramp(double endQPS) implements RateProfile {
+        @Override
+        public double RateAt(double baseQPS, long elapsedNS, long durationNS) {
+            if(durationNS <= 0 || elapsedNS >= durationNS) {
+                return AtLeastOne(endQPS);
+            }
+            return AtLeastOne(baseQPS + (endQPS - baseQPS) * ((double) elapsedNS / durationNS));
+        }
+
+        @Override
+        public String Description() { return String.format("ramp:%,.0f", endQPS); }
+    }
+
+    record Staircase(double stepQPS, Duration stepDuration) implements RateProfile {
+        @Override
+        public double RateAt(double baseQPS, long elapsedNS, long ignored) {
+            return AtLeastOne(baseQPS + stepQPS * (elapsedNS / stepDuration.toNanos()));
+        }
+
+        @Override
+        public String Description() { return String.format("staircase:%,.0f every %s", stepQPS, stepDuration); }
+    }
+
+    record Sine(double amplitudeQPS, Duration period) implements RateProfile {
+        @Override
+        public double RateAt(double baseQPS, long elapsedNS, long ignored) {
+            return AtLeastOne(baseQPS + amplitudeQPS * Math.sin(2.0 * Math.PI * elapsedNS / period.toNanos()));
+        }
+
+        @Override
+        public String Description() { return String.format("sine:+/-%,.0f period %s", amplitudeQPS, period); }
+    }
+
+    record Spike(double spikeQPS, Duration every, Duration length) implements RateProfile {
+        @Override
+        public double RateAt(double baseQPS, long elapsedNS, long ignored) {
+            final long everyNS = every.toNanos();
+            return (elapsedNS % everyNS) >= everyNS - length.toNanos()
+                        ? AtLeastOne(spikeQPS)
+                        : AtLeastOne(baseQPS);
+        }
+
+        @Override
+        public String Description() { return String.format("spike:%,.0f for %s every %s", spikeQPS, length, every); }
+    }
+
+    /*
+    Parses a profile (e.g., "sine:500:5m"). See the interface's description for the format.
+    Durations are in the same format as the '--duration' option.
+    Throws IllegalArgumentException if the profile is not valid.
+     */
+    static RateProfile Parse(String value) throws IllegalArgumentException {
+        if(value == null || value.isBlank()) {
+            throw new IllegalArgumentException("A Rate Profile is required");
+        }
+        final String[] parts = value.trim().split(":");
+        final TinkerBenchArgs.DurationConverter durationConverter = new TinkerBenchArgs.DurationConverter();
+
+        try {
+            switch (parts[0].toLowerCase()) {
+                case "ramp":
+                    CheckArgs(parts, 2, "ramp:<EndQPS>");
+                    return new Ramp(PositiveQPS(parts[1]));
+                case "staircase":
+                case "stair":
+                    CheckArgs(parts, 3, "staircase:<StepQPS>:<StepDuration>");
+                    return new Staircase(Double.parseDouble(parts[1]),
+                                            PositiveDuration(durationConverter.convert(parts[2])));
+                case "sine":
+                case "diurnal":
+                    CheckArgs(parts, 3, "sine:<AmplitudeQPS>:<Period>");
+                    return new Sine(PositiveQPS(parts[1]),
+                                        PositiveDuration(durationConverter.convert(parts[2])));
+                case "spike":
+                    CheckArgs(parts, 4, "spike:<SpikeQPS>:<Every>:<Length>");
+                    final Duration every = PositiveDuration(durationConverter.convert(parts[2]));
+                    final Duration length = PositiveDuration(durationConverter.convert(parts[3]));
+                    if(length.compareTo(every) >= 0) {
+                        throw new IllegalArgumentException("Spike Length must be less than the Every interval");
+                    }
+                    return new Spike(PositiveQPS(parts[1]), every, length);
+                default:
+                    throw new IllegalArgumentException(String.format("Unknown Rate Profile '%s'. Must be ramp, staircase, sine, or spike", parts[0]));
+            }
+        } catch (NumberFormatException | DateTimeException e) {
+            throw new IllegalArgumentException(String.format("Invalid Rate Profile '%s': %s", value, e.getMessage()), e);
+        }
+    }
+
+    private static void CheckArgs(String[] parts, int expected, String format) {
+        if(parts.length != expected) {
+            throw new IllegalArgumentException(String.format("Rate Profile must be in the form of '%s'", format));
+        }
+    }
+
+    private static double PositiveQPS(String value) {
+        final double qps = Double.parseDouble(value);
+        if(qps <= 0) {
+            throw new IllegalArgumentException("Rate Profile QPS must be greater than zero");
+        }
+        return qps;
+    }
+
+    private static Duration PositiveDuration(Duration duration) {
+        if(duration.isZero() || duration.isNegative()) {
+            throw new IllegalArgumentException("Rate Profile duration must be greater than zero");
+        }
+        return duration;
+    }
+}
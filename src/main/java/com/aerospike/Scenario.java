@@ -0,0 +1,351 @@
+package com.aerospike;
+
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.error.YAMLException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/*
+A scenario describes a complete benchmark (warmup, stages, and cool-down) executed end-to-end in one run.
+The graph traversal source, Id Manager, and compiled queries are reused across stages and one consolidated report is produced.
+The file is YAML (or JSON). Example:
+    name: Air Routes Capacity
+    warmup:
+      duration: 30s
+      qps: 100
+    stages:
+      - name: baseline
+        duration: 2m
+        qps: 500
+        query: AirRoutesQuery1
+      - name: mixed
+        duration: 5m
+        qps: 1000
+        mix:
+          - 70:AirRoutesQuery1
+          - "30:g.V(%s).out().limit(5).toList()"
+        profile: ramp:2000
+        arrival: poisson
+    cooldown:
+      duration: 30s
+      qps: 50
+Stage values:
+    name -- The stage's name (default is stage<n>)
+    duration -- The stage's duration in the same format as '--duration' (default is '--duration')
+    qps -- The stage's target QPS (default is '--QueriesPerSec')
+    query -- A predefined query or Gremlin string
+    mix -- Query Mix members in the same format as '--QueryMix'
+    profile -- A Rate Profile in the same format as '--RateProfile' (default is '--RateProfile')
+    arrival -- An Arrival Process in the same format as '--ArrivalProcess' (default is '--ArrivalProcess')
+If a stage doesn't define a query or mix, the previous stage's query is used. The first stage uses the command line's query.
+The warmup and cool-down use the first and last stage's query, respectively, if not defined.
+If the warmup is not defined, the command line's warmup ('--WarmupDuration') is used.
+The warmup and cool-down don't use a rate profile and their QPS and errors don't affect the scenario's exit code.
+ */
+public final class Scenario {
+
+    private static final Set<String> StageKeys = Set.of("name", "duration", "qps", "query", "mix", "profile", "arrival");
+    private static final Set<String> ScenarioKeys = Set.of("name", "warmup", "stages", "cooldown");
+
+    /*
+    A stage of the scenario.
+        query is null if mix is provided.
+        warmup and cooldown are true for the warmup and cool-down stages, which are not measured.
+     */
+    public record Stage(String name,
+                        boolean warmup,
+                        boolean cooldown,
+                        int qps,
+                        Duration duration,
+                        String query,
+                        MixedQueryWorkloadProvider.Entry[] mix,
+                        RateProfile rateProfile,
+                        ArrivalProcess arrivalProcess) {
+
+        /*
+        Applies the stage's query, rate profile, and arrival process to the arguments used to execute the stage.
+         */
+        public void Apply(TinkerBenchArgs args) {
+            args.queryNameOrString = mix == null ? query : MixedQueryWorkloadProvider.MixName;
+            args.queryMix = mix;
+            args.rateProfile = rateProfile;
+            args.arrivalProcess = arrivalProcess;
+        }
+
+        /*
+        Returns true if the stage's QPS and errors are checked (not the warmup or cool-down).
+         */
+        public boolean isMeasured() { return !warmup && !cooldown; }
+
+        /*
+        Returns the name followed by the stage's type if it's not measured.
+         */
+        public String Label() {
+            if(warmup) { return name + " (Warmup)"; }
+            if(cooldown) { return name + " (Cool-down)"; }
+            return name;
+        }
+
+        public String QueryDescription() {
+            return mix == null
+                    ? query
+                    : Arrays.stream(mix)
+                        .map(m -> FmtWeight(m.weight()) + ":" + m.query())
+                        .collect(Collectors.joining(", ", "Mix (", ")"));
+        }
+    }
+
+    /*
+    The result of an executed stage.
+     */
+    public record Result(Stage stage,
+                         double achievedQPS,
+                         long queries,
+                         long errors,
+                         double latency50MS,
+                         double latency99MS,
+                         WorkloadStatus status) {}
+
+    private final String name;
+    private final List<Stage> stages;
+    private final List<Result> results = new ArrayList<>();
+
+    public Scenario(String name, List<Stage> stages) {
+        this.name = name;
+        this.stages = List.copyOf(stages);
+    }
+
+    public String getName() { return name; }
+
+    /*
+    Returns all stages in execution order (warmup, stages, and cool-down).
+     */
+    public List<Stage> getStages() { return stages; }
+
+    public List<Result> getResults() { return List.copyOf(results); }
+
+    /*
+    Returns true if all stages only execute TestRun queries.
+     */
+    public boolean isTestRun() {
+        return stages.stream()
+                .allMatch(s -> s.mix() == null
+                                ? s.query().startsWith("TestRun")
+                                : Arrays.stream(s.mix()).allMatch(m -> m.query().startsWith("TestRun")));
+    }
+
+    /*
+    Records the result of an executed stage.
+     */
+    public Result Record(Stage stage, WorkloadProvider workload) {
+        final Result result = new Result(stage,
+                                            workload.getCallsPerSecond(),
+                                            workload.getSuccessCount(),
+                                            workload.getErrorCount(),
+                                            workload.getCorrectedLatencyMSAtPercentile(50.0),
+                                            workload.getCorrectedLatencyMSAtPercentile(99.0),
+                                            workload.getStatus());
+        results.add(result);
+        return result;
+    }
+
+    /*
+    Prints the consolidated report of all executed stages.
+     */
+    public void PrintResults(PrintStream printStream) {
+        printStream.printf("Scenario Summary for %s:%n", name);
+        printStream.println("\tStage\tDuration\tTarget QPS\tAchieved QPS\tQueries\tErrors\t50% (ms)\t99% (ms)\tStatus\tQuery");
+        for (Result result : results) {
+            printStream.printf("\t%s\t%s\t%s\t%,.2f\t%,d\t%,d\t%,.3f\t%,.3f\t%s\t%s%n",
+                                result.stage().Label(),
+                                Helpers.FmtDuration(result.stage().duration()),
+                                result.stage().rateProfile() == null
+                                    ? Helpers.FmtInt(result.stage().qps())
+                                    : result.stage().rateProfile().Description(),
+                                result.achievedQPS(),
+                                result.queries(),
+                                result.errors(),
+                                result.latency50MS(),
+                                result.latency99MS(),
+                                result.status(),
+                                result.stage().QueryDescription());
+        }
+        if(results.size() < stages.size()) {
+            printStream.printf("\tStages not executed: %,d%n", stages.size() - results.size());
+        }
+        printStream.println("\tNote: Latencies are corrected (from the intended start).");
+    }
+
+    /*
+    Loads a scenario file. The command line arguments provide the defaults.
+    Throws IllegalArgumentException if the scenario is not valid.
+     */
+    public static Scenario Load(File file, TinkerBenchArgs args) throws IOException, IllegalArgumentException {
+        final Object document;
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            document = new Yaml(new SafeConstructor(new LoaderOptions())).load(reader);
+        } catch (YAMLException e) {
+            throw new IllegalArgumentException(String.format("Invalid Scenario file '%s': %s", file, e.getMessage()), e);
+        }
+        return Parse(document, file.getName(), args);
+    }
+
+    /*
+    Creates a scenario from a parsed YAML/JSON document.
+     */
+    static Scenario Parse(Object document, String defaultName, TinkerBenchArgs args) throws IllegalArgumentException {
+        final Map<String, Object> root = AsMap(document, "Scenario");
+        CheckKeys(root, ScenarioKeys, "Scenario");
+
+        final Object stagesValue = root.get("stages");
+        if(!(stagesValue instanceof List<?> stageItems) || stageItems.isEmpty()) {
+            throw new IllegalArgumentException("Scenario requires at least one stage in 'stages'");
+        }
+
+        final List<Stage> stages = new ArrayList<>();
+        String query = args.queryMix == null ? args.queryNameOrString : null;
+        MixedQueryWorkloadProvider.Entry[] mix = args.queryMix;
+        if(query != null && query.isBlank()) {
+            query = null;
+        }
+
+        for (int i = 0; i < stageItems.size(); i++) {
+            final Stage stage = ParseStage(stageItems.get(i), "stage" + (i + 1), false, false, query, mix, args);
+            query = stage.query();
+            mix = stage.mix();
+            stages.add(stage);
+        }
+
+        if(root.get("warmup") != null) {
+            final Stage first = stages.get(0);
+            stages.add(0, ParseStage(root.get("warmup"), "warmup", true, false, first.query(), first.mix(), args));
+        } else if(!args.warmupDuration.isZero()) {
+            final Stage first = stages.get(0);
+            stages.add(0, new Stage("warmup",
+                                    true,
+                                    false,
+                                    args.queriesPerSecond,
+                                    args.warmupDuration,
+                                    first.query(),
+                                    first.mix(),
+                                    null,
+                                    first.arrivalProcess()));
+        }
+        if(root.get("cooldown") != null) {
+            final Stage last = stages.get(stages.size() - 1);
+            stages.add(ParseStage(root.get("cooldown"), "cooldown", false, true, last.query(), last.mix(), args));
+        }
+
+        final Object name = root.get("name");
+        return new Scenario(name == null ? defaultName : name.toString(), stages);
+    }
+
+    private static Stage ParseStage(Object value,
+                                    String defaultName,
+                                    boolean warmup,
+                                    boolean cooldown,
+                                    String query,
+                                    MixedQueryWorkloadProvider.Entry[] mix,
+                                    TinkerBenchArgs args) {
+        final Map<String, Object> stage = AsMap(value, defaultName);
+        final String name = stage.get("name") == null ? defaultName : stage.get("name").toString();
+        CheckKeys(stage, StageKeys, name);
+
+        try {
+            final int qps = stage.get("qps") == null
+                                ? args.queriesPerSecond
+                                : Integer.parseInt(stage.get("qps").toString());
+            if(qps <= 0) {
+                throw new IllegalArgumentException(String.format("Scenario stage '%s' QPS must be greater than zero", name));
+            }
+            final Duration duration = stage.get("duration") == null
+                                        ? args.duration
+                                        : new TinkerBenchArgs.DurationConverter().convert(stage.get("duration").toString());
+            if(duration.isZero() || duration.isNegative()) {
+                throw new IllegalArgumentException(String.format("Scenario stage '%s' duration must be greater than zero", name));
+            }
+
+            if(stage.get("query") != null && stage.get("mix") != null) {
+                throw new IllegalArgumentException(String.format("Scenario stage '%s' cannot define both 'query' and 'mix'", name));
+            }
+            if(stage.get("query") != null) {
+                query = stage.get("query").toString();
+                mix = null;
+            } else if(stage.get("mix") != null) {
+                if(!(stage.get("mix") instanceof List<?> members) || members.isEmpty()) {
+                    throw new IllegalArgumentException(String.format("Scenario stage '%s' 'mix' must be a list of '<Weight>:<QueryNameOrGremlinString>'", name));
+                }
+                mix = members.stream()
+                        .map(Scenario::ParseMixMember)
+                        .toArray(MixedQueryWorkloadProvider.Entry[]::new);
+                query = null;
+            }
+            if(query == null && mix == null) {
+                throw new IllegalArgumentException(String.format("Scenario stage '%s' requires a 'query' or 'mix'", name));
+            }
+
+            final RateProfile rateProfile = warmup || cooldown
+                                                ? null
+                                                : (stage.get("profile") == null
+                                                    ? args.rateProfile
+                                                    : RateProfile.Parse(stage.get("profile").toString()));
+            final ArrivalProcess arrivalProcess = stage.get("arrival") == null
+                                                    ? args.arrivalProcess
+                                                    : ArrivalProcess.Parse(stage.get("arrival").toString());
+
+            return new Stage(name, warmup, cooldown, qps, duration, query, mix, rateProfile, arrivalProcess);
+        } catch (NumberFormatException | DateTimeException e) {
+            throw new IllegalArgumentException(String.format("Invalid Scenario stage '%s': %s", name, e.getMessage()), e);
+        }
+    }
+
+    private static String FmtWeight(double weight) {
+        return BigDecimal.valueOf(weight).stripTrailingZeros().toPlainString();
+    }
+
+    /*
+    A mix member can be a string ('<Weight>:<QueryNameOrGremlinString>') or a map with one entry (<Weight>: <QueryNameOrGremlinString>).
+     */
+    private static MixedQueryWorkloadProvider.Entry ParseMixMember(Object member) {
+        if(member instanceof Map<?, ?> map && map.size() == 1) {
+            final Map.Entry<?, ?> entry = map.entrySet().iterator().next();
+            return MixedQueryWorkloadProvider.Entry.Parse(entry.getKey() + ":" + entry.getValue());
+        }
+        return MixedQueryWorkloadProvider.Entry.Parse(String.valueOf(member));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> AsMap(Object value, String name) {
+        if(value instanceof Map<?, ?> map) {
+            return (Map<String, Object>) map;
+        }
+        throw new IllegalArgumentException(String.format("Scenario '%s' must be a map of values", name));
+    }
+
+    private static void CheckKeys(Map<?, ?> map, Set<String> keys, String name) {
+        for (Object key : map.keySet()) {
+            if(!keys.contains(key)) {
+                throw new IllegalArgumentException(String.format("Unknown Scenario value '%s' in '%s'. Must be one of %s",
+                                                                    key,
+                                                                    name,
+                                                                    keys.stream().sorted().toList()));
+            }
+        }
+    }
+}
@@ -0,0 +1,486 @@
+package com.aerospike;
+
+import org.HdrHistogram.Histogram;
+import org.apache.tinkerpop.gremlin.driver.Cluster;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.javatuples.Pair;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/*
+Executes a session where each call is one logical transaction made of an ordered list of steps
+(predefined queries and/or Gremlin strings) that are executed one after another on the same worker.
+The values returned by a step are passed to the next step:
+    Gremlin String -- The values are bound to the variable 'prev' (e.g., "g.V(prev).out('knows').id().toList()").
+                        The values are the terminator's result (e.g., the list from 'toList()' or the element from 'next()').
+    Predefined Query -- A random value is returned by getVId (any depth) instead of an id from the Id Manager.
+A step that returns no values (e.g., an empty list or false from 'hasNext()') ends the session, the remaining steps are not executed.
+A step that doesn't produce values (e.g., 'iterate()') passes its input to the next step.
+Predefined queries are consumers only since their call doesn't return a value (the next step receives the same input).
+A query produces values by returning them from its call (see QueryRunnable.getStepOutput).
+The scheduler measures the end-to-end latency of the session (all steps) and each step's latency is tracked separately.
+Note: All steps share the same Id Manager.
+ */
+public final class SessionWorkloadProvider implements QueryRunnable {
+
+    public static final String SessionName = "Session";
+    //The Gremlin variable bound to the values returned by the previous step
+    public static final String StepInputVariable = "prev";
+    //The number of sample sessions executed while preparing a step to obtain the values for the next step
+    private static final int PrepareAttempts = 10;
+
+    /*
+    The statistics of a session step.
+        ended -- The number of sessions ended by this step since no values were returned
+     */
+    public record StepStats(String name,
+                            LatencyRecorder histogram,
+                            LongAdder successCount,
+                            LongAdder errorCount,
+                            LongAdder endedCount) {}
+
+    /*
+    The result of a step.
+        recorded -- False if the step was not recorded (the session is aborted)
+        values -- The values passed to the next step or null if the step didn't produce values
+     */
+    private record StepResult(boolean recorded, List<Object> values) {}
+
+    private WorkloadProvider provider;
+    private final AGSGraphTraversal agsGraphTraversal;
+    private final QueryRunnable[] steps;
+    private volatile StepStats[] stepStats = new StepStats[0];
+    private final LogSource logger = LogSource.getInstance();
+
+    public SessionWorkloadProvider(final WorkloadProvider provider,
+                                   final AGSGraphTraversal ags,
+                                   final String[] steps,
+                                   final IdManager idManager,
+                                   final boolean debug) throws ReflectiveOperationException {
+        this(provider, ags, CreateSteps(provider, ags, steps, idManager, debug));
+    }
+
+    /*
+    Creates a session from steps that are already created.
+     */
+    SessionWorkloadProvider(final WorkloadProvider provider,
+                            final AGSGraphTraversal ags,
+                            final QueryRunnable[] steps) {
+        if(steps == null || steps.length == 0) {
+            throw new IllegalArgumentException("Session requires at least one step");
+        }
+
+        this.agsGraphTraversal = ags;
+        this.steps = steps;
+
+        for (int i = 0; i < steps.length; i++) {
+            //The last step's values are not used
+            if(steps[i] instanceof EvalQueryWorkloadProvider eval) {
+                eval.setKeepStepOutput(i < steps.length - 1);
+            }
+        }
+
+        this.provider = provider;
+        if(this.provider != null) {
+            this.provider.setQuery(this);
+        }
+    }
+
+    private static QueryRunnable[] CreateSteps(final WorkloadProvider provider,
+                                               final AGSGraphTraversal ags,
+                                               final String[] steps,
+                                               final IdManager idManager,
+                                               final boolean debug) throws ReflectiveOperationException {
+        if(steps == null || steps.length == 0) {
+            throw new IllegalArgumentException("Session requires at least one step");
+        }
+
+        final QueryRunnable[] queries = new QueryRunnable[steps.length];
+
+        for (int i = 0; i < steps.length; i++) {
+            final String query = steps[i].trim();
+            //Each step registers itself with the provider, the session is registered once all steps are created
+            queries[i] = query.indexOf(".") > 0
+                            ? new EvalQueryWorkloadProvider(provider,
+                                                            ags,
+                                                            query,
+                                                            idManager)
+                            : Helpers.GetQuery(query,
+                                                provider,
+                                                ags,
+                                                idManager,
+                                                debug);
+        }
+        return queries;
+    }
+
+    /*
+    Converts a step's output into the values passed to the next step.
+    Returns null if the step didn't produce values.
+     */
+    public static List<Object> ToValues(Object output) {
+        return switch (output) {
+            case null -> null;
+            case Collection<?> collection -> new ArrayList<>(collection);
+            case Object[] array -> Arrays.asList(array);
+            case Boolean exists -> exists ? List.of(true) : List.of();
+            default -> List.of(output);
+        };
+    }
+
+    /*
+    Resets the step statistics. Called by the scheduler when the session is (re)bound.
+    The statistics are created on first use, afterwards their recorders and counters are reset so their memory is reused.
+     */
+    public void ResetStats(int histogramPrecision) {
+        final StepStats[] currentStats = this.stepStats;
+        if(currentStats.length == steps.length
+                && currentStats[0].histogram().getNumberOfSignificantValueDigits() == histogramPrecision) {
+            for (StepStats stats : currentStats) {
+                stats.histogram().reset();
+                stats.successCount().reset();
+                stats.errorCount().reset();
+                stats.endedCount().reset();
+            }
+            return;
+        }
+        final StepStats[] newStats = new StepStats[steps.length];
+        for (int i = 0; i < steps.length; i++) {
+            newStats[i] = new StepStats(steps[i].Name(),
+                                        new LatencyRecorder(histogramPrecision),
+                                        new LongAdder(),
+                                        new LongAdder(),
+                                        new LongAdder());
+        }
+        this.stepStats = newStats;
+    }
+
+    /*
+    Returns the statistics of each step or an empty list if not bound to a scheduler.
+     */
+    public List<StepStats> getStepStats() { return List.of(stepStats); }
+
+    public int getStepCount() { return steps.length; }
+
+    public QueryRunnable getStep(int step) { return steps[step]; }
+
+    /*
+    Executes a step with the values of the previous step.
+     */
+    private StepResult ExecuteStep(final int step,
+                                   final List<Object> input,
+                                   final StepStats stats) throws Exception {
+        final QueryRunnable query = steps[step];
+        query.setStepInput(input);
+        Pair<Boolean, Object> result = null;
+        Exception error = null;
+        try {
+            query.preCall();
+            final long start = System.nanoTime();
+            try {
+                result = query.call();
+            } catch (Exception e) {
+                error = e;
+                if(stats != null) {
+                    stats.errorCount().increment();
+                    provider.getOpenTelemetry().recordQueryResult(stats.name(), System.nanoTime() - start, false);
+                }
+                throw e;
+            }
+            final long latency = System.nanoTime() - start;
+            if(result == null || !result.getValue0()) {
+                return new StepResult(false, null);
+            }
+            if(stats != null) {
+                stats.successCount().increment();
+                stats.histogram().recordValue(latency);
+                provider.getOpenTelemetry().recordQueryResult(stats.name(), latency, true);
+            }
+            return new StepResult(true, ToValues(query.getStepOutput(result.getValue1())));
+        } finally {
+            query.postCall(result == null ? null : result.getValue1(),
+                            result != null && result.getValue0(),
+                            error);
+            query.setStepInput(null);
+        }
+    }
+
+    @Override
+    public String Name() { return SessionName; }
+
+    @Override
+    public boolean isWarmup() { return provider.isWarmup(); }
+
+    @Override
+    public boolean isPrintResult() {
+        return Arrays.stream(steps).anyMatch(QueryRunnable::isPrintResult);
+    }
+
+    /*
+    Results are printed by the step that produced them.
+     */
+    @Override
+    public <V> void PrintResult(V result) { }
+
+    @Override
+    public WorkloadTypes WorkloadType() {
+        return steps[0].WorkloadType();
+    }
+
+    @Override
+    public QueryRunnable SetWorkloadProvider(WorkloadProvider newProvider) {
+
+        if(newProvider == null) {
+            throw new IllegalArgumentException("newProvider cannot be null");
+        }
+
+        if(provider != null && provider.getStatus() != WorkloadStatus.Shutdown) {
+            throw new IllegalStateException("Current WorkloadProvider must be in shutdown state");
+        }
+        for (QueryRunnable step : steps) {
+            step.SetWorkloadProvider(newProvider);
+        }
+        provider = newProvider;
+        provider.setQuery(this);
+        return this;
+    }
+
+    @Override
+    public QueryRunnable Start() {
+        this.provider.Start();
+        return this;
+    }
+
+    @Override
+    public QueryRunnable awaitTermination() {
+        this.provider.awaitTermination();
+        return this;
+    }
+
+    @Override
+    public QueryRunnable Shutdown() {
+        this.provider.Shutdown();
+        return this;
+    }
+
+    @Override
+    public QueryRunnable PrintSummary() {
+        this.provider.PrintSummary();
+        return this;
+    }
+
+    /*
+    Prints each step's statistics next to the end-to-end (session) latency.
+     */
+    public void PrintStepSummary(PrintStream printStream, Histogram endToEnd) {
+        final StepStats[] stats = this.stepStats;
+        printStream.printf("\tSession: %,d Steps%n", stats.length);
+        printStream.printf("\t\tEnd-to-End Latency: Mean %,.3f ms\t50%% %,.3f ms\t99%% %,.3f ms\tMax %,.3f ms%n",
+                            endToEnd.getMean() / Helpers.NS_TO_MS,
+                            endToEnd.getValueAtPercentile(50.0) / Helpers.NS_TO_MS,
+                            endToEnd.getValueAtPercentile(99.0) / Helpers.NS_TO_MS,
+                            endToEnd.getMaxValue() / Helpers.NS_TO_MS);
+        for (int i = 0; i < stats.length; i++) {
+            final Histogram latency = stats[i].histogram().snapshot();
+            printStream.printf("\t\tStep %d: %s%n",
+                                i + 1,
+                                stats[i].name());
+            printStream.printf("\t\t\tQueries: %,d\tErrors: %,d\tEnded Session: %,d%n",
+                                stats[i].successCount().sum(),
+                                stats[i].errorCount().sum(),
+                                stats[i].endedCount().sum());
+            printStream.printf("\t\t\tLatency: Mean %,.3f ms\t50%% %,.3f ms\t99%% %,.3f ms\tMax %,.3f ms%n",
+                                latency.getMean() / Helpers.NS_TO_MS,
+                                latency.getValueAtPercentile(50.0) / Helpers.NS_TO_MS,
+                                latency.getValueAtPercentile(99.0) / Helpers.NS_TO_MS,
+                                latency.getMaxValue() / Helpers.NS_TO_MS);
+        }
+    }
+
+    /*
+    Returns the first step's labels or null to use the CLI's labels.
+     */
+    @Override
+    public String[] getSampleLabelId() {
+        return Arrays.stream(steps)
+                .map(QueryRunnable::getSampleLabelId)
+                .filter(l -> l != null)
+                .findFirst()
+                .orElse(null);
+    }
+
+    /*
+    Returns -1 (default from the CLI) if any step uses the default, otherwise the largest step sampling size.
+     */
+    @Override
+    public int getSampleSize() {
+        int size = 0;
+        for (QueryRunnable step : steps) {
+            if(step.getSampleSize() < 0) {
+                return -1;
+            }
+            size = Math.max(size, step.getSampleSize());
+        }
+        return size;
+    }
+
+    @Override
+    public Object getVId() { return steps[0].getVId(); }
+
+    @Override
+    public Object getVId(int depth) { return steps[0].getVId(depth); }
+
+    @Override
+    public String getDescription() {
+        return IntStream.range(0, steps.length)
+                .mapToObj(i -> String.format("%d: %s", i + 1, steps[i].Name()))
+                .collect(Collectors.joining(" -> ", "Session (", ")"));
+    }
+
+    /*
+    Prepares each step in order. Since a step can depend on the values of the previous step,
+    sample sessions are executed (not recorded) to obtain those values before the next step is prepared.
+     */
+    @Override
+    public void PrepareCompile() {
+        List<Object> input = null;
+        for (int i = 0; i < steps.length; i++) {
+            steps[i].setStepInput(input);
+            try {
+                steps[i].PrepareCompile();
+            } finally {
+                steps[i].setStepInput(null);
+            }
+            if(provider.isAborted() || i == steps.length - 1) {
+                return;
+            }
+            final StepResult sample;
+            try {
+                sample = SampleValues(i + 1);
+            } catch (Exception e) {
+                logger.Print("SessionWorkloadProvider", e);
+                provider.AddError(e);
+                provider.SignalAbortWorkLoad();
+                return;
+            }
+            if(sample != null) {
+                input = sample.values();
+            } else {
+                final String msg = String.format("Session step %d (%s) could not be prepared since the previous steps didn't return any values after %d sample sessions",
+                                                    i + 2,
+                                                    steps[i + 1].Name(),
+                                                    PrepareAttempts);
+                System.err.println(msg);
+                logger.error(msg);
+                provider.AddError(new IllegalStateException(msg));
+                provider.SignalAbortWorkLoad();
+                return;
+            }
+        }
+    }
+
+    /*
+    Executes the steps before the given step until a session reaches the step.
+    Returns the values passed to the step or null if no session reached the step.
+     */
+    private StepResult SampleValues(int step) throws Exception {
+        for (int attempt = 0; attempt < PrepareAttempts; attempt++) {
+            final StepResult sample = ExecuteSteps(step, null);
+            if(sample.recorded()) {
+                return sample;
+            }
+        }
+        return null;
+    }
+
+    /*
+    Executes the steps before the given step passing the values of each step to the next.
+    Not recorded if a step was not recorded or returned no values (the session ended).
+     */
+    private StepResult ExecuteSteps(int step, StepStats[] stats) throws Exception {
+        List<Object> values = null;
+        for (int i = 0; i < step; i++) {
+            final StepResult result = ExecuteStep(i, values, stats == null ? null : stats[i]);
+            if(!result.recorded()) {
+                return result;
+            }
+            if(result.values() != null) {
+                if(result.values().isEmpty()) {
+                    if(stats != null && i < step - 1) {
+                        stats[i].endedCount().increment();
+                    }
+                    return new StepResult(false, result.values());
+                }
+                values = result.values();
+            }
+        }
+        return new StepResult(true, values);
+    }
+
+    /*
+    Performs all step's pre-processing. Returns false if any step cancels the execution.
+     */
+    @Override
+    public boolean preProcess() throws InterruptedException {
+        for (QueryRunnable step : steps) {
+            if(!step.preProcess()) {
+                logger.PrintDebug("SessionWorkloadProvider", "Step %s canceled execution", step);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void postProcess() {
+        for (QueryRunnable step : steps) {
+            step.postProcess();
+        }
+    }
+
+    /*
+    Each step's preCall is executed within the session.
+     */
+    @Override
+    public void preCall() { }
+
+    /*
+    Executes the steps in order passing the values of each step to the next.
+    Returns false (not recorded) if a step was not recorded.
+     */
+    @Override
+    public Pair<Boolean, Object> call() throws Exception {
+        final StepStats[] stats = this.stepStats;
+        final StepResult result = ExecuteSteps(steps.length, stats.length == 0 ? null : stats);
+        //A session ended by a step that returned no values is still recorded
+        return new Pair<>(result.recorded() || result.values() != null, null);
+    }
+
+    /*
+    Each step's postCall is executed within the session.
+     */
+    @Override
+    public void postCall(Object value, Boolean success, Throwable exception) { }
+
+    @Override
+    public GraphTraversalSource G() {
+        return agsGraphTraversal == null ? steps[0].G() : agsGraphTraversal.G();
+    }
+
+    @Override
+    public Cluster getCluster() {
+        return agsGraphTraversal == null ? steps[0].getCluster() : agsGraphTraversal.getCluster();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Gremlin [%s-%s]", Name(), WorkloadType());
+    }
+}
@@ -0,0 +1,13 @@
+package com.aerospike;
+
+/*
+Determines what happens to a dispatched query once the bounded worker queue is full ('--MaxQueued').
+    DropNewest -- The dispatched query is dropped (shed).
+    DropOldest -- The oldest queued query is dropped (shed) and the dispatched query is queued.
+    Block -- The dispatcher waits until the query can be queued. The delay is included in the schedule lag and the corrected latency.
+ */
+public enum ShedPolicy {
+    DropNewest,
+    DropOldest,
+    Block
+}
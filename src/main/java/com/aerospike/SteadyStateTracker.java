@@ -0,0 +1,312 @@
+package com.aerospike;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/*
+Tracks the throughput and latency of every second of a run and detects the steady-state window, which excludes
+the ramp-up at the start and the drain once the dispatchers stopped (where in-flight queries are aborted).
+    Reference -- The median throughput of the seconds while dispatching
+    Steady State -- From the first until the last second where StableSeconds consecutive seconds are within the tolerance of the reference
+The latencies of each second are kept compressed so the steady-state percentiles are exact.
+ */
+public final class SteadyStateTracker implements AutoCloseable {
+
+    //The allowed variation of a second's throughput from the reference (median) throughput
+    public static final double Tolerance = 0.10;
+    //The number of consecutive seconds within the tolerance that start and end the steady state (also the minimum window)
+    public static final int StableSeconds = 3;
+
+    /*
+    The measurements of a second.
+     */
+    public record Second(long successes,
+                         long errors,
+                         long p50NS,
+                         long p99NS,
+                         boolean dispatching,
+                         byte[] latency,
+                         byte[] correctedLatency) {}
+
+    /*
+    The steady-state window (zero based seconds from the start of the run, inclusive) and its metrics.
+     */
+    public record SteadyState(int startSecond,
+                              int endSecond,
+                              long successes,
+                              long errors,
+                              Histogram latency,
+                              Histogram correctedLatency) {
+        public int seconds() { return endSecond - startSecond + 1; }
+        public double callsPerSecond() { return (double) successes / seconds(); }
+    }
+
+    private final LongSupplier successCount;
+    private final LongSupplier errorCount;
+    private final Supplier<Histogram> latencySnapshot;
+    private final Supplier<Histogram> correctedSnapshot;
+    private final BooleanSupplier dispatching;
+    private final LogSource logger = LogSource.getInstance();
+    private final List<Second> seconds = new ArrayList<>();
+
+    private ScheduledExecutorService trackerExecutor = null;
+    private long lastSuccesses;
+    private long lastErrors;
+    private Histogram lastLatency;
+    private Histogram lastCorrected;
+    private SteadyState steadyState = null;
+    private boolean detected = false;
+
+    /*
+        successCount, errorCount -- The total number of successful and failed queries
+        latencySnapshot, correctedSnapshot -- Return all latencies (service time and corrected) recorded so far
+        dispatching -- True while queries are being dispatched
+     */
+    public SteadyStateTracker(LongSupplier successCount,
+                              LongSupplier errorCount,
+                              Supplier<Histogram> latencySnapshot,
+                              Supplier<Histogram> correctedSnapshot,
+                              BooleanSupplier dispatching) {
+        this.successCount = successCount;
+        this.errorCount = errorCount;
+        this.latencySnapshot = latencySnapshot;
+        this.correctedSnapshot = correctedSnapshot;
+        this.dispatching = dispatching;
+    }
+
+    /*
+    Returns the steady-state window (inclusive seconds) of the throughput series or null if not detected.
+    Only the leading seconds while dispatching are considered.
+     */
+    public static int[] DetectWindow(double[] throughput, boolean[] dispatching) {
+        int dispatchSeconds = 0;
+        while (dispatchSeconds < throughput.length && dispatching[dispatchSeconds]) {
+            dispatchSeconds++;
+        }
+        if(dispatchSeconds < StableSeconds) {
+            return null;
+        }
+        final double[] sorted = Arrays.copyOf(throughput, dispatchSeconds);
+        Arrays.sort(sorted);
+        final double reference = dispatchSeconds % 2 == 0
+                                    ? (sorted[dispatchSeconds / 2 - 1] + sorted[dispatchSeconds / 2]) / 2.0
+                                    : sorted[dispatchSeconds / 2];
+        if(reference <= 0) {
+            return null;
+        }
+        final boolean[] within = new boolean[dispatchSeconds];
+        for (int i = 0; i < dispatchSeconds; i++) {
+            within[i] = Math.abs(throughput[i] - reference) / reference <= Tolerance;
+        }
+
+        int start = -1;
+        for (int i = 0; i + StableSeconds <= dispatchSeconds && start < 0; i++) {
+            if(AllWithin(within, i, i + StableSeconds)) {
+                start = i;
+            }
+        }
+        int end = -1;
+        for (int i = dispatchSeconds; i - StableSeconds >= 0 && end < 0; i--) {
+            if(AllWithin(within, i - StableSeconds, i)) {
+                end = i - 1;
+            }
+        }
+        if(start < 0 || end - start + 1 < StableSeconds) {
+            return null;
+        }
+        return new int[] { start, end };
+    }
+
+    private static boolean AllWithin(boolean[] within, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if(!within[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public synchronized List<Second> getSeconds() { return List.copyOf(seconds); }
+
+    /*
+    Starts sampling every second.
+     */
+    public synchronized void Start() {
+        if(trackerExecutor != null) {
+            return;
+        }
+        InitBaseline();
+
+        trackerExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread thread = new Thread(r, "SteadyStateTracker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        trackerExecutor.scheduleAtFixedRate(this::Sample,
+                                            1,
+                                            1,
+                                            TimeUnit.SECONDS);
+    }
+
+    /*
+    Takes the current counts and latencies as the baseline of the first sample.
+    Called by Start, tests call it directly to drive Sample without the scheduled sampling.
+     */
+    synchronized void InitBaseline() {
+        lastSuccesses = successCount.getAsLong();
+        lastErrors = errorCount.getAsLong();
+        lastLatency = latencySnapshot.get();
+        lastCorrected = correctedSnapshot.get();
+    }
+
+    /*
+    Records the measurements of the last second.
+     */
+    public synchronized void Sample() {
+        try {
+            final boolean isDispatching = dispatching.getAsBoolean();
+            final long successes = successCount.getAsLong();
+            final long errors = errorCount.getAsLong();
+            final Histogram latency = latencySnapshot.get();
+            final Histogram corrected = correctedSnapshot.get();
+
+            final Histogram secondLatency = latency.copy();
+            secondLatency.subtract(lastLatency);
+            final Histogram secondCorrected = corrected.copy();
+            secondCorrected.subtract(lastCorrected);
+
+            seconds.add(new Second(successes - lastSuccesses,
+                                    errors - lastErrors,
+                                    secondLatency.getValueAtPercentile(50.0),
+                                    secondLatency.getValueAtPercentile(99.0),
+                                    isDispatching,
+                                    Compress(secondLatency),
+                                    Compress(secondCorrected)));
+            lastSuccesses = successes;
+            lastErrors = errors;
+            lastLatency = latency;
+            lastCorrected = corrected;
+        } catch (Exception e) {
+            logger.Print("SteadyStateTracker", e);
+        }
+    }
+
+    private static byte[] Compress(Histogram histogram) {
+        final ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        final int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        return Arrays.copyOf(buffer.array(), length);
+    }
+
+    private static void AddCompressed(Histogram target, byte[] compressed) throws Exception {
+        target.add(Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(compressed), 0));
+    }
+
+    /*
+    Returns the steady state or null if not detected.
+    While sampling, the steady state of the seconds sampled so far is returned. Once stopped, the result is kept.
+     */
+    public synchronized SteadyState getSteadyState() {
+        if(detected) {
+            return steadyState;
+        }
+        final SteadyState result = Detect();
+        if(trackerExecutor == null) {
+            detected = true;
+            steadyState = result;
+        }
+        return result;
+    }
+
+    private SteadyState Detect() {
+        final double[] throughput = new double[seconds.size()];
+        final boolean[] isDispatching = new boolean[seconds.size()];
+        for (int i = 0; i < throughput.length; i++) {
+            throughput[i] = seconds.get(i).successes();
+            isDispatching[i] = seconds.get(i).dispatching();
+        }
+        final int[] window = DetectWindow(throughput, isDispatching);
+        if(window == null) {
+            return null;
+        }
+        try {
+            final Histogram latency = new Histogram(lastLatency.getNumberOfSignificantValueDigits());
+            final Histogram corrected = new Histogram(lastCorrected.getNumberOfSignificantValueDigits());
+            long successes = 0;
+            long errors = 0;
+            for (int i = window[0]; i <= window[1]; i++) {
+                final Second second = seconds.get(i);
+                successes += second.successes();
+                errors += second.errors();
+                AddCompressed(latency, second.latency());
+                AddCompressed(corrected, second.correctedLatency());
+            }
+            return new SteadyState(window[0], window[1], successes, errors, latency, corrected);
+        } catch (Exception e) {
+            logger.Print("SteadyStateTracker", e);
+        }
+        return null;
+    }
+
+    /*
+    Prints the steady-state metrics next to the whole-run metrics.
+     */
+    public void PrintSummary(PrintStream printStream,
+                             double runCallsPerSecond,
+                             Histogram runLatency,
+                             Histogram runCorrectedLatency) {
+        final SteadyState steady = getSteadyState();
+        if(steady == null) {
+            printStream.printf("\tSteady State: Not Detected (%,d Seconds Tracked)%n", seconds.size());
+            return;
+        }
+        printStream.printf("\tSteady State: %s to %s (%,d of %,d Seconds)%n",
+                            Helpers.FmtDuration(Duration.ofSeconds(steady.startSecond())),
+                            Helpers.FmtDuration(Duration.ofSeconds(steady.endSecond() + 1)),
+                            steady.seconds(),
+                            seconds.size());
+        printStream.printf("\t\tMean QPS: %,.2f (Whole Run %,.2f)\tQueries: %,d\tErrors: %,d%n",
+                            steady.callsPerSecond(),
+                            runCallsPerSecond,
+                            steady.successes(),
+                            steady.errors());
+        printStream.printf("\t\tLatency: 50%% %,.3f ms\t90%% %,.3f ms\t99%% %,.3f ms\tMax %,.3f ms (Whole Run 99%% %,.3f ms)%n",
+                            steady.latency().getValueAtPercentile(50.0) / Helpers.NS_TO_MS,
+                            steady.latency().getValueAtPercentile(90.0) / Helpers.NS_TO_MS,
+                            steady.latency().getValueAtPercentile(99.0) / Helpers.NS_TO_MS,
+                            steady.latency().getMaxValue() / Helpers.NS_TO_MS,
+                            runLatency.getValueAtPercentile(99.0) / Helpers.NS_TO_MS);
+        printStream.printf("\t\tCorrected: 50%% %,.3f ms\t90%% %,.3f ms\t99%% %,.3f ms\tMax %,.3f ms (Whole Run 99%% %,.3f ms)%n",
+                            steady.correctedLatency().getValueAtPercentile(50.0) / Helpers.NS_TO_MS,
+                            steady.correctedLatency().getValueAtPercentile(90.0) / Helpers.NS_TO_MS,
+                            steady.correctedLatency().getValueAtPercentile(99.0) / Helpers.NS_TO_MS,
+                            steady.correctedLatency().getMaxValue() / Helpers.NS_TO_MS,
+                            runCorrectedLatency.getValueAtPercentile(99.0) / Helpers.NS_TO_MS);
+    }
+
+    /*
+    Stops sampling. The partial last second is not recorded.
+     */
+    @Override
+    public void close() {
+        final ScheduledExecutorService executor;
+        synchronized (this) {
+            executor = trackerExecutor;
+            trackerExecutor = null;
+        }
+        if(executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.aerospike;
+
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+Searches for the maximum sustainable throughput (QPS) that meets a Service Level Objective (SLO).
+The search grows the QPS exponentially (by the growth factor) until a probe fails the SLO and then
+performs a binary search between the last passing and the first failing QPS until the difference is within the resolution.
+A probe passes when:
+    The corrected latency (from the intended start) at the SLO percentile is at or under the SLO latency (if the SLO latency is greater than zero)
+    The error rate is at or under the SLO error percentage
+    The achieved QPS is within the QPS threshold percentage of the target QPS
+ */
+public final class ThroughputSearch {
+
+    /*
+    The result of a probe (one workload execution at a target QPS).
+     */
+    public record Probe(int targetQPS,
+                        double achievedQPS,
+                        double latencyMS,
+                        double errorPct,
+                        boolean passed,
+                        String reason) {}
+
+    private enum Phase { Growth, Binary, Done }
+
+    private final int maxQPS;
+    private final double growthFactor;
+    private final double resolutionPct;
+    private final double sloLatencyMS;
+    private final double sloPercentile;
+    private final double sloErrorPct;
+    private final double qpsPctThreshold;
+    private final List<Probe> probes = new ArrayList<>();
+
+    private Phase phase = Phase.Growth;
+    private int nextQPS;
+    private int bestQPS = 0;
+    private int failedQPS = 0;
+
+    public ThroughputSearch(int startQPS,
+                            int maxQPS,
+                            double growthFactor,
+                            double resolutionPct,
+                            double sloLatencyMS,
+                            double sloPercentile,
+                            double sloErrorPct,
+                            double qpsPctThreshold) {
+        this.nextQPS = Math.max(startQPS, 1);
+        this.maxQPS = maxQPS <= 0 ? Integer.MAX_VALUE : maxQPS;
+        this.growthFactor = growthFactor <= 1.0 ? 2.0 : growthFactor;
+        this.resolutionPct = resolutionPct;
+        this.sloLatencyMS = sloLatencyMS;
+        this.sloPercentile = sloPercentile;
+        this.sloErrorPct = sloErrorPct;
+        this.qpsPctThreshold = qpsPctThreshold;
+        if(this.nextQPS > this.maxQPS) {
+            this.nextQPS = this.maxQPS;
+        }
+    }
+
+    public ThroughputSearch(TinkerBenchArgs args) {
+        this(args.queriesPerSecond,
+                args.endQPS,
+                args.searchGrowthFactor,
+                args.searchResolutionPct,
+                args.sloLatencyMS,
+                args.sloPercentile,
+                args.sloErrorPct,
+                args.qpsThreshold);
+    }
+
+    public double getSLOPercentile() { return sloPercentile; }
+
+    /*
+    Returns the QPS of the next probe or -1 if the search is completed.
+     */
+    public int NextQPS() { return phase == Phase.Done ? -1 : nextQPS; }
+
+    public boolean isDone() { return phase == Phase.Done; }
+
+    /*
+    Returns the highest QPS that passed the SLO or zero if no probe passed.
+     */
+    public int getBestQPS() { return bestQPS; }
+
+    public List<Probe> getProbes() { return List.copyOf(probes); }
+
+    /*
+    Creates the probe result based on the workload's statistics.
+     */
+    public Probe Evaluate(int targetQPS,
+                          double achievedQPS,
+                          double latencyMS,
+                          long successCount,
+                          long errorCount) {
+        final long total = successCount + errorCount;
+        final double errorPct = total == 0 ? 0 : ((double) errorCount / total) * 100.0;
+        final double qpsPct = targetQPS <= 0 ? 100.0 : (achievedQPS / targetQPS) * 100.0;
+
+        String reason = null;
+        if(total == 0) {
+            reason = "No queries completed";
+        } else if(errorPct > sloErrorPct) {
+            reason = String.format("Error rate %.2f%% > %.2f%%", errorPct, sloErrorPct);
+        } else if(sloLatencyMS > 0 && latencyMS > sloLatencyMS) {
+            reason = String.format("%s%% latency %,.3f ms > %,.3f ms", FmtPercentile(sloPercentile), latencyMS, sloLatencyMS);
+        } else if(qpsPct < qpsPctThreshold) {
+            reason = String.format("QPS %.2f%% of target < %.2f%%", qpsPct, qpsPctThreshold);
+        }
+        return new Probe(targetQPS, achievedQPS, latencyMS, errorPct, reason == null, reason == null ? "" : reason);
+    }
+
+    /*
+    Records the probe result and determines the next probe.
+     */
+    public void Record(Probe probe) {
+        probes.add(probe);
+
+        if(probe.passed()) {
+            bestQPS = Math.max(bestQPS, probe.targetQPS());
+        } else if(failedQPS == 0 || probe.targetQPS() < failedQPS) {
+            failedQPS = probe.targetQPS();
+        }
+
+        if(phase == Phase.Growth) {
+            if(probe.passed()) {
+                if(probe.targetQPS() >= maxQPS) {
+                    phase = Phase.Done;
+                    return;
+                }
+                nextQPS = (int) Math.min(maxQPS, Math.max(probe.targetQPS() + 1L,
+                                                            Math.round(probe.targetQPS() * growthFactor)));
+                return;
+            }
+            phase = Phase.Binary;
+        }
+
+        final int step = Math.max(1, (int) Math.round(bestQPS * resolutionPct / 100.0));
+        if(failedQPS - bestQPS <= step) {
+            phase = Phase.Done;
+            return;
+        }
+        nextQPS = bestQPS + (failedQPS - bestQPS) / 2;
+    }
+
+    private static String FmtPercentile(double percentile) {
+        return BigDecimal.valueOf(percentile).stripTrailingZeros().toPlainString();
+    }
+
+    /*
+    Prints all probes (latency/throughput points) and the result.
+     */
+    public void PrintResults(PrintStream printStream) {
+        printStream.println("Throughput Search Summary:");
+        printStream.printf("\tSLO: %s%% Latency <= %s\tError Rate <= %.2f%%\tQPS >= %.2f%% of Target%n",
+                            FmtPercentile(sloPercentile),
+                            sloLatencyMS > 0 ? String.format("%,.3f ms", sloLatencyMS) : "(disabled)",
+                            sloErrorPct,
+                            qpsPctThreshold);
+        printStream.println("\tProbe\tTarget QPS\tAchieved QPS\tLatency (ms)\tErrors %\tResult");
+        int nbr = 1;
+        for (Probe probe : probes) {
+            printStream.printf("\t%d\t%,d\t\t%,.2f\t\t%,.3f\t\t%.2f\t\t%s%s%n",
+                                nbr++,
+                                probe.targetQPS(),
+                                probe.achievedQPS(),
+                                probe.latencyMS(),
+                                probe.errorPct(),
+                                probe.passed() ? "Pass" : "Fail",
+                                probe.passed() ? "" : " (" + probe.reason() + ")");
+        }
+        if(bestQPS > 0) {
+            printStream.printf("\tMaximum Sustainable QPS: %,d%s%n",
+                                bestQPS,
+                                failedQPS == 0 ? " (Maximum QPS reached)" : "");
+        } else {
+            printStream.println("\tMaximum Sustainable QPS: None (No probe met the SLO)");
+        }
+    }
+}
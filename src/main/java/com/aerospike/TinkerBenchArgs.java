@@ -49,15 +49,33 @@ public abstract class TinkerBenchArgs implements Callable<Integer> {
     CommandSpec commandlineSpec;
 
     @Parameters(paramLabel ="QueryNameOrGremlinString",
+                arity = "0..1",
                 description = "The Gremlin query string to run or a predefined Query. "
                                 + "%nIf the keyword 'List' is provided a list of predefined queries are displayed. "
                                 + "%nIf a query string is provided, and Id Vertices Manager (--IdManager) is enabled, "
                                 + "you can place a '%%s' or '%%d' as an vertices placeholder in the string. "
                                 + "%nExample:%n\t'g.V(%%d).out().limit(5).path().by(values('code','city').fold()).tolist()'"
                                 + "%n\tList -- List predefined queries"
-                                + "%n\tAirRoutesQuery1 -- Predefined query for the Air Routes dataset")
+                                + "%n\tAirRoutesQuery1 -- Predefined query for the Air Routes dataset"
+                                + "%nNot required if '--QueryMix', '--Session', or '--Scenario' is provided.")
     String queryNameOrString;
 
+    @Option(names = {"-mix", "--QueryMix"},
+            converter = QueryMixConverter.class,
+            description = "Executes a weighted mix of predefined queries and/or Gremlin strings in a single workload. Each query reports its own latency, counts, and OpenTelemetry labels.%nMust be in the form of '<Weight>:<QueryNameOrGremlinString>'. Weights are relative.%nMultiple queries are given by providing this option multiple times.%nExample:%n\t-mix 70:AirRoutesQuery1 -mix \"25:g.V(%%s).out().limit(5).toList()\" -mix 5:AirRoutesQuery2%nCannot be used with the QueryNameOrGremlinString argument.")
+    MixedQueryWorkloadProvider.Entry[] queryMix;
+
+    @Option(names = {"-session", "--Session"},
+            description = "Executes a session where each query is one logical transaction made of an ordered list of steps (predefined queries and/or Gremlin strings). Each step receives the values returned by the previous step.%nIn a Gremlin string, the values are bound to the variable 'prev'. A predefined query uses a value as its vertex id.%nA step that returns no values ends the session. Each step reports its own latency and counts, the workload latency is the end-to-end latency of the session.%nSteps are given, in order, by providing this option multiple times.%nExample:%n\t-session \"g.V(%%s).out('uses').id().toList()\" -session \"g.V(prev).valueMap().toList()\"%nCannot be used with the QueryNameOrGremlinString argument, '--QueryMix', or '--Scenario'.")
+    String[] session;
+
+    @Option(names = {"-scenario", "--Scenario"},
+            description = "A YAML or JSON scenario file describing a warmup, several stages (each with its own QPS, duration, query or query mix, rate profile, and arrival process), and a cool-down executed end-to-end in one run.%nThe graph connection, Id Manager, and compiled queries are reused across stages and a consolidated report is produced.%nThe command line values are used as the stage defaults.")
+    File scenarioFile;
+
+    //The loaded scenario file ('--Scenario')
+    Scenario scenario;
+
     @Option(names = {"-s", "--schedulers"},
             converter = SchedulerConverter.class,
             description = "The number of Schedulers to use. A value of -1 will use the default based on the number of cores. Default is ${DEFAULT-VALUE}")
@@ -68,6 +86,64 @@ public abstract class TinkerBenchArgs implements Callable<Integer> {
             description = "The number of working threads per scheduler. A value of -1 will use the default based on the number of cores. Default is ${DEFAULT-VALUE}")
     int workers;
 
+    @Option(names = {"-spin", "--SpinThreshold"},
+            description = "The time in microseconds before a query's dispatch time where a scheduler stops parking and spins until the dispatch time.%nLarger values improve dispatch accuracy but use more CPU. If zero, the scheduler only parks. Default is ${DEFAULT-VALUE}",
+            defaultValue = "100")
+    int spinThresholdUS;
+
+    @Option(names = {"-catchup", "--CatchUpPolicy"},
+            description = "How a scheduler catches up once it has fallen behind its schedule (missed dispatch slots).%n\tBurst -- Missed slots are dispatched immediately%n\tSkip -- Missed slots are dropped%n\tSpread -- Missed slots are dispatched at twice the rate until back on schedule%nDefault is ${DEFAULT-VALUE}",
+            defaultValue = "Burst")
+    CatchUpPolicy catchUpPolicy;
+
+    @Option(names = {"-vt", "--VirtualThreads"},
+            description = "If provided, each query is executed on its own virtual thread instead of the fixed pool of workers ('--workers' is ignored).%nThe number of in-flight queries can be bounded by '--MaxInFlight'.")
+    boolean virtualThreads;
+
+    @Option(names = {"-async", "--Async"},
+            description = "If provided, queries are submitted asynchronously by the schedulers using the driver's non-blocking API and the latency is recorded upon completion.%nQueries that don't support asynchronous execution use the workers.%nThe number of in-flight queries can be bounded by '--MaxInFlight'.")
+    boolean asyncMode;
+
+    @Option(names = {"-inflight", "--MaxInFlight"},
+            description = "The maximum number of in-flight queries when '--VirtualThreads' or '--Async' is enabled. With virtual threads, queries waiting for a permit are reported as queue wait. With async submission, the schedulers don't wait and a query without a permit is shed. Unbounded if zero. Default is ${DEFAULT-VALUE}",
+            defaultValue = "0")
+    int maxInFlight;
+
+    @Option(names = {"-mq", "--MaxQueued"},
+            description = "The maximum number of queries waiting for a worker. Once reached, the '--ShedPolicy' is applied and shed queries are reported as their own outcome.%nWith '--Async', only applies to queries that use the workers (use '--MaxInFlight'). Unbounded if zero. Default is ${DEFAULT-VALUE}",
+            defaultValue = "0")
+    int maxQueued;
+
+    @Option(names = {"-shed", "--ShedPolicy"},
+            description = "What happens to a dispatched query once '--MaxQueued' queries are waiting for a worker.%n\tDropNewest -- The dispatched query is shed%n\tDropOldest -- The oldest waiting query is shed%n\tBlock -- The dispatcher waits until the query can be queued%nDefault is ${DEFAULT-VALUE}",
+            defaultValue = "DropNewest")
+    ShedPolicy shedPolicy;
+
+    @Option(names = {"-aw", "--AdaptiveWorkers"},
+            description = "If provided, the number of workers is adjusted during the run based on the measured queue depth and service time (Little's law).%n'--workers' is the starting number of workers and the recommended static number of workers is reported in the summary.")
+    boolean adaptiveWorkers;
+
+    @Option(names = {"-qt", "--QueryTimeout"},
+            description = "The client-side deadline in milliseconds of each query. A query exceeding the deadline is canceled and reported as a timeout (not an error).%nDisabled if zero. Default is ${DEFAULT-VALUE}",
+            defaultValue = "0")
+    int queryTimeoutMS;
+
+    @Option(names = {"-ctl", "--ControlPort"},
+            description = "If provided, a local (loopback only) HTTP control endpoint is started on this port which can change the target QPS, pause and resume dispatching, change the Query Mix weights, and obtain a summary snapshot of the running workload.%nDisabled if zero. Default is ${DEFAULT-VALUE}",
+            defaultValue = "0")
+    int controlPort;
+
+    @Option(names = {"-awmax", "--MaxWorkers"},
+            description = "The maximum number of workers when '--AdaptiveWorkers' is enabled. If zero, ten times '--workers' is used. Default is ${DEFAULT-VALUE}",
+            defaultValue = "0")
+    int maxWorkers;
+
+    @Option(names = {"-awint", "--AdaptiveWorkersInterval"},
+            converter = DurationConverter.class,
+            description = "The time between worker adjustments when '--AdaptiveWorkers' is enabled. Default is ${DEFAULT-VALUE}",
+            defaultValue = "2S")
+    Duration adaptiveWorkersInterval;
+
     @Option(names = {"-d", "--duration"},
             converter = DurationConverter.class,
             description = "The Time duration (wall clock) of the actual workload execution.%nThe format can be in Hour(s)|H|Hr(s), Minute(s)|M|Min(s), and/or Second(s)|S|Sec(s), ISO 8601 format (PT1H2M3.5S), or just an integer value which represents seconds.%nExample:%n\t1h30s -> One hours and 30 seconds%n\t45 -> 45 seconds...%nDefault is ${DEFAULT-VALUE}",
@@ -89,6 +165,60 @@ public abstract class TinkerBenchArgs implements Callable<Integer> {
             defaultValue = "1000")
     int endQPS;
 
+    @Option(names = {"-profile", "--RateProfile"},
+            converter = RateProfileConverter.class,
+            description = "Changes the target QPS continuously during the workload based on the '--QueriesPerSec' value (base QPS). The warmup always uses the base QPS.%nMust be in the form of:%n\tramp:<EndQPS> -- Linear ramp from base QPS to EndQPS over the duration%n\tstaircase:<StepQPS>:<StepDuration> -- Increases by StepQPS every StepDuration%n\tsine:<AmplitudeQPS>:<Period> -- base QPS +/- AmplitudeQPS over Period%n\tspike:<SpikeQPS>:<Every>:<Length> -- SpikeQPS for Length at the end of every Every interval%nExample:%n\t-profile sine:500:5m%nDisabled if not provided.")
+    RateProfile rateProfile;
+
+    @Option(names = {"-arrival", "--ArrivalProcess"},
+            converter = ArrivalProcessConverter.class,
+            description = "The distribution of the time between query dispatches. The target (mean) QPS is maintained.%n\tuniform -- Fixed intervals%n\tpoisson -- Exponential intervals (Poisson process)%n\tonoff:<OnDuration>:<OffDuration> -- Poisson during On and idle during Off%n\thyperexp:<CV> -- Hyper-exponential (bursty) intervals with a coefficient of variation of CV (> 1)%nDefault is ${DEFAULT-VALUE}",
+            defaultValue = "uniform")
+    ArrivalProcess arrivalProcess;
+
+    @Option(names = {"-seed", "--ArrivalSeed"},
+            description = "The random seed used by the '--ArrivalProcess' so that the arrivals can be reproduced. If not provided, a random seed is used and reported in the summary.")
+    Long arrivalSeed;
+
+    @Option(names = {"-search", "--SearchThroughput"},
+            description = "If provided, searches for the maximum sustainable QPS that meets the SLO ('--SLOLatency', '--SLOErrorPct', and '--QPSPctThreshold').%nThe QPS starts at '--QueriesPerSec' and grows by '--SearchGrowthFactor' until the SLO is not met, then a binary search is performed up to '--EndQueriesPerSec' (unbounded if zero).%nEach probe runs for '--duration'.")
+    boolean searchThroughput;
+
+    @Option(names = {"-sgrowth", "--SearchGrowthFactor"},
+            description = "The factor the QPS is multiplied by between probes until the SLO is not met. Must be greater than one. Default is ${DEFAULT-VALUE}",
+            defaultValue = "2")
+    double searchGrowthFactor;
+
+    @Option(names = {"-sres", "--SearchResolution"},
+            description = "The search ends once the difference between the passing and failing QPS is within this percentage of the passing QPS. Default is ${DEFAULT-VALUE}",
+            defaultValue = "5")
+    double searchResolutionPct;
+
+    @Option(names = {"-slo", "--SLOLatency"},
+            description = "The SLO's maximum corrected latency in milliseconds at the '--SLOPercentile'. Disabled if zero. Default is ${DEFAULT-VALUE}",
+            defaultValue = "0")
+    double sloLatencyMS;
+
+    @Option(names = {"-slopct", "--SLOPercentile"},
+            description = "The latency percentile used by the SLO. Default is ${DEFAULT-VALUE}",
+            defaultValue = "99")
+    double sloPercentile;
+
+    @Option(names = {"-sloerr", "--SLOErrorPct"},
+            description = "The SLO's maximum error rate percentage. Default is ${DEFAULT-VALUE}",
+            defaultValue = "1")
+    double sloErrorPct;
+
+    @Option(names = {"-cl", "--ClosedLoop"},
+            description = "The number of clients used by the closed-loop mode. Each client executes queries back-to-back (waiting the think time between queries) and the achieved QPS is reported.%nIn this mode, the QPS arguments and schedulers are ignored. Disabled if zero. Default is ${DEFAULT-VALUE}",
+            defaultValue = "0")
+    int closedLoopClients;
+
+    @Option(names = {"-think", "--ThinkTime"},
+            description = "The time in milliseconds a closed-loop client waits after a query completes before executing the next query. Default is ${DEFAULT-VALUE}",
+            defaultValue = "0")
+    int thinkTimeMS;
+
     @Option(names = {"-qpspct", "--QPSPctThreshold"},
             description = "The QPS rate threshold percentage between actual and target QPS.%n"
                             + "If this percentage is not met, the test is considered failed.%n"
@@ -124,6 +254,26 @@ public abstract class TinkerBenchArgs implements Callable<Integer> {
             defaultValue = "30s")
     Duration warmupDuration;
 
+    @Option(names = {"-wua", "--AdaptiveWarmup"},
+            description = "If provided, the warmup ends once the throughput and the 50% and 99% latencies are within '--WarmupTolerance' over '--WarmupWindows' consecutive windows.%n'--WarmupDuration' is the maximum warmup duration.")
+    boolean adaptiveWarmup;
+
+    @Option(names = {"-wuw", "--WarmupWindow"},
+            converter = DurationConverter.class,
+            description = "The duration of each measurement window when '--AdaptiveWarmup' is enabled. Default is ${DEFAULT-VALUE}",
+            defaultValue = "5S")
+    Duration warmupWindow;
+
+    @Option(names = {"-wuc", "--WarmupWindows"},
+            description = "The number of consecutive windows that must be within the tolerance when '--AdaptiveWarmup' is enabled. Default is ${DEFAULT-VALUE}",
+            defaultValue = "3")
+    int warmupWindows;
+
+    @Option(names = {"-wut", "--WarmupTolerance"},
+            description = "The allowed variation (percent) of the throughput and latencies over the consecutive windows when '--AdaptiveWarmup' is enabled. Default is ${DEFAULT-VALUE}",
+            defaultValue = "10")
+    double warmupTolerancePct;
+
     @Option(names = {"-g", "-t", "--gremlin"},
             converter = GraphConfigOptionsConverter.class,
             split = ",",
@@ -204,6 +354,21 @@ public abstract class TinkerBenchArgs implements Callable<Integer> {
             description = "If provided, the HdrHistogram Latency format is printed to the console.")
     public boolean hdrHistFmt;
 
+    @Option(names = {"-hp", "--HistogramPrecision"},
+            description = "The number of significant value digits (0-5) of the latency histograms. The histograms resize automatically so large values are not clipped. Higher precision uses more memory. Default is ${DEFAULT-VALUE}",
+            defaultValue = "3")
+    int histogramPrecision;
+
+    @Option(names = {"-hlog", "--HistogramLog"},
+            description = "If provided, interval latency histograms are written to this file in the HdrHistogram log format.%n\tThe warmup and each QPS increment are written to their own file (e.g., run-warmup.hlog, run-1000qps.hlog).%n\tDefault is ${DEFAULT-VALUE}")
+    String histogramLogPath;
+
+    @Option(names = {"-hlogi", "--HistogramLogInterval"},
+            converter = DurationConverter.class,
+            description = "The interval between histograms written to the '--HistogramLog' file. Default is ${DEFAULT-VALUE}",
+            defaultValue = "10S")
+    Duration histogramLogInterval;
+
     @Option(names = "-background",
             //negatable  = false,
             description = "If provided, certain console output (e.g., progression bar) is suppressed.")
@@ -421,6 +586,27 @@ public abstract class TinkerBenchArgs implements Callable<Integer> {
         }
     }
 
+    static final class RateProfileConverter implements CommandLine.ITypeConverter<RateProfile> {
+        @Override
+        public RateProfile convert(String value) throws IllegalArgumentException {
+            return RateProfile.Parse(value);
+        }
+    }
+
+    static final class QueryMixConverter implements CommandLine.ITypeConverter<MixedQueryWorkloadProvider.Entry> {
+        @Override
+        public MixedQueryWorkloadProvider.Entry convert(String value) throws IllegalArgumentException {
+            return MixedQueryWorkloadProvider.Entry.Parse(value);
+        }
+    }
+
+    static final class ArrivalProcessConverter implements CommandLine.ITypeConverter<ArrivalProcess> {
+        @Override
+        public ArrivalProcess convert(String value) throws IllegalArgumentException {
+            return ArrivalProcess.Parse(value);
+        }
+    }
+
     static final class IdManagerConverter implements CommandLine.ITypeConverter<IdManager> {
         @Override
         public IdManager convert(String value) throws IllegalArgumentException {
@@ -521,6 +707,52 @@ public abstract class TinkerBenchArgs implements Callable<Integer> {
 
         inBackgroundMode = this.backgroundMode;
 
+        if(scenarioFile != null) {
+            if(!scenarioFile.exists()) {
+                throw new CommandLine.ParameterException(commandlineSpec.commandLine(),
+                        "File " + scenarioFile + " doesn't exist for option 'Scenario'");
+            }
+            try {
+                scenario = Scenario.Load(scenarioFile, this);
+            } catch (IOException | IllegalArgumentException e) {
+                throw new CommandLine.ParameterException(commandlineSpec.commandLine(),
+                        e.getMessage());
+            }
+            if(searchThroughput || incrQPS > 0) {
+                throw new CommandLine.ParameterException(commandlineSpec.commandLine(),
+                        "Argument 'Scenario' cannot be used with 'Search Throughput' or 'QPS Incremental'.");
+            }
+            if(missing(queryNameOrString) && queryMix == null) {
+                final Scenario.Stage first = scenario.getStages().get(0);
+                queryNameOrString = first.mix() == null ? first.query() : MixedQueryWorkloadProvider.MixName;
+                queryMix = first.mix();
+            }
+        }
+
+        if(queryMix != null && queryMix.length > 0) {
+            if(!missing(queryNameOrString) && !MixedQueryWorkloadProvider.MixName.equals(queryNameOrString)) {
+                throw new CommandLine.ParameterException(commandlineSpec.commandLine(),
+                        "Argument 'Query Mix' cannot be used with a Query string or Query Name ('queryNameOrString')");
+            }
+            queryNameOrString = MixedQueryWorkloadProvider.MixName;
+        }
+
+        if(session != null && session.length > 0) {
+            if(queryMix != null || scenario != null) {
+                throw new CommandLine.ParameterException(commandlineSpec.commandLine(),
+                        "Argument 'Session' cannot be used with 'Query Mix' or 'Scenario'");
+            }
+            if(!missing(queryNameOrString) && !SessionWorkloadProvider.SessionName.equals(queryNameOrString)) {
+                throw new CommandLine.ParameterException(commandlineSpec.commandLine(),
+                        "Argument 'Session' cannot be used with a Query string or Query Name ('queryNameOrString')");
+            }
+            if(Arrays.stream(session).anyMatch(this::missing)) {
+                throw new CommandLine.ParameterException(commandlineSpec.commandLine(),
+                        "Argument 'Session' steps cannot be empty");
+            }
+            queryNameOrString = SessionWorkloadProvider.SessionName;
+        }
+
         if(missing(queryNameOrString)){
             throw new CommandLine.ParameterException(commandlineSpec.commandLine(),
                     "Argument Query string or Query Name ('queryNameOrString') cannot be null");
@@ -536,6 +768,25 @@ public abstract class TinkerBenchArgs implements Callable<Integer> {
                     "Argument warmup cannot be negative.");
         }
 
+        if(adaptiveWarmup) {
+            if(warmupDuration.isZero()) {
+                throw new CommandLine.ParameterException(commandlineSpec.commandLine(),
+                        "Argument 'Adaptive Warmup' requires a warmup duration (maximum).");
+            }
+            if(warmupWindow == null || warmupWindow.toMillis() <= 0) {
+                throw new CommandLine.ParameterException(commandlineSpec.commandLine(),
+                        "Argument 'Warmup Window' must be greater than zero.");
+            }
+            if(warmupWindows < 2) {
+                throw new CommandLine.ParameterException(commandlineSpec.commandLine(),
+                        "Argument 'Warmup Windows' must be at least 2.");
+            }
+            if(warmupTolerancePct <= 0) {
+                throw new CommandLine.ParameterException(commandlineSpec.commandLine(),
+                        "Argument 'Warmup Tolerance' must be greater than zero.");
+            }
+        }
+
         if(closeWaitDuration.isZero() || closeWaitDuration.isNegative()) {
             throw new CommandLine.ParameterException(commandlineSpec.commandLine(),
                     "Argument Close Wait cannot be zero or negative.");
@@ -566,6 +817,108 @@ public abstract class TinkerBenchArgs implements Callable<Integer> {
                     "Argument 'QPS Incremental' cannot be negative.");
         }
 
+        if(spinThresholdUS < 0) {
+            throw new CommandLine.ParameterException(commandlineSpec.commandLine(),
+                    "Argument 'Spin Threshold' cannot be negative.");
+        }
+
+        if(closedLoopClients < 0) {
+            throw new CommandLine.ParameterException(commandlineSpec.commandLine(),
+                    "Argument 'Closed Loop' clients cannot be negative.");
+        }
+
+        if(thinkTimeMS < 0) {
+            throw new CommandLine.ParameterException(commandlineSpec.commandLine(),
+                    "Argument 'Think Time' cannot be negative.");
+        }
+
+        if(closedLoopClients > 0 && incrQPS > 0) {
+            throw new CommandLine.ParameterException(commandlineSpec.commandLine(),
+                    "Argument 'Closed Loop' cannot be used with 'QPS Incremental'.");
+        }
+
+        if(searchThroughput) {
+            if(closedLoopClients > 0 || incrQPS > 0) {
+                throw new CommandLine.ParameterException(commandlineSpec.commandLine(),
+                        "Argument 'Search Throughput' cannot be used with 'Closed Loop' or 'QPS Incremental'.");
+            }
+            if(searchGrowthFactor <= 1.0) {
+                throw new CommandLine.ParameterException(commandlineSpec.commandLine(),
+                        "Argument 'Search Growth Factor' must be greater than one.");
+            }
+            if(searchResolutionPct <= 0) {
+                throw new CommandLine.ParameterException(commandlineSpec.commandLine(),
+                        "Argument 'Search Resolution' must be greater than zero.");
+            }
+            if(sloLatencyMS < 0 || sloErrorPct < 0) {
+                throw new CommandLine.ParameterException(commandlineSpec.commandLine(),
+                        "Arguments 'SLO Latency' and 'SLO Error Pct' cannot be negative.");
+            }
+            if(sloPercentile <= 0 || sloPercentile > 100) {
+                throw new CommandLine.ParameterException(commandlineSpec.commandLine(),
+                        "Argument 'SLO Percentile' must be greater than zero and less than or equal to 100.");
+            }
+        }
+
+        if(closedLoopClients > 0 && rateProfile != null) {
+            throw new CommandLine.ParameterException(commandlineSpec.commandLine(),
+                    "Argument 'Closed Loop' cannot be used with 'Rate Profile'.");
+        }
+
+        if(maxInFlight < 0) {
+            throw new CommandLine.ParameterException(commandlineSpec.commandLine(),
+                    "Argument 'Max In-Flight' cannot be negative.");
+        }
+
+        if(maxQueued < 0) {
+            throw new CommandLine.ParameterException(commandlineSpec.commandLine(),
+                    "Argument 'Max Queued' cannot be negative.");
+        }
+        if(maxQueued > 0 && (virtualThreads || closedLoopClients > 0)) {
+            throw new CommandLine.ParameterException(commandlineSpec.commandLine(),
+                    "Argument 'Max Queued' cannot be used with 'Virtual Threads' or 'Closed Loop'.");
+        }
+
+        if(queryTimeoutMS < 0) {
+            throw new CommandLine.ParameterException(commandlineSpec.commandLine(),
+                    "Argument 'Query Timeout' cannot be negative.");
+        }
+
+        if(controlPort < 0 || controlPort > 65535) {
+            throw new CommandLine.ParameterException(commandlineSpec.commandLine(),
+                    "Argument 'Control Port' must be between 0 and 65535.");
+        }
+
+        if(adaptiveWorkers) {
+            if(virtualThreads || closedLoopClients > 0) {
+                throw new CommandLine.ParameterException(commandlineSpec.commandLine(),
+                        "Argument 'Adaptive Workers' cannot be used with 'Virtual Threads' or 'Closed Loop'.");
+            }
+            if(maxWorkers < 0) {
+                throw new CommandLine.ParameterException(commandlineSpec.commandLine(),
+                        "Argument 'Max Workers' cannot be negative.");
+            }
+            if(maxWorkers > 0 && maxWorkers < workers) {
+                throw new CommandLine.ParameterException(commandlineSpec.commandLine(),
+                        String.format("Argument 'Max Workers' (%d) cannot be less than 'Workers' (%d).", maxWorkers, workers));
+            }
+            if(adaptiveWorkersInterval == null || adaptiveWorkersInterval.toMillis() <= 0) {
+                throw new CommandLine.ParameterException(commandlineSpec.commandLine(),
+                        "Argument 'Adaptive Workers Interval' must be greater than zero.");
+            }
+        }
+
+        if(histogramPrecision < 0 || histogramPrecision > 5) {
+            throw new CommandLine.ParameterException(commandlineSpec.commandLine(),
+                    "Argument 'Histogram Precision' must be between 0 and 5.");
+        }
+
+        if(histogramLogPath != null
+                && (histogramLogInterval == null || histogramLogInterval.toMillis() <= 0)) {
+            throw new CommandLine.ParameterException(commandlineSpec.commandLine(),
+                    "Argument 'Histogram Log Interval' must be greater than zero.");
+        }
+
         if(qpsThreshold < 0) {
             throw new CommandLine.ParameterException(commandlineSpec.commandLine(),
                     "Argument 'QPS Threshold' cannot be negative.");
@@ -588,7 +941,14 @@ public abstract class TinkerBenchArgs implements Callable<Integer> {
                     "File " + clusterConfigurationFile + " doesn't exist for option 'clusterBuildConfigFile'");
         }
 
-        if(queryNameOrString.startsWith("TestRun")) {
+        if(queryNameOrString.startsWith("TestRun")
+                || (queryMix != null
+                        && queryMix.length > 0
+                        && Arrays.stream(queryMix).allMatch(m -> m.query().startsWith("TestRun")))
+                || (session != null
+                        && session.length > 0
+                        && Arrays.stream(session).allMatch(q -> q.trim().startsWith("TestRun")))
+                || (scenario != null && scenario.isTestRun())) {
             appTestMode=true;
         }
 
@@ -55,6 +55,16 @@ public interface WorkloadProvider extends AutoCloseable {
      */
     long getErrorCount();
 
+    /*
+    The number of queries canceled because they exceeded the deadline. Not included in the error count.
+     */
+    long getTimeoutCount();
+
+    /*
+    The number of queries dropped (shed) because the worker queue was full. Not included in the error count.
+     */
+    long getShedCount();
+
     /*
     The collection of errors encountered.
      */
@@ -100,6 +110,11 @@ public interface WorkloadProvider extends AutoCloseable {
      */
     double getErrorsPerSecond();
 
+    /*
+    Returns the Coordinated Omission corrected latency (measured from the intended dispatch time) at the provided Percentile in MS
+     */
+    double getCorrectedLatencyMSAtPercentile(double desiredPercentile);
+
     OpenTelemetry getOpenTelemetry();
 
     TinkerBenchArgs getCliArgs();
@@ -7,15 +7,27 @@ import org.javatuples.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
 import java.util.Vector;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 import java.util.stream.Collectors;
 
 public final class WorkloadProviderScheduler implements WorkloadProvider {
@@ -24,17 +36,36 @@ public final class WorkloadProviderScheduler implements WorkloadProvider {
 
     private final int schedulers;
     private final int workers;
-    private final ExecutorService schedulerPool;
-    private final ExecutorService workerPool;
-    private final CountDownLatch shutdownLatch = new CountDownLatch(1);
-
-    private final Duration targetRunDuration;
+    //The number of closed-loop clients (zero if open-loop)
+    private final int closedLoopClients;
+    private final long thinkTimeNS;
+    //The pools are reused between workloads (see Reset) and only recreated if they were forced to shut down
+    private ExecutorService schedulerPool;
+    private ExecutorService workerPool;
+    //Bounds the number of in-flight queries when using virtual threads (null if unbounded)
+    private final Semaphore inFlightPermits;
+    //Signaled once the first dispatcher (or closed-loop client) completes
+    private volatile CountDownLatch runLatch = new CountDownLatch(1);
+    //The number of dispatchers (or closed-loop clients) still running
+    private final AtomicInteger activeDispatchers = new AtomicInteger();
+    //Incremented on every Reset so calls dispatched by a prior workload are never executed
+    private volatile int runGeneration = 0;
+
+    private Duration targetRunDuration;
     private final Duration shutdownTimeout;
-    private final AtomicLong pendingCount = new AtomicLong();
-    private final AtomicLong abortedCount = new AtomicLong();
-    private final AtomicLong successfulDuration = new AtomicLong();
-    private final AtomicLong errorDuration = new AtomicLong();
-    private final AtomicLong errorCount = new AtomicLong();
+    //Striped counters, workers update these concurrently and they are summed on read
+    private final LongAdder pendingCount = new LongAdder();
+    private final LongAdder abortedCount = new LongAdder();
+    //Queries dropped because the worker queue was full ('--MaxQueued')
+    private final LongAdder shedCount = new LongAdder();
+    private final LongAdder successCount = new LongAdder();
+    private final LongAdder successfulDuration = new LongAdder();
+    private final LongAdder errorDuration = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+    private final LongAdder timeoutCount = new LongAdder();
+    //The running QPS passed to OpenTelemetry. Refreshed at most once a second so it isn't calculated on every call.
+    private volatile double runningCallsPerSecond;
+    private volatile long runningCallsPerSecondNanos;
 
     private final AtomicBoolean abortRun;
     private final AtomicBoolean terminateRun;
@@ -46,16 +77,68 @@ public final class WorkloadProviderScheduler implements WorkloadProvider {
     private final AtomicBoolean summaryPrinted = new AtomicBoolean();
     private final int errorThreshold;
     private final int qpsThreshold;
-    private final Boolean warmup;
-    private final Boolean ranwarmup;
-    private final Histogram histogram;
+    private Boolean warmup;
+    private Boolean ranwarmup;
+    //Service time (worker start to completion of QueryRunnable.call())
+    private LatencyRecorder histogram;
+    //Time spent waiting in the worker pool queue (dispatch to worker start)
+    private LatencyRecorder queueWaitHistogram;
+    //Latency measured from the intended dispatch time (Coordinated Omission corrected)
+    private LatencyRecorder correctedHistogram;
     //The number Of Significant Digits used to report latency
     private static final int numberOfSignificantValueDigits = 3;
     private static final double numberOfSignificantDigitsScale = Math.pow(10, numberOfSignificantValueDigits);
-    private final Histogram queueDepthTracker;
-
-    private final Vector<Exception> errors = new Vector<>();
-    private final int callsPerSecond;
+    //The number Of Significant Digits of the auto-resizing histograms ('--HistogramPrecision')
+    private final int histogramPrecision;
+    private LatencyRecorder queueDepthTracker;
+    //The expected maximum queue depth. Exceeding it indicates overload and is reported, the run continues.
+    private long queueDepthSoftLimit;
+    private final LongAdder queueDepthOverLimit = new LongAdder();
+    private final AtomicBoolean queueDepthWarned = new AtomicBoolean();
+    //The time from the start of the call until the timeout was detected of the queries that exceeded the deadline
+    private LatencyRecorder timeoutHistogram;
+    //The per-query client-side deadline ('--QueryTimeout'). Zero if disabled.
+    private final long queryTimeoutNS;
+    //The calls being executed, checked by the deadline watchdog (only used if a deadline is defined)
+    private final Set<Handler> inFlightCalls = ConcurrentHashMap.newKeySet();
+    private ScheduledExecutorService deadlineWatchdog = null;
+    //The state of a call. Only the thread that changes the state from CallRunning records the outcome.
+    private static final int CallRunning = 0;
+    private static final int CallCompleted = 1;
+    private static final int CallTimedOut = 2;
+    private static final AtomicIntegerFieldUpdater<Handler> CallState
+            = AtomicIntegerFieldUpdater.newUpdater(Handler.class, "callState");
+    //The difference between the actual and intended dispatch time (schedule lag) per scheduler
+    private final Histogram[] scheduleLagHistograms;
+    //The number of dispatch slots missed (dispatched late by more than an interval or skipped) per scheduler
+    private final AtomicLongArray missedSlots;
+    private final CatchUpPolicy catchUpPolicy;
+    //Applied once the bounded worker queue is full. Only used if '--MaxQueued' is provided.
+    private final ShedPolicy shedPolicy;
+    //The CPU time consumed by all dispatchers
+    private final AtomicLong dispatcherCPUTime = new AtomicLong();
+    //A dispatcher parks until it is within this time of the next dispatch and then spins
+    private final long spinThresholdNS;
+
+    private ErrorAggregator errors;
+    //Can be changed during the run by the runtime control (see setTargetQPS)
+    private volatile int callsPerSecond;
+    //Incremented when the target QPS is changed during the run so the dispatchers recalculate their interval
+    private volatile int rateVersion = 0;
+    //True if dispatching is paused by the runtime control
+    private volatile boolean paused = false;
+    private volatile long pauseStartNanos = 0;
+    private final AtomicLong pausedNanos = new AtomicLong();
+    //The number of runtime control changes (QPS, pause, or weights) during the current run
+    private final AtomicInteger controlChanges = new AtomicInteger();
+    //A dispatcher parks for this time while paused
+    private static final long PauseParkNS = TimeUnit.MILLISECONDS.toNanos(5);
+    //Null if the target QPS is constant
+    private RateProfile rateProfile;
+    private ArrivalProcess arrivalProcess;
+    private final long arrivalSeed;
+    //The intended time between dispatches per scheduler (realized arrival distribution)
+    private final Histogram[] arrivalIntervalHistograms;
     private final OpenTelemetry openTelemetry;
     private final TinkerBenchArgs cliArgs;
     private final Boolean hdrHistFmt;
@@ -66,9 +149,30 @@ public final class WorkloadProviderScheduler implements WorkloadProvider {
 
     private final Thread shutdownThread;
 
+    /*
+    The statistics of a Query Mix member.
+     */
+    public record MixMemberStats(String name,
+                                 double weightPct,
+                                 LatencyRecorder histogram,
+                                 LongAdder successCount,
+                                 LongAdder errorCount) {}
+
     private WorkloadStatus status;
     private Progressbar progressbar = null;
+    private HistogramIntervalLog histogramLog = null;
+    //Not null if the workers are adjusted during the run ('--AdaptiveWorkers')
+    private AdaptiveWorkerSizer workerSizer = null;
+    //Ends the warmup once converged ('--AdaptiveWarmup'). Null if not a warmup or not enabled.
+    private AdaptiveWarmup adaptiveWarmup = null;
+    //Tracks the throughput and latency of every second to detect the steady state. Null for a warmup or a rate profile.
+    private SteadyStateTracker steadyStateTracker = null;
+    //If not null, the run ended before the duration was reached (e.g., the warmup converged)
+    private volatile String earlyStopReason = null;
     private QueryRunnable queryRunnable = null;
+    //Not null if the query is a Query Mix
+    private MixedQueryWorkloadProvider queryMix = null;
+    private MixMemberStats[] mixMemberStats = new MixMemberStats[0];
 
     private LocalDateTime startDateTime = null;
     private long startTimeNanos = 0;
@@ -94,51 +198,38 @@ public final class WorkloadProviderScheduler implements WorkloadProvider {
                                     ? cliArgs.duration
                                     : targetRunDuration;
         this.callsPerSecond = qps <= 0 ? cliArgs.queriesPerSecond : qps;
+        this.arrivalSeed = cliArgs.arrivalSeed == null
+                                ? new SplittableRandom().nextLong()
+                                : cliArgs.arrivalSeed;
         this.shutdownTimeout = cliArgs.shutdownTimeout;
         this.schedulers = cliArgs.schedulers;
         this.workers = cliArgs.workers;
+        this.closedLoopClients = cliArgs.closedLoopClients;
+        this.thinkTimeNS = TimeUnit.MILLISECONDS.toNanos(cliArgs.thinkTimeMS);
+        this.queryTimeoutNS = TimeUnit.MILLISECONDS.toNanos(cliArgs.queryTimeoutMS);
+        this.histogramPrecision = cliArgs.histogramPrecision;
+        this.spinThresholdNS = TimeUnit.MICROSECONDS.toNanos(cliArgs.spinThresholdUS);
+        this.catchUpPolicy = cliArgs.catchUpPolicy == null
+                                ? CatchUpPolicy.Burst
+                                : cliArgs.catchUpPolicy;
+        this.missedSlots = new AtomicLongArray(this.schedulers);
+        this.shedPolicy = cliArgs.shedPolicy == null
+                                ? ShedPolicy.DropNewest
+                                : cliArgs.shedPolicy;
         this.openTelemetry = openTelemetry == null ? new OpenTelemetryDummy() : openTelemetry;
         this.cliArgs = cliArgs;
         this.warmup = isWarmup;
         this.ranwarmup = ranWarmUp;
+        this.scheduleLagHistograms = new Histogram[this.schedulers];
+        this.arrivalIntervalHistograms = new Histogram[this.schedulers];
 
-        {
-            // A Histogram covering the range from 1 nano to Trackable duration (max latency per query) with 3 digits resolution:
-            // All latency reported must be in ns resolution
-            final Duration higestTrackableDuration = Duration.ofSeconds((this.targetRunDuration.toSeconds()/this.callsPerSecond) + 5);
-            this.histogram = new AtomicHistogram(higestTrackableDuration.toNanos(), numberOfSignificantValueDigits);
-            if(log.isDebugEnabled()) {
-                logger.PrintDebug("WorkloadProviderScheduler",
-                        "AtomicHistogram latency highestTrackableValue: %,d%n\tnumberOfSignificantValueDigits: %d%n\tFoot print: %,d (bytes)",
-                        this.histogram.getHighestTrackableValue(),
-                        this.histogram.getNumberOfSignificantValueDigits(),
-                        this.histogram.getEstimatedFootprintInBytes());
-            }
-            //Tack pending queries for reporting
-            long highestQueueDepth = this.callsPerSecond/2;
-            if(highestQueueDepth < this.targetRunDuration.toSeconds())
-            {
-                if(this.callsPerSecond <=2) {
-                    highestQueueDepth = this.targetRunDuration.toSeconds()
-                            * this.workers
-                            * this.schedulers;
-                } else {
-                    highestQueueDepth = this.targetRunDuration.toSeconds();
-                }
-            }
-
-            this.queueDepthTracker = new AtomicHistogram(highestQueueDepth, 0);
-            if(log.isDebugEnabled()) {
-                logger.PrintDebug("WorkloadProviderScheduler",
-                        "AtomicHistogram queue depth highestTrackableValue: %,d%n\tnumberOfSignificantValueDigits: %d%n\tFoot print: %,d (bytes)",
-                        this.queueDepthTracker.getHighestTrackableValue(),
-                        this.queueDepthTracker.getNumberOfSignificantValueDigits(),
-                        this.queueDepthTracker.getEstimatedFootprintInBytes());
-            }
-        }
+        this.inFlightPermits = (cliArgs.virtualThreads || cliArgs.asyncMode) && cliArgs.maxInFlight > 0
+                                    ? new Semaphore(cliArgs.maxInFlight)
+                                    : null;
 
-        schedulerPool = Executors.newFixedThreadPool(this.schedulers);
-        workerPool = Executors.newFixedThreadPool(this.workers);
+        InitRunSettings();
+        InitRecorders();
+        CreatePools();
 
         this.openTelemetry.Reset(cliArgs,
                                 null,
@@ -170,6 +261,210 @@ public final class WorkloadProviderScheduler implements WorkloadProvider {
         this.setQuery(query);
     }
 
+    /*
+    Obtains the run settings that can change between workloads (see Reset).
+     */
+    private void InitRunSettings() {
+        this.rateProfile = this.warmup || cliArgs.closedLoopClients > 0
+                                ? null
+                                : cliArgs.rateProfile;
+        this.arrivalProcess = cliArgs.arrivalProcess == null
+                                ? new ArrivalProcess.Uniform()
+                                : cliArgs.arrivalProcess;
+    }
+
+    /*
+    Creates the recorders for the current run settings.
+    The histograms auto-resize, so existing recorders are reset instead of recreated so their memory is reused.
+     */
+    private void InitRecorders() {
+        // Auto-resizing histograms (ns resolution) so extreme latencies under overload are measured instead of clamped
+        if(this.histogram == null) {
+            this.histogram = new LatencyRecorder(histogramPrecision);
+            this.correctedHistogram = new LatencyRecorder(histogramPrecision);
+            this.queueWaitHistogram = new LatencyRecorder(histogramPrecision);
+            for (int i = 0; i < this.schedulers; i++) {
+                this.scheduleLagHistograms[i] = new ConcurrentHistogram(histogramPrecision);
+                this.arrivalIntervalHistograms[i] = new ConcurrentHistogram(histogramPrecision);
+            }
+        } else {
+            this.histogram.reset();
+            this.correctedHistogram.reset();
+            this.queueWaitHistogram.reset();
+            for (int i = 0; i < this.schedulers; i++) {
+                this.scheduleLagHistograms[i].reset();
+                this.arrivalIntervalHistograms[i].reset();
+            }
+        }
+        this.errors = new ErrorAggregator();
+        if(this.queryTimeoutNS > 0) {
+            if(this.timeoutHistogram == null) {
+                this.timeoutHistogram = new LatencyRecorder(histogramPrecision);
+            } else {
+                this.timeoutHistogram.reset();
+            }
+        }
+
+        if(log.isDebugEnabled()) {
+            logger.PrintDebug("WorkloadProviderScheduler",
+                    "LatencyRecorder latency auto-resize%n\tnumberOfSignificantValueDigits: %d",
+                    this.histogram.getNumberOfSignificantValueDigits());
+        }
+        //Tack pending queries for reporting
+        final long peakCallsPerSecond = this.rateProfile == null
+                                            ? this.callsPerSecond
+                                            : Math.max(this.callsPerSecond,
+                                                        Math.round(this.rateProfile.PeakRate(this.callsPerSecond,
+                                                                                                this.targetRunDuration)));
+        long highestQueueDepth = peakCallsPerSecond/2;
+        if(highestQueueDepth < this.targetRunDuration.toSeconds())
+        {
+            if(this.callsPerSecond <=2) {
+                highestQueueDepth = this.targetRunDuration.toSeconds()
+                        * this.workers
+                        * this.schedulers;
+            } else {
+                highestQueueDepth = this.targetRunDuration.toSeconds();
+            }
+        }
+        if((cliArgs.virtualThreads || cliArgs.asyncMode)
+                && cliArgs.maxInFlight > highestQueueDepth) {
+            highestQueueDepth = cliArgs.maxInFlight;
+        }
+        if(this.closedLoopClients >= highestQueueDepth) {
+            highestQueueDepth = this.closedLoopClients + 1;
+        }
+        if(cliArgs.adaptiveWorkers && getMaxWorkers() >= highestQueueDepth) {
+            highestQueueDepth = getMaxWorkers() + 1L;
+        }
+
+        this.queueDepthSoftLimit = highestQueueDepth;
+        this.queueDepthOverLimit.reset();
+        this.queueDepthWarned.set(false);
+        if(this.queueDepthTracker == null) {
+            this.queueDepthTracker = new LatencyRecorder(0);
+        } else {
+            this.queueDepthTracker.reset();
+        }
+        if(log.isDebugEnabled()) {
+            logger.PrintDebug("WorkloadProviderScheduler",
+                    "LatencyRecorder queue depth soft limit: %,d%n\tnumberOfSignificantValueDigits: %d",
+                    this.queueDepthSoftLimit,
+                    this.queueDepthTracker.getNumberOfSignificantValueDigits());
+        }
+    }
+
+    /*
+    Creates the scheduler and worker pools if they don't exist or were shut down.
+     */
+    private void CreatePools() {
+        if(schedulerPool == null || schedulerPool.isShutdown()) {
+            schedulerPool = Executors.newFixedThreadPool(this.schedulers);
+        }
+        if(workerPool == null || workerPool.isShutdown()) {
+            if (cliArgs.virtualThreads) {
+                workerPool = Executors.newVirtualThreadPerTaskExecutor();
+            } else if (cliArgs.maxQueued > 0 && !isClosedLoop()) {
+                workerPool = new ThreadPoolExecutor(this.workers,
+                                                    this.workers,
+                                                    0L,
+                                                    TimeUnit.MILLISECONDS,
+                                                    new ArrayBlockingQueue<>(cliArgs.maxQueued),
+                                                    new ShedHandler());
+            } else {
+                workerPool = Executors.newFixedThreadPool(isClosedLoop()
+                                                            ? this.closedLoopClients
+                                                            : this.workers);
+            }
+        }
+    }
+
+    /*
+    Returns true if the scheduler can be reused for another workload (see Reset).
+     */
+    public boolean canReset() {
+        return status == WorkloadStatus.Initialized
+                || status == WorkloadStatus.CanRun
+                || status == WorkloadStatus.Completed;
+    }
+
+    /*
+    Resets the scheduler so that it can execute another workload (e.g., the next QPS step) without creating new threads.
+    The scheduler and worker pools, the recorders (if large enough), and the query are reused.
+    The counters, errors, and the start/stop times are cleared.
+    Throws IllegalStateException if the scheduler is running or was shutdown.
+     */
+    public WorkloadProviderScheduler Reset(Duration targetRunDuration,
+                                           int qps,
+                                           boolean isWarmup,
+                                           boolean ranWarmUp) {
+        if(!canReset()) {
+            throw new IllegalStateException("Cannot Reset a Workload in state " + status);
+        }
+        if(progressbar != null) {
+            progressbar.close();
+            progressbar = null;
+        }
+        StopHistogramLog();
+        PrintRunRange();
+
+        this.targetRunDuration =  targetRunDuration == null
+                                    ? cliArgs.duration
+                                    : targetRunDuration;
+        this.callsPerSecond = qps <= 0 ? cliArgs.queriesPerSecond : qps;
+        this.warmup = isWarmup;
+        this.ranwarmup = ranWarmUp;
+
+        InitRunSettings();
+        InitRecorders();
+        CreatePools();
+
+        pendingCount.reset();
+        abortedCount.reset();
+        shedCount.reset();
+        successCount.reset();
+        successfulDuration.reset();
+        errorDuration.reset();
+        errorCount.reset();
+        timeoutCount.reset();
+        inFlightCalls.clear();
+        for (int i = 0; i < this.schedulers; i++) {
+            missedSlots.set(i, 0);
+        }
+        dispatcherCPUTime.set(0);
+        paused = false;
+        pauseStartNanos = 0;
+        pausedNanos.set(0);
+        controlChanges.set(0);
+        terminateWorkers.set(false);
+        waitingSchedulerShutdown.set(false);
+        summaryPrinted.set(false);
+        runningCallsPerSecond = 0;
+        runningCallsPerSecondNanos = 0;
+        schedulerFutures.clear();
+        startDateTime = null;
+        startTimeNanos = 0;
+        stopDateTime = null;
+        stopTimeNanos = 0;
+        runGeneration++;
+
+        if(queryRunnable == null) {
+            this.openTelemetry.Reset(cliArgs,
+                                    null,
+                                    null,
+                                    this.targetRunDuration,
+                                    0,
+                                    isWarmup,
+                                    ranWarmUp,
+                                    null);
+            setStatus(WorkloadStatus.Initialized);
+        } else {
+            setQuery(queryRunnable);
+        }
+        logger.PrintDebug("WorkloadProviderScheduler", "Reset for %s (Generation %d)", queryRunnable, runGeneration);
+        return this;
+    }
+
     /*
     Returns true if current run is a warmup.
      */
@@ -184,11 +479,131 @@ public final class WorkloadProviderScheduler implements WorkloadProvider {
      */
     public int getSchedulers() { return schedulers; }
     public int getWorkers() { return workers; }
+    /*
+    Returns the maximum number of workers when the workers are adjusted during the run ('--AdaptiveWorkers').
+     */
+    public int getMaxWorkers() {
+        return cliArgs.maxWorkers > 0 ? cliArgs.maxWorkers : workers * 10;
+    }
+    /*
+    Returns the adaptive worker sizer of the last run or null if the workers were not adjusted.
+     */
+    public AdaptiveWorkerSizer getWorkerSizer() { return workerSizer; }
+    public AdaptiveWarmup getAdaptiveWarmup() { return adaptiveWarmup; }
+    public SteadyStateTracker getSteadyStateTracker() { return steadyStateTracker; }
+    /*
+    Returns the reason the run ended before the duration was reached or null if not ended early
+     */
+    public String getEarlyStopReason() { return earlyStopReason; }
+    /*
+    Returns true if running in closed-loop mode (a fixed number of clients executing queries back-to-back).
+     */
+    public boolean isClosedLoop() { return closedLoopClients > 0; }
+    public int getClosedLoopClients() { return closedLoopClients; }
+    /*
+    Returns the CPU time consumed by all dispatchers (schedulers)
+     */
+    public Duration getDispatcherCPUTime() { return Duration.ofNanos(dispatcherCPUTime.get()); }
+    public CatchUpPolicy getCatchUpPolicy() { return catchUpPolicy; }
+    /*
+    Returns the expected maximum queue depth and the number of times it was exceeded
+     */
+    public long getQueueDepthSoftLimit() { return queueDepthSoftLimit; }
+    public long getQueueDepthOverLimit() { return queueDepthOverLimit.sum(); }
+    /*
+    Returns the number of latency or queue depth values that could not be recorded as is and were clipped
+     */
+    public long getClippedCount() {
+        long clipped = histogram.getClippedCount()
+                        + correctedHistogram.getClippedCount()
+                        + queueWaitHistogram.getClippedCount()
+                        + queueDepthTracker.getClippedCount();
+        if(timeoutHistogram != null) {
+            clipped += timeoutHistogram.getClippedCount();
+        }
+        return clipped;
+    }
+    /*
+    Returns the schedule lag (actual - intended dispatch time) of all schedulers
+     */
+    public Histogram getScheduleLagHistogram() {
+        final Histogram lagHistogram = new Histogram(histogramPrecision);
+        for (Histogram schedulerLag : scheduleLagHistograms) {
+            lagHistogram.add(schedulerLag);
+        }
+        return lagHistogram;
+    }
+    /*
+    Returns the schedule lag (actual - intended dispatch time) in microseconds at the given percentile for all schedulers
+     */
+    public double getScheduleLagUSAtPercentile(double percentile) {
+        return getScheduleLagHistogram().getValueAtPercentile(percentile) / 1000.0;
+    }
+    /*
+    Returns the arrival process used by the schedulers.
+     */
+    public ArrivalProcess getArrivalProcess() { return arrivalProcess; }
+    /*
+    Returns the random seed used by the arrival process. Scheduler n uses the seed plus n.
+     */
+    public long getArrivalSeed() { return arrivalSeed; }
+    /*
+    Returns the intended time between dispatches (realized arrival distribution) in nanoseconds for all schedulers
+     */
+    public Histogram getArrivalIntervalHistogram() {
+        final Histogram intervalHistogram = new Histogram(histogramPrecision);
+        for (Histogram schedulerIntervals : arrivalIntervalHistograms) {
+            intervalHistogram.add(schedulerIntervals);
+        }
+        return intervalHistogram;
+    }
+    /*
+    Returns the coefficient of variation (standard deviation / mean) of the time between dispatches.
+    A uniform process is about 0, a Poisson process is about 1, and bursty processes are greater than 1.
+     */
+    public double getArrivalIntervalCV() {
+        final Histogram intervalHistogram = getArrivalIntervalHistogram();
+        final double mean = intervalHistogram.getMean();
+        return mean <= 0 ? 0 : intervalHistogram.getStdDeviation() / mean;
+    }
+    /*
+    Returns the number of missed dispatch slots for all schedulers
+     */
+    public long getMissedSlots() {
+        long total = 0;
+        for (int i = 0; i < missedSlots.length(); i++) {
+            total += missedSlots.get(i);
+        }
+        return total;
+    }
+    /*
+    Returns true if queries are submitted asynchronously by the schedulers (see AsyncQueryRunnable).
+     */
+    public boolean isAsync() {
+        return cliArgs.asyncMode
+                && (queryMix == null
+                        ? queryRunnable instanceof AsyncQueryRunnable
+                        : queryMix.isAsync());
+    }
 
     /*
     The targeted calls-per-second.
      */
     public int getTargetCallsPerSecond() { return callsPerSecond; }
+
+    /*
+    The rate profile used to change the target QPS during the run or null if the target QPS is constant.
+     */
+    public RateProfile getRateProfile() { return rateProfile; }
+
+    /*
+    The mean targeted calls-per-second over the target duration. This is the targeted calls-per-second unless a rate profile is used.
+     */
+    public double getTargetMeanCallsPerSecond() {
+        return rateProfile == null
+                ? callsPerSecond
+                : rateProfile.MeanRate(callsPerSecond, targetRunDuration);
+    }
     /*
     The targeted duration of executing the workload.
      */
@@ -196,7 +611,7 @@ public final class WorkloadProviderScheduler implements WorkloadProvider {
     /*
     The accumulative running duration of all operations (not the "Wall Clock" duration)
      */
-    public Duration getAccumDuration() { return Duration.ofNanos(successfulDuration.get() + errorDuration.get()); }
+    public Duration getAccumDuration() { return Duration.ofNanos(successfulDuration.sum() + errorDuration.sum()); }
     /*
     The "Wall Clock" Running duration.
      */
@@ -211,41 +626,68 @@ public final class WorkloadProviderScheduler implements WorkloadProvider {
     /*
     The number of pending calls.
      */
-    public long getPendingCount() { return pendingCount.get(); }
+    public long getPendingCount() { return pendingCount.sum(); }
     /*
     Number of calls aborted
      */
-    public long getAbortedCount() { return abortedCount.get(); }
+    public long getAbortedCount() { return abortedCount.sum(); }
+    /*
+    Returns the number of queries dropped because the worker queue was full ('--MaxQueued')
+     */
+    public long getShedCount() { return shedCount.sum(); }
+    public ShedPolicy getShedPolicy() { return shedPolicy; }
     /*
     The amount of time accumulative taken for successful executions (not wall clock)
      */
     public Duration getAccumSuccessDuration() {
-       return Duration.ofNanos(successfulDuration.get());
+       return Duration.ofNanos(successfulDuration.sum());
     }
     /*
     The number of success calls.
      */
-    public long getSuccessCount() { return histogram.getTotalCount();}
+    public long getSuccessCount() { return successCount.sum();}
     /*
    The amount of time accumulative taken for error execution state (not wall clock)
     */
-    public Duration getAccumErrorDuration() { return Duration.ofNanos(errorDuration.get());}
+    public Duration getAccumErrorDuration() { return Duration.ofNanos(errorDuration.sum());}
 
     /*
     The number of errors encountered.
      */
-    public long getErrorCount() { return errorCount.get(); }
+    public long getErrorCount() { return errorCount.sum(); }
+    /*
+    The number of queries canceled because they exceeded the deadline ('--QueryTimeout').
+    Timeouts are not included in the error or aborted counts.
+     */
+    public long getTimeoutCount() { return timeoutCount.sum(); }
+    /*
+    The per-query deadline or zero if disabled.
+     */
+    public Duration getQueryTimeout() { return Duration.ofNanos(queryTimeoutNS); }
+
+    /*
+    A sample of the errors encountered. See getErrorAggregator for all errors.
+     */
+    public List<Exception> getErrors() { return errors.getSamples(); }
 
     /*
-    The collection of errors encountered.
+    The errors encountered aggregated by exception class and message.
      */
-    public List<Exception> getErrors() { return errors.stream().toList(); }
+    public ErrorAggregator getErrorAggregator() { return errors; }
 
     @Override
     public long AddError(final Exception e) {
+        return AddError(e, 0);
+    }
+
+    /*
+    Adds an error where latency is the latency (ns) of the failed query or zero if not known.
+     */
+    public long AddError(final Exception e, final long latency) {
         openTelemetry.addException(e);
-        errors.add(e);
-        return errorCount.incrementAndGet();
+        errors.add(e, latency);
+        errorCount.increment();
+        return errorCount.sum();
     }
 
     /*
@@ -283,35 +725,70 @@ public final class WorkloadProviderScheduler implements WorkloadProvider {
     public double getCallsPerSecond() {
         if(startTimeNanos > 0) {
             if(stopTimeNanos <= 0) {
-                return histogram.getTotalCount() / ((System.nanoTime() - startTimeNanos) / 1_000_000_000.0);
+                return successCount.sum() / ((System.nanoTime() - startTimeNanos) / 1_000_000_000.0);
             }
-            return histogram.getTotalCount() / ((stopTimeNanos - startTimeNanos) / 1_000_000_000.0);
+            return successCount.sum() / ((stopTimeNanos - startTimeNanos) / 1_000_000_000.0);
         }
 
         return 0;
     }
 
+    /*
+    Returns the calls-per-second rate refreshed at most once a second. Used when recording each call.
+     */
+    private double getRunningCallsPerSecond() {
+        final long now = System.nanoTime();
+        if(now - runningCallsPerSecondNanos >= 1_000_000_000L) {
+            runningCallsPerSecondNanos = now;
+            runningCallsPerSecond = getCallsPerSecond();
+        }
+        return runningCallsPerSecond;
+    }
+
     /*
     Returns the difference as a Percentage between actual and target CPS
      */
     public double getCPSDiffPct() {
-        return Helpers.RoundNumberOfSignificantDigits((getCallsPerSecond() / getTargetCallsPerSecond()) * 100.0, 2);
+        return Helpers.RoundNumberOfSignificantDigits((getCallsPerSecond() / getTargetMeanCallsPerSecond()) * 100.0, 2);
     }
 
     /*
     Returns the latency at the provided Percentile in MS
      */
     public double getLatencyMSAtPercentile(double desiredPercentile) {
-        long percentValue = histogram.getValueAtPercentile(desiredPercentile);
-        return Math.round((percentValue/ Helpers.NS_TO_MS) * numberOfSignificantDigitsScale) / numberOfSignificantDigitsScale;
+        return getLatencyMSAtPercentile(histogram.snapshot(), desiredPercentile);
+    }
+    /*
+    Returns the Coordinated Omission corrected latency (measured from the intended dispatch time) at the provided Percentile in MS
+     */
+    @Override
+    public double getCorrectedLatencyMSAtPercentile(double desiredPercentile) {
+        return getLatencyMSAtPercentile(correctedHistogram.snapshot(), desiredPercentile);
+    }
+    /*
+    Returns the time spent waiting in the worker queue (dispatch to worker start) at the provided Percentile in MS
+     */
+    public double getQueueWaitMSAtPercentile(double desiredPercentile) {
+        return getLatencyMSAtPercentile(queueWaitHistogram.snapshot(), desiredPercentile);
     }
     /*
     Returns the Percentile latency in MS and total count up to the provided Percentile
      */
     public Pair<Double,Long> getLatencyMSCountAtPercentile(double desiredPercentile) {
-        long percentValue = histogram.getValueAtPercentile(desiredPercentile);
+        return getLatencyMSCountAtPercentile(histogram.snapshot(), desiredPercentile);
+    }
+
+    private static double getLatencyMSAtPercentile(final Histogram latencyHistogram,
+                                                   double desiredPercentile) {
+        long percentValue = latencyHistogram.getValueAtPercentile(desiredPercentile);
+        return Math.round((percentValue/ Helpers.NS_TO_MS) * numberOfSignificantDigitsScale) / numberOfSignificantDigitsScale;
+    }
+
+    private static Pair<Double,Long> getLatencyMSCountAtPercentile(final Histogram latencyHistogram,
+                                                                   double desiredPercentile) {
+        long percentValue = latencyHistogram.getValueAtPercentile(desiredPercentile);
         return new Pair<>(Math.round((percentValue/ Helpers.NS_TO_MS) * numberOfSignificantDigitsScale) / numberOfSignificantDigitsScale,
-                                        histogram.getCountBetweenValues(0, percentValue));
+                                        latencyHistogram.getCountBetweenValues(0, percentValue));
     }
     /*
     Returns the current errors-per-second rate.
@@ -319,9 +796,9 @@ public final class WorkloadProviderScheduler implements WorkloadProvider {
     public double getErrorsPerSecond() {
         if(startTimeNanos > 0) {
             if(stopTimeNanos <= 0) {
-                return errorCount.get() / ((System.nanoTime() - startTimeNanos) / 1_000_000_000.0);
+                return errorCount.sum() / ((System.nanoTime() - startTimeNanos) / 1_000_000_000.0);
             }
-            return errorCount.get() / ((stopTimeNanos - startTimeNanos) / 1_000_000_000.0);
+            return errorCount.sum() / ((stopTimeNanos - startTimeNanos) / 1_000_000_000.0);
         }
 
         return 0;
@@ -331,9 +808,28 @@ public final class WorkloadProviderScheduler implements WorkloadProvider {
 
     public TinkerBenchArgs getCliArgs() { return cliArgs; }
 
+    /*
+    Returns the statistics of each Query Mix member or an empty list if the query is not a Query Mix.
+     */
+    public List<MixMemberStats> getQueryMixStats() { return List.of(mixMemberStats); }
+
+    /*
+    Returns the query executed by this scheduler or null if not defined.
+     */
+    public QueryRunnable getQuery() { return queryRunnable; }
+
+    private long totalMixCount() {
+        long total = 0;
+        for (MixMemberStats member : mixMemberStats) {
+            total += member.successCount().sum() + member.errorCount().sum();
+        }
+        return total;
+    }
+
     /*
     Set's the query that will be executed by the work load scheduler.
     If the value is null or changed, the scheduler is closed and reset.
+    If the same Query Mix is set again (see Reset), its member recorders and counters are reset instead of recreated.
      */
     public WorkloadProvider setQuery(QueryRunnable queryRunnable) {
 
@@ -341,14 +837,50 @@ public final class WorkloadProviderScheduler implements WorkloadProvider {
             this.close();
             setStatus(WorkloadStatus.Initialized);
             this.queryRunnable = null;
+            this.queryMix = null;
+            this.mixMemberStats = new MixMemberStats[0];
         }
         else {
             this.queryRunnable = queryRunnable;
+            if(queryRunnable instanceof MixedQueryWorkloadProvider mix) {
+                final MixMemberStats[] currentStats = this.queryMix == mix
+                                                        ? this.mixMemberStats
+                                                        : new MixMemberStats[0];
+                final MixMemberStats[] newStats = new MixMemberStats[mix.getMemberCount()];
+                for (int i = 0; i < newStats.length; i++) {
+                    if(currentStats.length == newStats.length) {
+                        final MixMemberStats stats = currentStats[i];
+                        stats.histogram().reset();
+                        stats.successCount().reset();
+                        stats.errorCount().reset();
+                        //The weights can be changed by the runtime control and are kept
+                        newStats[i] = new MixMemberStats(stats.name(),
+                                                            mix.getMemberWeightPct(i),
+                                                            stats.histogram(),
+                                                            stats.successCount(),
+                                                            stats.errorCount());
+                    } else {
+                        newStats[i] = new MixMemberStats(mix.getMember(i).Name(),
+                                                            mix.getMemberWeightPct(i),
+                                                            new LatencyRecorder(histogramPrecision),
+                                                            new LongAdder(),
+                                                            new LongAdder());
+                    }
+                }
+                this.queryMix = mix;
+                this.mixMemberStats = newStats;
+            } else {
+                this.queryMix = null;
+                this.mixMemberStats = new MixMemberStats[0];
+            }
+            if(queryRunnable instanceof SessionWorkloadProvider session) {
+                session.ResetStats(histogramPrecision);
+            }
             openTelemetry.Reset(cliArgs,
                                 queryRunnable.Name(),
                                 queryRunnable.WorkloadType().toString(),
                                 targetRunDuration,
-                                pendingCount.get(),
+                                pendingCount.sum(),
                                 warmup,
                                 this.ranwarmup,
                                 null);
@@ -358,6 +890,100 @@ public final class WorkloadProviderScheduler implements WorkloadProvider {
         return this;
     }
 
+    /*
+    Changes the target QPS of the running workload (runtime control).
+    If a rate profile is used, the profile is applied to the new QPS.
+    Returns false if the target QPS cannot be changed (closed-loop mode).
+     */
+    public boolean setTargetQPS(int qps) {
+        if(qps <= 0) {
+            throw new IllegalArgumentException("Target QPS must be greater than zero");
+        }
+        if(isClosedLoop()) {
+            return false;
+        }
+        final int oldQPS = callsPerSecond;
+        callsPerSecond = qps;
+        rateVersion++;
+        controlChanges.incrementAndGet();
+        final String msg = String.format("Runtime Control: Target QPS changed from %,d to %,d", oldQPS, qps);
+        logger.info(msg);
+        logger.PrintDebug("WorkloadProviderScheduler", msg);
+        return true;
+    }
+
+    /*
+    Pauses dispatching new queries (runtime control). In-flight queries are completed.
+    The target duration is not extended by the paused time.
+     */
+    public void Pause() {
+        if(paused) { return; }
+        pauseStartNanos = System.nanoTime();
+        paused = true;
+        controlChanges.incrementAndGet();
+        logger.info("Runtime Control: Dispatching paused");
+    }
+
+    /*
+    Resumes dispatching (runtime control). Dispatching resumes from the current time so the paused slots are not dispatched.
+     */
+    public void Resume() {
+        if(!paused) { return; }
+        paused = false;
+        pausedNanos.addAndGet(System.nanoTime() - pauseStartNanos);
+        controlChanges.incrementAndGet();
+        logger.info("Runtime Control: Dispatching resumed");
+    }
+
+    public boolean isPaused() { return paused; }
+
+    /*
+    The total time dispatching was paused by the runtime control.
+     */
+    public Duration getPausedDuration() {
+        return Duration.ofNanos(pausedNanos.get()
+                                    + (paused ? System.nanoTime() - pauseStartNanos : 0));
+    }
+
+    /*
+    The number of runtime control changes (QPS, pause/resume, or weights) during the current run.
+    If changed, the QPS threshold is not checked.
+     */
+    public int getControlChanges() { return controlChanges.get(); }
+
+    /*
+    Changes the weights of the Query Mix members (runtime control). See MixedQueryWorkloadProvider.setWeights.
+    Throws IllegalStateException if the query is not a Query Mix.
+     */
+    public void setQueryMixWeights(double[] weights) {
+        final MixedQueryWorkloadProvider mix = queryMix;
+        if(mix == null) {
+            throw new IllegalStateException("The workload is not a Query Mix");
+        }
+        mix.setWeights(weights);
+        for (int i = 0; i < mixMemberStats.length; i++) {
+            final MixMemberStats stats = mixMemberStats[i];
+            mixMemberStats[i] = new MixMemberStats(stats.name(),
+                                                    mix.getMemberWeightPct(i),
+                                                    stats.histogram(),
+                                                    stats.successCount(),
+                                                    stats.errorCount());
+        }
+        controlChanges.incrementAndGet();
+        logger.info("Runtime Control: Query Mix changed to {}", mix.getDescription());
+    }
+
+    /*
+    Returns the current summary report without ending the workload (runtime control).
+     */
+    public String SummarySnapshot() {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (PrintStream printStream = new PrintStream(output, true, StandardCharsets.UTF_8)) {
+            PrintSummary(printStream, hdrHistFmt);
+        }
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
     /*
     Executes the Query, if one is defined.
     If the query was already ran (completed), it will be re-executed. If the workload was shutdown, a RuntimeException is thrown.
@@ -407,14 +1033,39 @@ public final class WorkloadProviderScheduler implements WorkloadProvider {
                                 queryRunnable.WorkloadType().toString(),
                                 queryRunnable.Name());
 
+            if(cliArgs.asyncMode && !isAsync() && !isClosedLoop()) {
+                System.out.printf("Warning: %s doesn't support asynchronous execution. Using workers...%n",
+                                    queryRunnable.Name());
+                logger.warn("{} doesn't support asynchronous execution. Using workers...",
+                                queryRunnable.Name());
+            } else if(isAsync() && cliArgs.maxQueued > 0) {
+                System.out.println("Warning: '--MaxQueued' doesn't apply to asynchronous submissions. Use '--MaxInFlight' to bound them.");
+                logger.warn("'--MaxQueued' doesn't apply to asynchronous submissions. Use '--MaxInFlight' to bound them.");
+            }
+
+            StartHistogramLog();
             progressbar = new Progressbar(this);
             progressbar.start();
+            earlyStopReason = null;
+            StartWorkerSizer();
+            StartDeadlineWatchdog();
+            StartAdaptiveWarmup();
+            StartSteadyStateTracker();
 
             final long targetDuration = System.nanoTime() + targetRunDuration.toNanos();
+            runLatch = new CountDownLatch(1);
+            activeDispatchers.set(isClosedLoop() ? closedLoopClients : schedulers);
 
-            for (int i = 0; i < schedulers; i++) {
-                final int rate = base + (i < remainder ? 1 : 0);
-                schedulerFutures.add(schedulerPool.submit(() -> runDispatcher(rate, targetDuration)));
+            if(isClosedLoop()) {
+                for (int i = 0; i < closedLoopClients; i++) {
+                    schedulerFutures.add(workerPool.submit(() -> runClient(targetDuration)));
+                }
+            } else {
+                for (int i = 0; i < schedulers; i++) {
+                    final int rate = base + (i < remainder ? 1 : 0);
+                    final int scheduler = i;
+                    schedulerFutures.add(schedulerPool.submit(() -> runDispatcher(scheduler, rate, targetDuration)));
+                }
             }
 
             try {
@@ -431,6 +1082,184 @@ public final class WorkloadProviderScheduler implements WorkloadProvider {
         throw new RuntimeException("Cannot Start a Workload in state " + status);
     }
 
+    /*
+    Starts writing the interval histograms to the HdrHistogram log file, if enabled ('--HistogramLog').
+    A failure to create the log file is reported but doesn't stop the workload.
+     */
+    private void StartHistogramLog() {
+        if(cliArgs.histogramLogPath == null || cliArgs.histogramLogPath.isBlank()) {
+            return;
+        }
+        StopHistogramLog();
+
+        final String logPath = HistogramIntervalLog.StagePath(cliArgs.histogramLogPath,
+                                                                warmup,
+                                                                cliArgs.incrQPS > 0 ? callsPerSecond : 0);
+        histogramLog = new HistogramIntervalLog(logPath, cliArgs.histogramLogInterval)
+                            .addRecorder("latency", histogram)
+                            .addRecorder("corrected", correctedHistogram)
+                            .addRecorder("queuewait", queueWaitHistogram);
+        for (int i = 0; i < mixMemberStats.length; i++) {
+            histogramLog.addRecorder("query" + i, mixMemberStats[i].histogram());
+        }
+        if(queryRunnable instanceof SessionWorkloadProvider session) {
+            final List<SessionWorkloadProvider.StepStats> steps = session.getStepStats();
+            for (int i = 0; i < steps.size(); i++) {
+                histogramLog.addRecorder("step" + i, steps.get(i).histogram());
+            }
+        }
+        try {
+            histogramLog.Start();
+            logger.info("Writing interval histograms to {}", histogramLog.getLogFile());
+        } catch (Exception e) {
+            System.err.printf("Warning: Unable to create Histogram Log %s (%s). Interval histograms will not be written...%n",
+                                logPath,
+                                e.getMessage());
+            logger.warn("Unable to create Histogram Log {}", logPath, e);
+            histogramLog = null;
+        }
+    }
+
+    private void StopHistogramLog() {
+        if(histogramLog != null) {
+            histogramLog.close();
+        }
+    }
+
+    /*
+    Starts adjusting the number of workers, if enabled ('--AdaptiveWorkers').
+    Only the worker pool is adjusted so this is ignored for closed-loop and asynchronous execution.
+    The pool keeps the adjusted size between workloads (see Reset).
+     */
+    private void StartWorkerSizer() {
+        StopWorkerSizer();
+        workerSizer = null;
+        if(!cliArgs.adaptiveWorkers
+                || isClosedLoop()
+                || isAsync()
+                || !(workerPool instanceof ThreadPoolExecutor pool)) {
+            return;
+        }
+        workerSizer = new AdaptiveWorkerSizer(pool,
+                                                () -> successCount.sum() + errorCount.sum(),
+                                                () -> successfulDuration.sum() + errorDuration.sum(),
+                                                1,
+                                                getMaxWorkers(),
+                                                cliArgs.adaptiveWorkersInterval,
+                                                warmup ? "Warmup" : "Workload");
+        workerSizer.Start();
+    }
+
+    private void StopWorkerSizer() {
+        if(workerSizer != null) {
+            workerSizer.close();
+        }
+    }
+
+    /*
+    Starts measuring the convergence of the warmup, if enabled ('--AdaptiveWarmup').
+    The warmup duration is the maximum.
+     */
+    private void StartAdaptiveWarmup() {
+        StopAdaptiveWarmup();
+        adaptiveWarmup = null;
+        if(!warmup || !cliArgs.adaptiveWarmup) {
+            return;
+        }
+        adaptiveWarmup = new AdaptiveWarmup(successCount::sum,
+                                            histogram::snapshot,
+                                            cliArgs.warmupWindow,
+                                            cliArgs.warmupTolerancePct,
+                                            cliArgs.warmupWindows,
+                                            () -> EndRun("Warmup Converged"));
+        adaptiveWarmup.Start();
+    }
+
+    private void StopAdaptiveWarmup() {
+        if(adaptiveWarmup != null) {
+            adaptiveWarmup.close();
+        }
+    }
+
+    /*
+    Starts tracking every second of the workload to detect the steady state.
+    Not used for a warmup or a rate profile (the throughput changes by design).
+     */
+    private void StartSteadyStateTracker() {
+        StopSteadyStateTracker();
+        steadyStateTracker = null;
+        if(warmup || rateProfile != null) {
+            return;
+        }
+        steadyStateTracker = new SteadyStateTracker(successCount::sum,
+                                                    errorCount::sum,
+                                                    histogram::snapshot,
+                                                    correctedHistogram::snapshot,
+                                                    () -> activeDispatchers.get() > 0 && earlyStopReason == null);
+        steadyStateTracker.Start();
+    }
+
+    private void StopSteadyStateTracker() {
+        if(steadyStateTracker != null) {
+            steadyStateTracker.close();
+        }
+    }
+
+    /*
+    Ends the run before the duration is reached. The dispatchers stop and the in-flight queries complete.
+     */
+    private void EndRun(String reason) {
+        earlyStopReason = reason;
+        logger.PrintDebug("WorkloadProviderScheduler",
+                            "Ending %s early: %s",
+                            warmup ? "warmup" : "workload",
+                            reason);
+    }
+
+    /*
+    Starts checking the in-flight queries for an exceeded deadline, if enabled ('--QueryTimeout').
+    The watchdog checks at a tenth of the deadline (between 1 and 100 ms).
+     */
+    private void StartDeadlineWatchdog() {
+        if(queryTimeoutNS <= 0 || deadlineWatchdog != null) {
+            return;
+        }
+        final long periodNS = Math.min(TimeUnit.MILLISECONDS.toNanos(100),
+                                        Math.max(TimeUnit.MILLISECONDS.toNanos(1), queryTimeoutNS / 10));
+        deadlineWatchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread thread = new Thread(r, "QueryDeadlineWatchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        deadlineWatchdog.scheduleAtFixedRate(this::CheckDeadlines,
+                                                periodNS,
+                                                periodNS,
+                                                TimeUnit.NANOSECONDS);
+    }
+
+    private void StopDeadlineWatchdog() {
+        if(deadlineWatchdog != null) {
+            deadlineWatchdog.shutdownNow();
+            deadlineWatchdog = null;
+        }
+    }
+
+    /*
+    Cancels the in-flight queries that exceeded their deadline.
+     */
+    private void CheckDeadlines() {
+        try {
+            final long now = System.nanoTime();
+            for (Handler handler : inFlightCalls) {
+                if (now - handler.deadlineNanos >= 0) {
+                    handler.TimedOut(now);
+                }
+            }
+        } catch (Exception e) {
+            logger.Print("WorkloadProviderScheduler.CheckDeadlines", e);
+        }
+    }
+
     /*
     Shuts-down the workload scheduler. If the workload is running, this will wait until completion.
     If the scheduler is already shutdown, it just returns.
@@ -500,53 +1329,45 @@ public final class WorkloadProviderScheduler implements WorkloadProvider {
             logger.PrintDebug("WorkloadProviderScheduler",
                             "Awaiting for Completion...");
 
-            LocalDateTime exitTime = LocalDateTime.now()
-                                            .plus(targetRunDuration)
-                                            .plus(shutdownTimeout);
-            boolean abortNextTimeout = false;
-
-            while (!schedulerPool.isTerminated()
-                        && !schedulerPool.isShutdown()) {
-                try {
-                    shutdownLatch.await(shutdownTimeout.toSeconds(), TimeUnit.SECONDS);
-
-                    if(LocalDateTime.now().isAfter(exitTime)) {
-                        if(abortNextTimeout) {
-                            abortRun.set(true);
-                            schedulerPool.shutdownNow();
-                            workerPool.shutdownNow();
-                            System.err.printf("\tStopping %s due to Abort Signalled...%n",
-                                                warmup ? "warmup" : "workload");
-                            logger.warn("\tStopping %s due to Abort Signalled...",
-                                            warmup ? "warmup" : "workload");
-                            result = false;
-                            break;
-                        }
-                        terminateWorkers.set(true);
-                        schedulerPool.shutdown();
-                        workerPool.shutdown();
-                        System.out.printf("\tStopping %s due to Timeout... Waiting Completion...%n",
+            try {
+                if(!runLatch.await(targetRunDuration.plus(shutdownTimeout).toMillis(), TimeUnit.MILLISECONDS)) {
+                    terminateWorkers.set(true);
+                    System.out.printf("\tStopping %s due to Timeout... Waiting Completion...%n",
+                                        warmup ? "warmup" : "workload");
+                    logger.info("\tStopping {} due to Timeout...",
+                                    warmup ? "warmup" : "workload");
+                    if(!runLatch.await(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                        abortRun.set(true);
+                        System.err.printf("\tStopping %s due to Abort Signalled...%n",
                                             warmup ? "warmup" : "workload");
-                        logger.info("\tStopping %s due to Timeout...",
+                        logger.warn("\tStopping {} due to Abort Signalled...",
                                         warmup ? "warmup" : "workload");
-                        if(workerPool.awaitTermination(shutdownTimeout.toSeconds(), TimeUnit.SECONDS)
-                                &&  schedulerPool.awaitTermination(shutdownTimeout.toSeconds(), TimeUnit.SECONDS))
-                        {
-                            break;
-                        }
-                        abortNextTimeout = true;
-                        exitTime =  LocalDateTime.now()
-                                        .plus(shutdownTimeout);
+                        result = false;
                     }
                 }
-                catch (InterruptedException ignored) {
-                    break;
+                //The pools are kept so they can be reused (see Reset), wait for the in-flight queries to drain instead
+                if(!AwaitIdle(shutdownTimeout)) {
+                    //Workers didn't respond, force the pools down. They are recreated on Reset.
+                    logger.warn("{} did not drain within {}, shutting down the pools",
+                                    queryRunnable,
+                                    shutdownTimeout);
+                    schedulerPool.shutdownNow();
+                    workerPool.shutdownNow();
+                    AwaitIdle(shutdownTimeout);
                 }
             }
+            catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
 
             if(progressbar != null) {
                 progressbar.close();
             }
+            StopHistogramLog();
+            StopWorkerSizer();
+            StopDeadlineWatchdog();
+            StopAdaptiveWarmup();
+            StopSteadyStateTracker();
             setStatus(WorkloadStatus.Completed);
             if (queryRunnable != null) {
                 System.out.printf("Running Post-process for %s %s %s...",
@@ -563,6 +1384,29 @@ public final class WorkloadProviderScheduler implements WorkloadProvider {
         return result;
     }
 
+    /*
+    Waits until all dispatchers (or closed-loop clients) have stopped and there are no in-flight or queued queries.
+    Returns false if the timeout is reached.
+     */
+    private boolean AwaitIdle(Duration timeout) throws InterruptedException {
+        final long deadline = System.nanoTime() + timeout.toNanos();
+        while (activeDispatchers.get() > 0 || pendingCount.sum() > 0 || isWorkerPoolBusy()) {
+            if(System.nanoTime() >= deadline) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+
+    /*
+    Returns true if the worker pool has queued handlers (not yet counted as pending) or running workers.
+     */
+    private boolean isWorkerPoolBusy() {
+        return workerPool instanceof ThreadPoolExecutor pool
+                && !pool.isTerminated()
+                && (!pool.getQueue().isEmpty() || pool.getActiveCount() > 0);
+    }
 
     public WorkloadProvider PrintSummary(PrintStream printStream, boolean useHdrHistFmt) {
 
@@ -576,6 +1420,8 @@ public final class WorkloadProviderScheduler implements WorkloadProvider {
         {
             final long totalCount = getSuccessCount()
                     + getErrorCount()
+                    + getTimeoutCount()
+                    + getShedCount()
                     + getAbortedCount();
             final double pctQPSDiff = getCPSDiffPct();
             final double pctDurDiff = Helpers.RoundNumberOfSignificantDigits(((double) getRunningDuration().toMillis() / getTargetRunDuration().toMillis()) * 100.0, 2);
@@ -589,11 +1435,35 @@ public final class WorkloadProviderScheduler implements WorkloadProvider {
             printStream.printf("\tRuntime Duration: %s (%.2f%% of Target Duration)%n",
                                     Helpers.FmtDuration(getRunningDuration()),
                                     pctDurDiff);
-            printStream.printf("\tTarget QPS: %s%n",
-                    Helpers.FmtInt(getTargetCallsPerSecond()));
-            printStream.printf("\t\t\tMean QPS: %,.2f (%.2f%%)%n",
-                                getCallsPerSecond(),
-                                pctQPSDiff);
+            if(getControlChanges() > 0) {
+                printStream.printf("\tRuntime Control: %,d Changes\tTarget QPS: %,d\tPaused: %s%s%n",
+                                    getControlChanges(),
+                                    callsPerSecond,
+                                    Helpers.FmtDuration(getPausedDuration()),
+                                    paused ? " (Currently Paused)" : "");
+            }
+            if(isClosedLoop()) {
+                printStream.printf("\tClosed Loop: %,d Clients (Think Time: %,d ms)%n",
+                                    closedLoopClients,
+                                    TimeUnit.NANOSECONDS.toMillis(thinkTimeNS));
+                printStream.printf("\t\t\tAchieved QPS: %,.2f%n",
+                                    getCallsPerSecond());
+            } else {
+                printStream.printf("\tTarget QPS: %s%n",
+                        Helpers.FmtInt(getTargetCallsPerSecond()));
+                if(rateProfile != null) {
+                    printStream.printf("\t\tRate Profile: %s%n",
+                                        rateProfile.Description());
+                    printStream.printf("\t\tMean Target QPS: %,.2f%n",
+                                        getTargetMeanCallsPerSecond());
+                }
+                printStream.printf("\t\t\tMean QPS: %,.2f (%.2f%%)%n",
+                                    getCallsPerSecond(),
+                                    pctQPSDiff);
+            }
+            if(adaptiveWarmup != null) {
+                adaptiveWarmup.PrintSummary(printStream, getTargetRunDuration());
+            }
             printStream.println("\tQueries Completed");
             printStream.printf("\t\tQueries: %,d%n", getSuccessCount());
             printStream.printf("\t\tCPU Time: %s%n", getAccumSuccessDuration());
@@ -602,34 +1472,152 @@ public final class WorkloadProviderScheduler implements WorkloadProvider {
             printStream.printf("\t\tMean EPS: %,.2f%n", getErrorsPerSecond());
             printStream.printf("\t\tErrors: %,d%n", getErrorCount());
             printStream.printf("\t\tCPU Time: %s%n", getAccumErrorDuration());
+            if(queryTimeoutNS > 0) {
+                printStream.printf("\tQuery Timeouts (Deadline: %,d ms)%n",
+                                    TimeUnit.NANOSECONDS.toMillis(queryTimeoutNS));
+                printStream.printf("\t\tTimeouts: %,d%n", getTimeoutCount());
+                if(getTimeoutCount() > 0) {
+                    final Histogram timeouts = timeoutHistogram.snapshot();
+                    printStream.printf("\t\tLatency: Mean %,.3f ms\t99%% %,.3f ms\tMax %,.3f ms%n",
+                                        timeouts.getMean() / Helpers.NS_TO_MS,
+                                        timeouts.getValueAtPercentile(99.0) / Helpers.NS_TO_MS,
+                                        timeouts.getMaxValue() / Helpers.NS_TO_MS);
+                }
+            }
+            if(isAsync() && inFlightPermits != null) {
+                printStream.printf("\tShed Queries: %,d (Max In-Flight: %,d)%n",
+                                    getShedCount(),
+                                    cliArgs.maxInFlight);
+            } else if(cliArgs.maxQueued > 0 && !isClosedLoop()) {
+                printStream.printf("\tShed Queries: %,d (Max Queued: %,d, Shed Policy: %s)%n",
+                                    getShedCount(),
+                                    cliArgs.maxQueued,
+                                    shedPolicy);
+            }
             printStream.printf("\tAborted Queries: %,d%n", getAbortedCount());
 
             printStream.println("\tAll Operations");
             printStream.printf("\t\tCPU Time: %s%n", getAccumDuration());
             printStream.printf("\t\tTotals: %,d%n", totalCount);
+            if(getClippedCount() > 0) {
+                printStream.printf("\t\tClipped Histogram Values: %,d%n", getClippedCount());
+            }
+
+            if(!isClosedLoop()) {
+                final long runningNanos = getRunningDuration().toNanos();
+                printStream.printf("\tDispatchers: %,d%n", schedulers);
+                printStream.printf("\t\tCPU Time: %s (%.2f%% of Runtime)%n",
+                                    Helpers.FmtDuration(getDispatcherCPUTime()),
+                                    runningNanos <= 0
+                                        ? 0.0
+                                        : ((double) dispatcherCPUTime.get() / ((double) runningNanos * schedulers)) * 100.0);
+                final Histogram lagHistogram = getScheduleLagHistogram();
+                printStream.printf("\t\tTiming Error: Mean %,.1f us\t99%% %,.1f us\tMax %,.1f us%n",
+                                    lagHistogram.getMean() / 1000.0,
+                                    lagHistogram.getValueAtPercentile(99.0) / 1000.0,
+                                    lagHistogram.getMaxValue() / 1000.0);
+                printStream.printf("\t\tMissed Slots: %,d (Catch-Up Policy: %s)%n",
+                                    getMissedSlots(),
+                                    catchUpPolicy);
+                final Histogram arrivalHistogram = getArrivalIntervalHistogram();
+                if(arrivalProcess.isUniform()) {
+                    printStream.printf("\t\tArrivals: %s\tMean Interval %,.1f us%n",
+                                        arrivalProcess.Description(),
+                                        arrivalHistogram.getMean() / 1000.0);
+                } else {
+                    printStream.printf("\t\tArrivals: %s (Seed: %d)%n",
+                                        arrivalProcess.Description(),
+                                        arrivalSeed);
+                    printStream.printf("\t\t\tInterval: Mean %,.1f us\t50%% %,.1f us\t99%% %,.1f us\tMax %,.1f us\tCV %.2f%n",
+                                        arrivalHistogram.getMean() / 1000.0,
+                                        arrivalHistogram.getValueAtPercentile(50.0) / 1000.0,
+                                        arrivalHistogram.getValueAtPercentile(99.0) / 1000.0,
+                                        arrivalHistogram.getMaxValue() / 1000.0,
+                                        getArrivalIntervalCV());
+                }
+                if(schedulers > 1) {
+                    for (int i = 0; i < schedulers; i++) {
+                        printStream.printf("\t\t\tScheduler %d: Lag 99%% %,.1f us\tMax %,.1f us\tMissed Slots: %,d%n",
+                                            i,
+                                            scheduleLagHistograms[i].getValueAtPercentile(99.0) / 1000.0,
+                                            scheduleLagHistograms[i].getMaxValue() / 1000.0,
+                                            missedSlots.get(i));
+                    }
+                }
+            }
+        }
+        //Steady State Report
+        if(steadyStateTracker != null) {
+            steadyStateTracker.PrintSummary(printStream,
+                                            getCallsPerSecond(),
+                                            histogram.snapshot(),
+                                            correctedHistogram.snapshot());
+        }
+        //Query Mix Report
+        if(mixMemberStats.length > 0) {
+            final double runningSecs = getRunningDuration().toNanos() / 1_000_000_000.0;
+            printStream.printf("\tQuery Mix: %,d Queries%n", mixMemberStats.length);
+            for (MixMemberStats member : mixMemberStats) {
+                final Histogram latency = member.histogram().snapshot();
+                final long memberTotal = member.successCount().sum() + member.errorCount().sum();
+                printStream.printf("\t\t%s (Weight: %.2f%%)%n",
+                                    member.name(),
+                                    member.weightPct());
+                printStream.printf("\t\t\tQueries: %,d (%.2f%% of Total)\tErrors: %,d\tMean QPS: %,.2f%n",
+                                    member.successCount().sum(),
+                                    totalMixCount() == 0 ? 0.0 : ((double) memberTotal / totalMixCount()) * 100.0,
+                                    member.errorCount().sum(),
+                                    runningSecs <= 0 ? 0.0 : member.successCount().sum() / runningSecs);
+                printStream.printf("\t\t\tLatency: Mean %,.3f ms\t50%% %,.3f ms\t99%% %,.3f ms\tMax %,.3f ms%n",
+                                    latency.getMean() / Helpers.NS_TO_MS,
+                                    latency.getValueAtPercentile(50.0) / Helpers.NS_TO_MS,
+                                    latency.getValueAtPercentile(99.0) / Helpers.NS_TO_MS,
+                                    latency.getMaxValue() / Helpers.NS_TO_MS);
+            }
+        }
+        //Session Report
+        if(queryRunnable instanceof SessionWorkloadProvider session) {
+            session.PrintStepSummary(printStream, histogram.snapshot());
         }
         //Queue Depth Report
         {
-            final long maxValue = this.queueDepthTracker.getMaxValue();
+            final Histogram queueDepth = this.queueDepthTracker.snapshot();
+            final long maxValue = queueDepth.getMaxValue();
             double maxPercent = 0;
             if(maxValue > 0) {
-                maxPercent = ((double) this.queueDepthTracker.getCountAtValue(maxValue)
-                                    / (double) this.queueDepthTracker.getTotalCount())
+                maxPercent = ((double) queueDepth.getCountAtValue(maxValue)
+                                    / (double) queueDepth.getTotalCount())
                                 * 100.0;
             }
+            if(isAsync() || cliArgs.virtualThreads) {
+                printStream.printf("\tWorkers: %s (Max In-Flight: %s)%n",
+                                    isAsync() ? "Async" : "Virtual Threads",
+                                    inFlightPermits == null
+                                        ? "Unbounded"
+                                        : String.format("%,d", cliArgs.maxInFlight));
+            }
+            if(workerSizer != null) {
+                workerSizer.PrintSummary(printStream, schedulers);
+            }
             printStream.printf("\tQueue Depth:%n");
             printStream.printf("\t\tMean: %,d\tMax:%,d (occurs %,.2f%%)%n",
-                                Math.round(this.queueDepthTracker.getMean()),
+                                Math.round(queueDepth.getMean()),
                                 maxValue,
                                 maxPercent);
             printStream.printf("\t\t25%% depth under %,d%n",
-                                Math.round(this.queueDepthTracker.getValueAtPercentile(25.0)));
+                                Math.round(queueDepth.getValueAtPercentile(25.0)));
             printStream.printf("\t\t50%% depth under %,d%n",
-                                Math.round(this.queueDepthTracker.getValueAtPercentile(50.0)));
+                                Math.round(queueDepth.getValueAtPercentile(50.0)));
             printStream.printf("\t\t75%% depth under %,d%n",
-                    Math.round(this.queueDepthTracker.getValueAtPercentile(75.0)));
+                    Math.round(queueDepth.getValueAtPercentile(75.0)));
             printStream.printf("\t\t90%% depth under %,d%n",
-                    Math.round(this.queueDepthTracker.getValueAtPercentile(90.0)));
+                    Math.round(queueDepth.getValueAtPercentile(90.0)));
+            if(getQueueDepthOverLimit() > 0) {
+                printStream.printf("\t\tExceeded Expected Maximum of %,d: %,d times (%.2f%%)%n",
+                                    queueDepthSoftLimit,
+                                    getQueueDepthOverLimit(),
+                                    ((double) getQueueDepthOverLimit() / (double) queueDepth.getTotalCount()) * 100.0);
+            }
         }
 
         //Error Report
@@ -638,39 +1626,42 @@ public final class WorkloadProviderScheduler implements WorkloadProvider {
 
             printStream.println("Error Summary:");
 
-            Map<String, List<Exception>> errors = getErrors()
+            final Map<String, List<ErrorAggregator.Group>> errorGroups = errors.getGroups()
                     .stream()
-                    .collect(Collectors.groupingBy(w -> w.getClass().getName()));
+                    .collect(Collectors.groupingBy(ErrorAggregator.Group::getExceptionClass,
+                                                    TreeMap::new,
+                                                    Collectors.toList()));
 
-            for (Map.Entry<String, List<Exception>> entry : errors.entrySet()) {
+            for (Map.Entry<String, List<ErrorAggregator.Group>> entry : errorGroups.entrySet()) {
+                final List<ErrorAggregator.Group> sameMsgs = entry.getValue();
+                final long classCnt = sameMsgs.stream().mapToLong(ErrorAggregator.Group::getCount).sum();
                 try {
-                    Map<String, List<Exception>> sameMsgs = entry.getValue()
-                            .stream()
-                            .collect(Collectors.groupingBy(Helpers::getErrorMessage));
-                    if (entry.getValue().size() == sameMsgs.size()) {
+                    if (sameMsgs.size() == 1) {
                         printStream.printf("\tCnt: %d\tException: %s\t'%s'%n",
-                                entry.getValue().size(),
+                                classCnt,
                                 Helpers.GetShortClassName(entry.getKey()),
-                                Helpers.GetShortErrorMsg(entry.getValue().get(0).getMessage(),
+                                Helpers.GetShortErrorMsg(sameMsgs.get(0).getMessage(),
                                         0,
                                         preFix,
                                         " "));
+                        PrintErrorGroupDetail(printStream, "\t\t", sameMsgs.get(0));
                     } else {
                         printStream.printf("\tCnt: %d\tException: %s:%n",
-                                entry.getValue().size(),
+                                classCnt,
                                 Helpers.GetShortClassName(entry.getKey()));
-                        for (Map.Entry<String, List<Exception>> sameMsg : sameMsgs.entrySet()) {
+                        for (ErrorAggregator.Group sameMsg : sameMsgs) {
                             printStream.printf("\t\tCnt: %d\tMsg: '%s'%n",
-                                    sameMsg.getValue().size(),
-                                    Helpers.GetShortErrorMsg(sameMsg.getKey(),
+                                    sameMsg.getCount(),
+                                    Helpers.GetShortErrorMsg(sameMsg.getMessage(),
                                             0,
                                             preFix,
                                             " "));
+                            PrintErrorGroupDetail(printStream, "\t\t\t", sameMsg);
                         }
                     }
                 } catch (Exception ignored) {
                     printStream.printf("\tCnt: %d\t%s:%n",
-                            entry.getValue().size(),
+                            classCnt,
                             Helpers.GetShortErrorMsg(entry.getKey(),
                                     0,
                                     preFix,
@@ -686,50 +1677,92 @@ public final class WorkloadProviderScheduler implements WorkloadProvider {
         }
 
         //HDR Histogram Report
-        {
-            printStream.println();
-            if (!warmup && useHdrHistFmt) {
-                printStream.printf("Recorded latencies [in ms] for %s%n",
-                        queryRunnable.Name());
-                histogram.outputPercentileDistribution(printStream, Helpers.NS_TO_MS);
-            } else {
-                printStream.printf("Summary recorded latencies for %s%n",
-                        queryRunnable.Name());
-                final double[] desiredPercentiles = {50.0, 90.0, 95.0, 99.0, 99.9};
-                final double scale = numberOfSignificantDigitsScale;
-                final String percentileFmtStr = String.format("\t\t%%,.2f\t\t%%,.%df\t\t%%,d%%n",
-                                                                numberOfSignificantValueDigits);
-                final String overviewFmtStr = String.format("Mean is %%,.%dfms%%nMaximum is %%,.%dfms%%nStdDeviation is %%,.%df%%n",
-                                                                numberOfSignificantValueDigits,
-                                                                numberOfSignificantValueDigits,
-                                                                numberOfSignificantValueDigits);
-
-                printStream.printf("\t\tPercentile\tValue [ms]\tCount%n");
-                for (double desiredPercentile : desiredPercentiles) {
-                    final Pair<Double, Long> latencyCnt = getLatencyMSCountAtPercentile(desiredPercentile);
-
-                    printStream.printf(percentileFmtStr,
-                            desiredPercentile,
-                            latencyCnt.getValue0(),
-                            latencyCnt.getValue1());
-                }
-                final double meanValue = histogram.getMean();
-                final double meanRoundedValue = Helpers.RoundNumberOfSignificantDigitsScale(meanValue / Helpers.NS_TO_MS, scale);
-                final long maxValue = histogram.getMaxValue();
-                final double maxRoundedValue = Helpers.RoundNumberOfSignificantDigitsScale(maxValue / Helpers.NS_TO_MS, scale);
-                final double stdValue = histogram.getStdDeviation();
-                final double stdRoundedValue = Helpers.RoundNumberOfSignificantDigitsScale(stdValue / Helpers.NS_TO_MS, scale);
-
-                printStream.printf(overviewFmtStr,
-                                    meanRoundedValue,
-                                    maxRoundedValue,
-                                    stdRoundedValue);
-            }
+        PrintLatencyReport(printStream,
+                            useHdrHistFmt,
+                            "Recorded latencies (service time)",
+                            histogram.snapshot());
+        //Worker Queue Wait Report
+        PrintLatencyReport(printStream,
+                            useHdrHistFmt,
+                            "Queue wait latencies (dispatch to worker start)",
+                            queueWaitHistogram.snapshot());
+        //Coordinated Omission Corrected Report
+        PrintLatencyReport(printStream,
+                            useHdrHistFmt,
+                            "Corrected latencies (from intended start)",
+                            correctedHistogram.snapshot());
+        if(histogramLog != null) {
+            printStream.printf("%nInterval Histogram Log: %s (Interval: %s)%n",
+                                histogramLog.getLogFile(),
+                                histogramLog.getInterval());
         }
         printStream.println();
         return this;
     }
 
+    private static void PrintErrorGroupDetail(PrintStream printStream,
+                                              String indent,
+                                              ErrorAggregator.Group group) {
+        printStream.printf("%sFirst: %s\tLast: %s",
+                            indent,
+                            group.getFirstTime().format(LogSource.DateFormatter),
+                            group.getLastTime().format(LogSource.DateFormatter));
+        final Histogram latency = group.getLatencyHistogram();
+        if(latency.getTotalCount() > 0) {
+            printStream.printf("\tLatency Mean: %,.2f ms\tMax: %,.2f ms",
+                                latency.getMean() / Helpers.NS_TO_MS,
+                                latency.getMaxValue() / Helpers.NS_TO_MS);
+        }
+        printStream.println();
+    }
+
+    private void PrintLatencyReport(PrintStream printStream,
+                                    boolean useHdrHistFmt,
+                                    String title,
+                                    Histogram latencyHistogram) {
+        printStream.println();
+        if (!warmup && useHdrHistFmt) {
+            printStream.printf("%s [in ms] for %s%n",
+                    title,
+                    queryRunnable.Name());
+            latencyHistogram.outputPercentileDistribution(printStream, Helpers.NS_TO_MS);
+        } else {
+            printStream.printf("Summary %s for %s%n",
+                    title.toLowerCase(),
+                    queryRunnable.Name());
+            final double[] desiredPercentiles = {50.0, 90.0, 95.0, 99.0, 99.9};
+            final double scale = numberOfSignificantDigitsScale;
+            final String percentileFmtStr = String.format("\t\t%%,.2f\t\t%%,.%df\t\t%%,d%%n",
+                                                            numberOfSignificantValueDigits);
+            final String overviewFmtStr = String.format("Mean is %%,.%dfms%%nMaximum is %%,.%dfms%%nStdDeviation is %%,.%df%%n",
+                                                            numberOfSignificantValueDigits,
+                                                            numberOfSignificantValueDigits,
+                                                            numberOfSignificantValueDigits);
+
+            printStream.printf("\t\tPercentile\tValue [ms]\tCount%n");
+            for (double desiredPercentile : desiredPercentiles) {
+                final Pair<Double, Long> latencyCnt = getLatencyMSCountAtPercentile(latencyHistogram,
+                                                                                    desiredPercentile);
+
+                printStream.printf(percentileFmtStr,
+                        desiredPercentile,
+                        latencyCnt.getValue0(),
+                        latencyCnt.getValue1());
+            }
+            final double meanValue = latencyHistogram.getMean();
+            final double meanRoundedValue = Helpers.RoundNumberOfSignificantDigitsScale(meanValue / Helpers.NS_TO_MS, scale);
+            final long maxValue = latencyHistogram.getMaxValue();
+            final double maxRoundedValue = Helpers.RoundNumberOfSignificantDigitsScale(maxValue / Helpers.NS_TO_MS, scale);
+            final double stdValue = latencyHistogram.getStdDeviation();
+            final double stdRoundedValue = Helpers.RoundNumberOfSignificantDigitsScale(stdValue / Helpers.NS_TO_MS, scale);
+
+            printStream.printf(overviewFmtStr,
+                                meanRoundedValue,
+                                maxRoundedValue,
+                                stdRoundedValue);
+        }
+    }
+
     public WorkloadProvider PrintSummary() {
 
         //Stop any attempt  to re-print...
@@ -830,113 +1863,311 @@ public final class WorkloadProviderScheduler implements WorkloadProvider {
         }
     }
 
-    private final class Handler implements Runnable {
+    /*
+    Applies the shed policy once the bounded worker queue is full ('--MaxQueued').
+    Called by the dispatcher submitting the query.
+     */
+    private final class ShedHandler implements RejectedExecutionHandler {
+        @Override
+        public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+            if(executor.isShutdown()) {
+                throw new RejectedExecutionException("Worker pool is shut down");
+            }
+            switch (shedPolicy) {
+                case DropNewest -> Shed(task);
+                case DropOldest -> {
+                    final Runnable oldest = executor.getQueue().poll();
+                    if(oldest != null) {
+                        Shed(oldest);
+                    }
+                    executor.execute(task);
+                }
+                case Block -> {
+                    try {
+                        while (!executor.getQueue().offer(task, PauseParkNS, TimeUnit.NANOSECONDS)) {
+                            if(executor.isShutdown() || abortRun.get() || terminateWorkers.get()) {
+                                abortedCount.increment();
+                                return;
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        abortedCount.increment();
+                    }
+                }
+            }
+        }
 
-        final long HighestTrackableValue = histogram.getHighestTrackableValue();
-        final long HighestTrackableValueDepth = queueDepthTracker.getHighestTrackableValue();
+        private void Shed(Runnable task) {
+            shedCount.increment();
+            openTelemetry.addShedQueries(1);
+            if(task instanceof Handler handler) {
+                logger.PrintDebug("WorkloadProviderScheduler.ShedHandler",
+                                    "Query %s shed (%s)",
+                                    handler.query,
+                                    shedPolicy);
+            }
+        }
+    }
 
-        Handler() {  }
+    private final class Handler implements Runnable {
 
-        private void RecordLatency(long latency) {
-            if (latency < HighestTrackableValue) {
-                histogram.recordValue(latency);
+        //The time (nanos) the dispatcher intended this call to start
+        final long intendedStartNanos;
+        //The time (nanos) the dispatcher submitted this call to the worker pool
+        final long dispatchedNanos;
+        //The query executed by this call. For a Query Mix, the selected member.
+        final QueryRunnable query;
+        //Null unless a Query Mix
+        final MixMemberStats memberStats;
+        //The workload (see Reset) that dispatched this call
+        final int generation = runGeneration;
+        //The following are only used if a deadline is defined ('--QueryTimeout')
+        volatile int callState = CallRunning;
+        volatile long deadlineNanos;
+        long callStartNanos;
+        //The worker executing the call (synchronous) or the call's future (asynchronous) which is canceled on timeout
+        Thread callThread = null;
+        volatile CompletableFuture<?> callFuture = null;
+
+        Handler(long intendedStartNanos) {
+            this.intendedStartNanos = intendedStartNanos;
+            this.dispatchedNanos = System.nanoTime();
+            final MixedQueryWorkloadProvider mix = queryMix;
+            if(mix == null) {
+                this.query = queryRunnable;
+                this.memberStats = null;
             } else {
-                histogram.recordValue(HighestTrackableValue - 1);
-
-                logger.Print("Handler.RecordLatency",
-                            true,
-                            "Latency Value %,d ns was too large to record. Using Highest Trackable Value of %,d ns...\n\tNote: Use a lower QPS value...",
-                            latency,
-                            HighestTrackableValue - 1);
+                final int member = mix.SelectMember();
+                this.query = mix.getMember(member);
+                this.memberStats = mixMemberStats[member];
             }
         }
 
+        private void RecordLatency(LatencyRecorder latencyHistogram, long latency) {
+            latencyHistogram.recordValue(latency);
+        }
+
+        /*
+        Records the queue depth. Exceeding the soft limit is counted and reported once, the run continues.
+         */
         private void RecordDepth(long depth) {
-            if (depth < HighestTrackableValueDepth) {
-                queueDepthTracker.recordValue(depth);
-            } else {
-                String msg = String.format("Query Queue Depth of %,d is too large! Maximum dept is %,d. Stopping execution...\n\tNote: Adjust the number of workers, try a lower QPS, or additional resources are required.",
-                                            depth,
-                                            HighestTrackableValueDepth);
-                System.err.println(msg);
-                logger.error(msg);
-                abortRun.set(true);
-                Exception e = new RuntimeException(msg);
-                Error(0, e);
+            queueDepthTracker.recordValue(depth);
+            if (depth > queueDepthSoftLimit) {
+                queueDepthOverLimit.increment();
+                if(queueDepthWarned.compareAndSet(false, true)) {
+                    String msg = String.format("Query Queue Depth of %,d exceeds the expected maximum of %,d. The workload is overloaded and latencies will increase...\n\tNote: Adjust the number of workers, try a lower QPS, or additional resources are required.",
+                                                depth,
+                                                queueDepthSoftLimit);
+                    System.err.println(msg);
+                    logger.warn(msg);
+                }
             }
         }
 
-        private void Success(long latency) {
-            successfulDuration.addAndGet(latency);
-            RecordLatency(latency);
-            openTelemetry.recordElapsedTime(latency, getCallsPerSecond());
+        private void Success(long latency, long correctedLatency) {
+            successCount.increment();
+            successfulDuration.add(latency);
+            RecordLatency(histogram, latency);
+            RecordLatency(correctedHistogram, correctedLatency);
+            openTelemetry.recordElapsedTime(latency, getRunningCallsPerSecond());
+            openTelemetry.recordCorrectedElapsedTime(correctedLatency);
+            if(memberStats != null) {
+                memberStats.successCount().increment();
+                RecordLatency(memberStats.histogram(), latency);
+                openTelemetry.recordQueryResult(memberStats.name(), latency, true);
+            }
         }
 
         private void Error(long latency, Exception e) {
-            AddError(e);
+            AddError(e, latency);
             if(latency > 0) {
-                errorDuration.addAndGet(latency);
+                errorDuration.add(latency);
             }
             logger.PrintDebug("WorkloadProviderScheduler.Handler",
                                 e);
             logger.error(String.format("%s %s",
                                         isWarmup() ? "Warmup" : "Workload",
-                                        queryRunnable.Name()), e);
+                                        query.Name()), e);
         }
 
-        public void run() {
-            long startCall = 0;
+        private void QueueWait(long waitTime) {
+            RecordLatency(queueWaitHistogram, waitTime);
+            openTelemetry.recordQueueWaitTime(waitTime);
+        }
+
+        /*
+        Starts tracking the deadline of the call, if enabled.
+         */
+        private void StartDeadline(long startCall, Thread thread) {
+            if(queryTimeoutNS <= 0) return;
+            callStartNanos = startCall;
+            deadlineNanos = startCall + queryTimeoutNS;
+            synchronized (this) {
+                callThread = thread;
+            }
+            inFlightCalls.add(this);
+        }
+
+        /*
+        Called by the watchdog once the deadline is exceeded. Records the timeout and cancels the call
+        unless the call already completed.
+         */
+        void TimedOut(long now) {
+            if(!CallState.compareAndSet(this, CallRunning, CallTimedOut)) return;
+            inFlightCalls.remove(this);
+            RecordTimeout(now - callStartNanos);
+            synchronized (this) {
+                if(callThread != null) {
+                    callThread.interrupt();
+                }
+            }
+            final CompletableFuture<?> future = callFuture;
+            if(future != null) {
+                future.cancel(true);
+            }
+        }
+
+        private void RecordTimeout(long latency) {
+            timeoutCount.increment();
+            timeoutHistogram.recordValue(latency);
+            logger.PrintDebug("WorkloadProviderScheduler.Handler",
+                                "Query %s exceeded the deadline (%,d ns)",
+                                query,
+                                latency);
+        }
+
+        /*
+        Called before the query is executed. Returns false if the query should not be executed (aborted or shed).
+        If in-flight queries are bounded, a worker waits for a permit which is included in the queue wait.
+        A dispatcher (asynchronous submission) never waits so the schedule is kept, the query is shed if no permit is available.
+         */
+        private boolean Begin(boolean onDispatcher) {
+            if(abortRun.get()
+                    || terminateWorkers.get()
+                    || generation != runGeneration) return false;
+
+            if(inFlightPermits != null) {
+                if(onDispatcher) {
+                    if(!inFlightPermits.tryAcquire()) {
+                        shedCount.increment();
+                        openTelemetry.addShedQueries(1);
+                        logger.PrintDebug("WorkloadProviderScheduler.Handler",
+                                            "Query %s shed (Max In-Flight reached)",
+                                            query);
+                        return false;
+                    }
+                } else {
+                    try {
+                        inFlightPermits.acquire();
+                    } catch (InterruptedException e) {
+                        abortedCount.increment();
+                        return false;
+                    }
+                }
+            }
+
+            QueueWait(System.nanoTime() - dispatchedNanos);
+
+            pendingCount.increment();
+            openTelemetry.incrPendingTransCounter();
+            return true;
+        }
+
+        /*
+        Records the outcome of a call and returns the error passed to postCall (null if none).
+         */
+        private Exception Failed(long latency, Throwable exception) {
+            //Dispatched by a prior workload (see Reset), not recorded
+            if(generation != runGeneration) return null;
+            if(exception instanceof CompletionException && exception.getCause() != null) {
+                return Failed(latency, exception.getCause());
+            }
+            if(exception instanceof InterruptedException
+                    || (exception instanceof TraversalInterruptedException && terminateWorkers.get())) {
+                abortedCount.increment();
+                return null;
+            }
+            final Exception error = exception instanceof Exception e
+                                        ? e
+                                        : new ExecutionException(exception);
+            Error(latency, error);
+            if(memberStats != null) {
+                memberStats.errorCount().increment();
+                openTelemetry.recordQueryResult(memberStats.name(), latency, false);
+            }
+            return error;
+        }
+
+        /*
+        Called once the query is completed (successfully or not).
+        Records the outcome, calls postCall, and releases the in-flight resources obtained in Begin.
+        If callResult and exception are both null, the call was never performed.
+         */
+        private void Completed(long startCall,
+                               long endCall,
+                               Pair<Boolean, Object> callResult,
+                               Throwable exception) {
             Object recordResult = null;
             boolean success = false;
             Exception lastError = null;
+            boolean timedOut = false;
 
-            if(abortRun.get()) return;
+            if(generation != runGeneration) {
+                //Dispatched by a prior workload (see Reset). Nothing is recorded and the pending count was already reset.
+                try {
+                    query.postCall(callResult == null ? null : callResult.getValue1(),
+                                    false,
+                                    null);
+                } catch (Exception e) {
+                    logger.PrintDebug("WorkloadProviderScheduler.Handler", e);
+                } finally {
+                    inFlightCalls.remove(this);
+                    if(inFlightPermits != null) {
+                        inFlightPermits.release();
+                    }
+                }
+                return;
+            }
 
-            pendingCount.incrementAndGet();
-            openTelemetry.incrPendingTransCounter();
+            if(queryTimeoutNS > 0 && deadlineNanos != 0) {
+                inFlightCalls.remove(this);
+                if(!CallState.compareAndSet(this, CallRunning, CallCompleted)) {
+                    //The watchdog canceled the call and recorded the timeout
+                    timedOut = true;
+                } else if(endCall - startCall >= queryTimeoutNS) {
+                    //Completed after the deadline but before the watchdog detected it
+                    RecordTimeout(endCall - startCall);
+                    timedOut = true;
+                }
+            }
 
             try {
-                queryRunnable.preCall();
-                if(abortRun.get()) return;
-
-                startCall = System.nanoTime();
-                final Pair<Boolean, Object> callResult = queryRunnable.call();
-                final long duration = System.nanoTime() - startCall;
-                recordResult = callResult.getValue1();
-                if (!terminateWorkers.get()) {
-                    if (callResult.getValue0()) {
-                        Success(duration);
-                        success = true;
+                if (timedOut) {
+                    lastError = new TimeoutException(String.format("Query exceeded the deadline of %,d ms",
+                                                                    TimeUnit.NANOSECONDS.toMillis(queryTimeoutNS)));
+                } else if (exception != null) {
+                    lastError = Failed(startCall == 0 ? 0 : endCall - startCall,
+                                        exception);
+                } else if (callResult != null) {
+                    recordResult = callResult.getValue1();
+                    if (!terminateWorkers.get()) {
+                        if (callResult.getValue0()) {
+                            Success(endCall - startCall, endCall - intendedStartNanos);
+                            success = true;
+                        } else {
+                            abortedCount.increment();
+                            logger.warn("Workload {} aborted",
+                                        query);
+                        }
                     } else {
-                        abortedCount.incrementAndGet();
-                        logger.warn("Workload {} aborted",
-                                    queryRunnable);
+                        //Completed after the workload was stopped
+                        abortedCount.increment();
                     }
                 }
-            } catch (InterruptedException e) {
-                abortedCount.incrementAndGet();
-            } catch (TraversalInterruptedException e) {
-                final long duration = System.nanoTime() - startCall;
-                if(terminateWorkers.get()) {
-                    abortedCount.incrementAndGet();
-                } else {
-                    lastError = e;
-                    Error(startCall == 0 ? 0 : duration,
-                            e);
-                }
-            } catch (CompletionException e) {
-                final long duration = System.nanoTime() - startCall;
-                lastError = (Exception) e.getCause();
-                Error(startCall == 0 ? 0 : duration,
-                        lastError);
-            } catch (Exception e) {
-                final long duration = System.nanoTime() - startCall;
-                lastError = e;
-                Error(startCall == 0 ? 0 : duration,
-                        e);
             } finally {
                 try {
-                    queryRunnable.postCall(recordResult,
+                    query.postCall(recordResult,
                                             success,
                                             lastError);
                 } catch (Exception e) {
@@ -944,39 +2175,219 @@ public final class WorkloadProviderScheduler implements WorkloadProvider {
                         Error(0, e);
                     }
                 }
-                RecordDepth(pendingCount.decrementAndGet());
+                pendingCount.decrement();
+                RecordDepth(pendingCount.sum());
                 openTelemetry.decrPendingTransCounter();
-                if(progressbar != null) {
-                    progressbar.step();
+                if(inFlightPermits != null) {
+                    inFlightPermits.release();
+                }
+            }
+        }
+
+        public void run() {
+            if(!Begin(false)) return;
+
+            long startCall = 0;
+            Pair<Boolean, Object> callResult = null;
+            Exception exception = null;
+
+            try {
+                query.preCall();
+                if(abortRun.get()) return;
+
+                startCall = System.nanoTime();
+                StartDeadline(startCall, Thread.currentThread());
+                callResult = query.call();
+            } catch (Exception e) {
+                exception = e;
+            } finally {
+                Completed(startCall, System.nanoTime(), callResult, exception);
+                if(queryTimeoutNS > 0) {
+                    synchronized (this) {
+                        callThread = null;
+                    }
+                    //Don't leave the watchdog's interrupt for the worker's next query
+                    if(callState == CallTimedOut) {
+                        //noinspection ResultOfMethodCallIgnored
+                        Thread.interrupted();
+                    }
                 }
             }
         }
+
+        /*
+        Submits the query using AsyncQueryRunnable.callAsync on the calling (dispatcher) thread.
+        The outcome is recorded by the thread completing the future.
+         */
+        public void runAsync() {
+            if(!Begin(true)) return;
+
+            final AsyncQueryRunnable asyncQueryRunnable = (AsyncQueryRunnable) query;
+            long startCall = 0;
+
+            try {
+                asyncQueryRunnable.preCall();
+                if(!abortRun.get()) {
+                    final long asyncStartCall = startCall = System.nanoTime();
+                    StartDeadline(asyncStartCall, null);
+                    final CompletableFuture<Pair<Boolean, Object>> future = asyncQueryRunnable.callAsync();
+                    callFuture = future;
+                    //The deadline could have been exceeded before the future was available
+                    if(callState == CallTimedOut) {
+                        future.cancel(true);
+                    }
+                    future.whenComplete((callResult, exception) ->
+                                            Completed(asyncStartCall, System.nanoTime(), callResult, exception));
+                    return;
+                }
+            } catch (Exception e) {
+                Completed(startCall, System.nanoTime(), null, e);
+                return;
+            }
+            Completed(0, 0, null, null);
+        }
     }
 
-    private void runDispatcher(final int rate,
+    private void runDispatcher(final int scheduler,
+                               final int rate,
                                final long targetDurationNS) {
 
-        final long callIntervalNS = 1_000_000_000L / rate;
+        //When a rate profile is used, this scheduler's share of the profile's QPS
+        final double rateShare = (double) rate / callsPerSecond;
+        long callIntervalNS = 1_000_000_000L / rate;
+        final boolean async = isAsync();
+        final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        final boolean trackCPUTime = threadMXBean.isCurrentThreadCpuTimeSupported();
+        final long startCPUTime = trackCPUTime ? threadMXBean.getCurrentThreadCpuTime() : 0;
+        final Histogram scheduleLagHistogram = scheduleLagHistograms[scheduler];
+        final Histogram arrivalIntervalHistogram = arrivalIntervalHistograms[scheduler];
+        final SplittableRandom arrivalRandom = new SplittableRandom(arrivalSeed + scheduler);
+        //The intended time of the next dispatch slot
         long nextCallTime = System.nanoTime();
+        final long startTime = nextCallTime;
+        final long runDurationNS = targetRunDuration.toNanos();
+        if(rateProfile != null) {
+            callIntervalNS = ProfileIntervalNS(rateProfile.RateAt(callsPerSecond, 0, runDurationNS) * rateShare);
+        }
+        //The time the next slot will be dispatched. Only differs from nextCallTime when spreading a deficit.
+        long dispatchTime = nextCallTime;
+        int currentRateVersion = rateVersion;
         setStatus(WorkloadStatus.Running);
         long now;
 
         while ((now = System.nanoTime()) <= targetDurationNS
-                && errorCount.get() <= errorThreshold
+                && errorCount.sum() <= errorThreshold
                 && !terminateWorkers.get()
                 && !abortRun.get()
-                && !terminateRun.get()) {
-            if (now >= nextCallTime) {
-                workerPool.execute(new Handler());
-                nextCallTime += callIntervalNS;
+                && !terminateRun.get()
+                && earlyStopReason == null) {
+            if(paused) {
+                //The paused slots are not dispatched, the schedule restarts once resumed
+                LockSupport.parkNanos(PauseParkNS);
+                nextCallTime = dispatchTime = System.nanoTime();
+                continue;
+            }
+            if(currentRateVersion != rateVersion) {
+                currentRateVersion = rateVersion;
+                if(rateProfile == null) {
+                    callIntervalNS = ProfileIntervalNS(callsPerSecond * rateShare);
+                }
+            }
+            final long waitNS = dispatchTime - now;
+            if (waitNS <= 0) {
+                long lag = now - nextCallTime;
+                if (lag >= callIntervalNS) {
+                    long missed = 1;
+                    if (catchUpPolicy == CatchUpPolicy.Skip) {
+                        missed = lag / callIntervalNS;
+                        nextCallTime += missed * callIntervalNS;
+                        lag -= missed * callIntervalNS;
+                    }
+                    missedSlots.addAndGet(scheduler, missed);
+                    openTelemetry.addMissedSlots(scheduler, missed);
+                }
+                scheduleLagHistogram.recordValue(lag);
+                openTelemetry.recordScheduleLag(scheduler, lag);
+
+                if(async) {
+                    new Handler(nextCallTime).runAsync();
+                } else {
+                    workerPool.execute(new Handler(nextCallTime));
+                }
+                final long arrivalIntervalNS = arrivalProcess.NextIntervalNS(callIntervalNS,
+                                                                                nextCallTime - startTime,
+                                                                                arrivalRandom);
+                arrivalIntervalHistogram.recordValue(arrivalIntervalNS);
+                nextCallTime += arrivalIntervalNS;
+                if(rateProfile != null) {
+                    callIntervalNS = ProfileIntervalNS(rateProfile.RateAt(callsPerSecond,
+                                                                            nextCallTime - startTime,
+                                                                            runDurationNS)
+                                                        * rateShare);
+                }
+                dispatchTime = catchUpPolicy == CatchUpPolicy.Spread
+                                    ? Math.max(nextCallTime, now + callIntervalNS / 2)
+                                    : nextCallTime;
+            } else if (waitNS > spinThresholdNS) {
+                // Park until we are within the spin threshold so the dispatcher doesn't burn a core
+                LockSupport.parkNanos(waitNS - spinThresholdNS);
             } else {
                 Thread.onSpinWait();
             }
         }
 
+        if(trackCPUTime) {
+            dispatcherCPUTime.addAndGet(threadMXBean.getCurrentThreadCpuTime() - startCPUTime);
+        }
+
+        DispatcherCompleted();
+    }
+
+    private static long ProfileIntervalNS(double rate) {
+        return rate <= 0
+                ? 1_000_000_000L
+                : Math.max(1L, Math.round(1_000_000_000.0 / rate));
+    }
+
+    /*
+    Closed-loop client. Executes the query on the calling thread back-to-back, waiting the think time between queries,
+    until the target duration is reached.
+     */
+    private void runClient(final long targetDurationNS) {
+
+        setStatus(WorkloadStatus.Running);
+
+        while (System.nanoTime() <= targetDurationNS
+                && errorCount.sum() <= errorThreshold
+                && !terminateWorkers.get()
+                && !abortRun.get()
+                && !terminateRun.get()
+                && earlyStopReason == null) {
+            if(paused) {
+                LockSupport.parkNanos(PauseParkNS);
+                continue;
+            }
+            new Handler(System.nanoTime()).run();
+            if(thinkTimeNS > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(thinkTimeNS);
+                } catch (InterruptedException e) {
+                    break;
+                }
+            }
+        }
+
+        DispatcherCompleted();
+    }
+
+    /*
+    Called by a dispatcher (or closed-loop client) once it has stopped dispatching queries.
+     */
+    private void DispatcherCompleted() {
+
         terminateWorkers.set(true);
 
-        if(errorCount.get() > errorThreshold
+        if(errorCount.sum() > errorThreshold
                 && !abortRun.get())
         {
             abortRun.set(true);
@@ -984,12 +2395,12 @@ public final class WorkloadProviderScheduler implements WorkloadProvider {
             progressbar.stop();
             System.err.printf("\tStopping %s due %d Errors for %s...%n",
                                 warmup ? "warmup" : "workload",
-                                errorCount.get(),
+                                errorCount.sum(),
                                 queryRunnable.Name());
             logger.warn("Stopping {} {} due to the number of errors ({})",
                             warmup ? "warmup" : "workload",
                             queryRunnable.Name(),
-                            errorCount.get());
+                            errorCount.sum());
         }
 
         setStatus(WorkloadStatus.WaitingCompletion);
@@ -998,14 +2409,18 @@ public final class WorkloadProviderScheduler implements WorkloadProvider {
             progressbar.stop();
             System.out.printf("\tStopping %s due to %s...%n",
                     warmup ? "warmup" : "workload",
-                    abortRun.get() ? "Signal" : "Duration Reached");
-            if(getCPSDiffPct() < qpsThreshold) {
+                    abortRun.get()
+                        ? "Signal"
+                        : (earlyStopReason == null ? "Duration Reached" : earlyStopReason));
+            //The target isn't meaningful once the run was steered by the runtime control
+            if(!isClosedLoop()
+                    && controlChanges.get() == 0
+                    && getCPSDiffPct() < qpsThreshold) {
                 qpsErrorRun.set(true);
             }
         }
-        schedulerPool.shutdownNow();
-        workerPool.shutdownNow();
-        shutdownLatch.countDown();
+        activeDispatchers.decrementAndGet();
+        runLatch.countDown();
         logger.PrintDebug("WorkloadProviderScheduler",
                         "Aborting Workers %s",
                         queryRunnable);
@@ -1053,6 +2468,30 @@ public final class WorkloadProviderScheduler implements WorkloadProvider {
 
     }
 
+    /*
+    Prints the time range of the last run, if it ran.
+     */
+    private void PrintRunRange() {
+        if(queryRunnable == null || startDateTime == null || stopDateTime == null) {
+            return;
+        }
+        String msg = String.format("%s\tStarted: %s\tEnded: %s%n",
+                warmup ? "Warmup" : "Workload",
+                Helpers.GetLocalTimeZone(startDateTime),
+                Helpers.GetLocalTimeZone(stopDateTime));
+
+        final String grafanaRange = Helpers.PrintGrafanaRangeJson(startDateTime, stopDateTime);
+        if(grafanaRange != null) {
+            msg += String.format("%s%n", grafanaRange);
+        }
+
+        Helpers.Println(System.out,
+                msg,
+                Helpers.BLACK,
+                Helpers.GREEN_BACKGROUND);
+        logger.info(msg);
+    }
+
     private void closeInternal() {
 
         if(status == WorkloadStatus.Shutdown
@@ -1063,6 +2502,11 @@ public final class WorkloadProviderScheduler implements WorkloadProvider {
             progressbar.close();
             progressbar = null;
         }
+        StopHistogramLog();
+        StopWorkerSizer();
+        StopDeadlineWatchdog();
+        StopAdaptiveWarmup();
+        StopSteadyStateTracker();
 
         boolean alreadyCompleted = status == WorkloadStatus.Completed;
 
@@ -1093,23 +2537,7 @@ public final class WorkloadProviderScheduler implements WorkloadProvider {
 
         if(queryRunnable != null) {
 
-            if(startDateTime != null && stopDateTime != null) {
-                String msg = String.format("%s\tStarted: %s\tEnded: %s%n",
-                        warmup ? "Warmup" : "Workload",
-                        Helpers.GetLocalTimeZone(startDateTime),
-                        Helpers.GetLocalTimeZone(stopDateTime));
-
-                final String grafanaRange = Helpers.PrintGrafanaRangeJson(startDateTime, stopDateTime);
-                if(grafanaRange != null) {
-                    msg += String.format("%s%n", grafanaRange);
-                }
-
-                Helpers.Println(System.out,
-                        msg,
-                        Helpers.BLACK,
-                        Helpers.GREEN_BACKGROUND);
-                logger.info(msg);
-            }
+            PrintRunRange();
             final String msg = String.format("Shutdown for %s %s %s Completed%n",
                     warmup ? "Warmup" : "Workload",
                     queryRunnable.WorkloadType().toString(),
@@ -0,0 +1,92 @@
+package com.aerospike;
+
+import com.aerospike.predefined.TestRun;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveWarmupTest {
+
+    @Test
+    @DisplayName("Converged once throughput and latencies are within the tolerance")
+    void isConverged() {
+        final List<AdaptiveWarmup.Window> stable = List.of(new AdaptiveWarmup.Window(1_000, 1_000_000, 5_000_000),
+                                                            new AdaptiveWarmup.Window(1_040, 1_020_000, 5_200_000),
+                                                            new AdaptiveWarmup.Window(980, 990_000, 4_900_000));
+        assertTrue(AdaptiveWarmup.IsConverged(stable, 10.0));
+        assertFalse(AdaptiveWarmup.IsConverged(stable, 5.0));
+
+        //The 99% latency is still decreasing
+        final List<AdaptiveWarmup.Window> warming = List.of(new AdaptiveWarmup.Window(1_000, 1_000_000, 9_000_000),
+                                                             new AdaptiveWarmup.Window(1_000, 1_000_000, 6_000_000),
+                                                             new AdaptiveWarmup.Window(1_000, 1_000_000, 5_000_000));
+        assertFalse(AdaptiveWarmup.IsConverged(warming, 10.0));
+        assertFalse(AdaptiveWarmup.IsConverged(List.of(), 10.0));
+    }
+
+    @Test
+    @DisplayName("Evaluates each window and ends once the consecutive windows converge")
+    void evaluateConverges() {
+        final AtomicLong completed = new AtomicLong();
+        final Histogram latencies = new Histogram(3);
+        final AtomicInteger converged = new AtomicInteger();
+        final long[] p99 = { 20_000_000, 5_000_000, 5_100_000, 5_000_000 };
+
+        try (AdaptiveWarmup warmup = new AdaptiveWarmup(completed::get,
+                                                        latencies::copy,
+                                                        Duration.ofSeconds(1),
+                                                        10.0,
+                                                        3,
+                                                        converged::incrementAndGet)) {
+            for (int window = 0; window < p99.length; window++) {
+                for (int i = 0; i < 98; i++) {
+                    latencies.recordValue(1_000_000);
+                }
+                latencies.recordValueWithCount(p99[window], 2);
+                completed.addAndGet(100);
+                warmup.Evaluate();
+                assertEquals(window == p99.length - 1, warmup.isConverged(), "window " + window);
+            }
+            //No further evaluations once converged
+            warmup.Evaluate();
+            assertEquals(1, converged.get());
+            assertEquals(4, warmup.getWindows().size());
+            assertEquals(100.0, warmup.getWindows().get(3).throughput(), 0.001);
+            assertNotNull(warmup.getConvergedAfter());
+        }
+    }
+
+    @Test
+    @DisplayName("A converged warmup ends before the maximum duration")
+    void warmupEndsEarly() {
+        final Duration maxDuration = Duration.ofSeconds(30);
+        final TestRunSchedulerTest.TestArgs args = new TestRunSchedulerTest.TestArgs(maxDuration);
+        args.queriesPerSecond = 100;
+        args.adaptiveWarmup = true;
+        args.warmupWindow = Duration.ofSeconds(1);
+        args.warmupWindows = 2;
+        args.warmupTolerancePct = 10_000;
+
+        try (WorkloadProviderScheduler scheduler = new WorkloadProviderScheduler(new OpenTelemetryDummy(),
+                                                                                maxDuration,
+                                                                                args.queriesPerSecond,
+                                                                                true,
+                                                                                false,
+                                                                                args)) {
+            new TestRun(scheduler, null, null);
+            scheduler.Start();
+            assertTrue(scheduler.awaitTermination(), "warmup did not terminate");
+            assertTrue(scheduler.getAdaptiveWarmup().isConverged(), "warmup did not converge");
+            assertEquals("Warmup Converged", scheduler.getEarlyStopReason());
+            assertTrue(scheduler.getRunningDuration().toSeconds() < 10,
+                        "warmup ran too long: " + scheduler.getRunningDuration());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.aerospike;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveWorkerSizerTest {
+
+    @Test
+    @DisplayName("Required workers follow Little's law plus headroom and the queue drain")
+    void requiredWorkers() {
+        //1,000 QPS * 10 ms = 10 busy workers, plus 25% headroom
+        assertEquals(13, AdaptiveWorkerSizer.RequiredWorkers(1_000, 10_000_000, 0, 1.0));
+        //100 queued * 10 ms drained within 1 second requires one more worker
+        assertEquals(14, AdaptiveWorkerSizer.RequiredWorkers(1_000, 10_000_000, 100, 1.0));
+        assertEquals(0, AdaptiveWorkerSizer.RequiredWorkers(0, 10_000_000, 0, 1.0));
+    }
+
+    @Test
+    @DisplayName("Grows immediately and shrinks gradually within the range")
+    void nextWorkers() {
+        assertEquals(20, AdaptiveWorkerSizer.NextWorkers(10, 20, 1, 100));
+        assertEquals(50, AdaptiveWorkerSizer.NextWorkers(10, 200, 1, 50));
+        //Within the shrink threshold, no change
+        assertEquals(10, AdaptiveWorkerSizer.NextWorkers(10, 9, 1, 100));
+        assertEquals(10, AdaptiveWorkerSizer.NextWorkers(10, 8, 1, 100));
+        //Shrinks half of the difference
+        assertEquals(6, AdaptiveWorkerSizer.NextWorkers(10, 2, 1, 100));
+        assertEquals(4, AdaptiveWorkerSizer.NextWorkers(5, 0, 4, 100));
+    }
+
+    @Test
+    @DisplayName("Adjust resizes the pool from the measured interval and records the decision")
+    void adjustResizesPool() throws InterruptedException {
+        final ThreadPoolExecutor pool = new ThreadPoolExecutor(2, 2,
+                                                                0L, TimeUnit.MILLISECONDS,
+                                                                new LinkedBlockingQueue<>());
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicLong completed = new AtomicLong();
+        final AtomicLong serviceNS = new AtomicLong();
+
+        try (AdaptiveWorkerSizer sizer = new AdaptiveWorkerSizer(pool,
+                                                                    completed::get,
+                                                                    serviceNS::get,
+                                                                    1,
+                                                                    64,
+                                                                    Duration.ofHours(1),
+                                                                    "Test")) {
+            sizer.Start();
+            assertEquals(2, sizer.getStartWorkers());
+
+            //Occupy the workers and queue additional tasks
+            for (int i = 0; i < 12; i++) {
+                pool.execute(() -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException ignored) {}
+                });
+            }
+            //10 completions per second of 1 second each is 10 busy workers
+            completed.set(36_000);
+            serviceNS.set(36_000 * 1_000_000_000L);
+            sizer.Adjust();
+
+            assertTrue(sizer.getCurrentWorkers() > 10, "pool did not grow: " + sizer.getCurrentWorkers());
+            assertEquals(pool.getMaximumPoolSize(), pool.getCorePoolSize());
+            assertEquals(1, sizer.getDecisions().size());
+            assertEquals(2, sizer.getDecisions().get(0).fromWorkers());
+            assertTrue(sizer.getRecommendedWorkers() >= 13);
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+    }
+}
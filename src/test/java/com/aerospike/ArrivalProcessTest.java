@@ -0,0 +1,96 @@
+package com.aerospike;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ArrivalProcessTest {
+
+    private static final long MEAN_NS = 1_000_000L;
+    private static final int SAMPLES = 200_000;
+
+    /* Returns {mean, cv} of the generated intervals */
+    private static double[] stats(ArrivalProcess process, long seed) {
+        final SplittableRandom random = new SplittableRandom(seed);
+        double sum = 0;
+        double sumSq = 0;
+        long elapsed = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            final long interval = process.NextIntervalNS(MEAN_NS, elapsed, random);
+            assertTrue(interval >= 0, "negative interval");
+            elapsed += interval;
+            sum += interval;
+            sumSq += (double) interval * interval;
+        }
+        final double mean = sum / SAMPLES;
+        final double variance = sumSq / SAMPLES - mean * mean;
+        return new double[] { mean, Math.sqrt(Math.max(variance, 0)) / mean };
+    }
+
+    @Test
+    @DisplayName("Parses each process")
+    void parsesProcesses() {
+        assertEquals(new ArrivalProcess.Uniform(), ArrivalProcess.Parse("uniform"));
+        assertEquals(new ArrivalProcess.Uniform(), ArrivalProcess.Parse(null));
+        assertEquals(new ArrivalProcess.Poisson(), ArrivalProcess.Parse("Poisson"));
+        assertEquals(new ArrivalProcess.OnOff(Duration.ofSeconds(5), Duration.ofSeconds(10)),
+                        ArrivalProcess.Parse("onoff:5s:10s"));
+        assertEquals(new ArrivalProcess.HyperExponential(3.0), ArrivalProcess.Parse("hyperexp:3"));
+
+        assertThrows(IllegalArgumentException.class, () -> ArrivalProcess.Parse("gamma"));
+        assertThrows(IllegalArgumentException.class, () -> ArrivalProcess.Parse("hyperexp:0.5"));
+        assertThrows(IllegalArgumentException.class, () -> ArrivalProcess.Parse("onoff:0:5s"));
+        assertThrows(IllegalArgumentException.class, () -> ArrivalProcess.Parse("onoff:5s"));
+        assertThrows(IllegalArgumentException.class, () -> ArrivalProcess.Parse("poisson:2"));
+    }
+
+    @Test
+    @DisplayName("Each process keeps the mean interval")
+    void keepsMean() {
+        assertEquals(MEAN_NS, stats(new ArrivalProcess.Uniform(), 1)[0], 1);
+        assertEquals(MEAN_NS, stats(new ArrivalProcess.Poisson(), 1)[0], MEAN_NS * 0.02);
+        assertEquals(MEAN_NS, stats(new ArrivalProcess.HyperExponential(3.0), 1)[0], MEAN_NS * 0.05);
+        assertEquals(MEAN_NS,
+                     stats(new ArrivalProcess.OnOff(Duration.ofMillis(50), Duration.ofMillis(150)), 1)[0],
+                     MEAN_NS * 0.05);
+    }
+
+    @Test
+    @DisplayName("Coefficient of variation matches the process")
+    void coefficientOfVariation() {
+        assertEquals(0.0, stats(new ArrivalProcess.Uniform(), 1)[1], 0.001);
+        assertEquals(1.0, stats(new ArrivalProcess.Poisson(), 1)[1], 0.03);
+        assertEquals(3.0, stats(new ArrivalProcess.HyperExponential(3.0), 1)[1], 0.3);
+        assertTrue(stats(new ArrivalProcess.OnOff(Duration.ofMillis(50), Duration.ofMillis(150)), 1)[1] > 1.5);
+    }
+
+    @Test
+    @DisplayName("On/off process never dispatches during the off period")
+    void onOffRespectsOffPeriod() {
+        final ArrivalProcess process = new ArrivalProcess.OnOff(Duration.ofMillis(10), Duration.ofMillis(30));
+        final SplittableRandom random = new SplittableRandom(7);
+        final long onNS = Duration.ofMillis(10).toNanos();
+        final long cycleNS = Duration.ofMillis(40).toNanos();
+        long elapsed = 0;
+        for (int i = 0; i < 10_000; i++) {
+            elapsed += process.NextIntervalNS(MEAN_NS, elapsed, random);
+            assertTrue(elapsed % cycleNS <= onNS, "arrival during off period at " + elapsed);
+        }
+    }
+
+    @Test
+    @DisplayName("The same seed reproduces the same arrivals")
+    void seedIsReproducible() {
+        final ArrivalProcess process = new ArrivalProcess.Poisson();
+        final SplittableRandom first = new SplittableRandom(42);
+        final SplittableRandom second = new SplittableRandom(42);
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(process.NextIntervalNS(MEAN_NS, 0, first),
+                         process.NextIntervalNS(MEAN_NS, 0, second));
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.aerospike;
+
+import com.aerospike.predefined.TestRun;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ControlServerTest {
+
+    private static HttpResponse<String> Send(ControlServer server, String method, String path) throws IOException, InterruptedException {
+        final HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getPort() + path))
+                                        .method(method, HttpRequest.BodyPublishers.noBody())
+                                        .build();
+        return HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    @DisplayName("Query parameters are decoded in order")
+    void parsesQuery() {
+        final Map<String, String> parameters = ControlServer.ParseQuery("value=500&g.V().count()=2&flag");
+        assertEquals("500", parameters.get("value"));
+        assertEquals("2", parameters.get("g.V().count()"));
+        assertEquals("", parameters.get("flag"));
+        assertTrue(ControlServer.ParseQuery(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Only requests with a loopback Host and without an Origin are local")
+    void localRequests() {
+        assertTrue(ControlServer.IsLocalRequest("127.0.0.1:8080", null));
+        assertTrue(ControlServer.IsLocalRequest("LocalHost:8080", null));
+        assertTrue(ControlServer.IsLocalRequest("[::1]:8080", null));
+        assertTrue(ControlServer.IsLocalRequest("localhost", null));
+        assertFalse(ControlServer.IsLocalRequest("attacker.example:8080", null));
+        assertFalse(ControlServer.IsLocalRequest("localhost.attacker.example", null));
+        assertFalse(ControlServer.IsLocalRequest("[::1", null));
+        assertFalse(ControlServer.IsLocalRequest(null, null));
+        assertFalse(ControlServer.IsLocalRequest("127.0.0.1:8080", "http://attacker.example"));
+        assertFalse(ControlServer.IsLocalRequest("127.0.0.1:8080", "null"));
+    }
+
+    @Test
+    @DisplayName("Changes the QPS, pauses, resumes, and changes the Query Mix weights of a workload")
+    void controlsWorkload() throws Exception {
+        final Duration duration = Duration.ofSeconds(2);
+        final TestRunSchedulerTest.TestArgs args = new TestRunSchedulerTest.TestArgs(duration);
+        args.queriesPerSecond = 100;
+
+        try (ControlServer server = new ControlServer(0);
+             WorkloadProviderScheduler scheduler = new WorkloadProviderScheduler(new OpenTelemetryDummy(),
+                                                                                duration,
+                                                                                args.queriesPerSecond,
+                                                                                false,
+                                                                                false,
+                                                                                args)) {
+            server.Start();
+            assertEquals(409, Send(server, "GET", "/status").statusCode());
+
+            final MixedQueryWorkloadProvider mix = new MixedQueryWorkloadProvider(scheduler,
+                    null,
+                    new MixedQueryWorkloadProvider.Entry[] {
+                            MixedQueryWorkloadProvider.Entry.Parse("3:TestRun"),
+                            MixedQueryWorkloadProvider.Entry.Parse("1:TestRunSpinWait")
+                    },
+                    null,
+                    false);
+            server.setScheduler(scheduler);
+
+            final HttpRequest browserRequest = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getPort() + "/pause"))
+                                                    .header("Origin", "http://attacker.example")
+                                                    .POST(HttpRequest.BodyPublishers.noBody())
+                                                    .build();
+            assertEquals(403, HttpClient.newHttpClient().send(browserRequest, HttpResponse.BodyHandlers.ofString()).statusCode());
+            assertFalse(scheduler.isPaused());
+
+            HttpResponse<String> response = Send(server, "GET", "/status");
+            assertEquals(200, response.statusCode());
+            assertTrue(response.body().contains("Target QPS: 100"), response.body());
+
+            assertEquals(405, Send(server, "GET", "/qps?value=50").statusCode());
+            assertEquals(400, Send(server, "POST", "/qps?value=abc").statusCode());
+            assertEquals(200, Send(server, "POST", "/qps?value=50").statusCode());
+            assertEquals(50, scheduler.getTargetCallsPerSecond());
+
+            assertEquals(200, Send(server, "POST", "/pause").statusCode());
+            assertTrue(scheduler.isPaused());
+            assertEquals(200, Send(server, "POST", "/resume").statusCode());
+            assertFalse(scheduler.isPaused());
+
+            assertEquals(400, Send(server, "POST", "/weights?Unknown=1").statusCode());
+            assertEquals(200, Send(server, "POST", "/weights?TestRun=25&1=75").statusCode());
+            assertEquals(25.0, mix.getMemberWeightPct(0), 0.001);
+            assertEquals(75.0, scheduler.getQueryMixStats().get(1).weightPct(), 0.001);
+
+            response = Send(server, "GET", "/summary");
+            assertEquals(200, response.statusCode());
+            assertTrue(response.body().contains("Runtime Control"), response.body());
+            assertTrue(scheduler.getControlChanges() >= 4);
+        }
+    }
+
+    @Test
+    @DisplayName("A paused workload doesn't dispatch queries")
+    void pauseStopsDispatching() {
+        final Duration duration = Duration.ofSeconds(3);
+        final TestRunSchedulerTest.TestArgs args = new TestRunSchedulerTest.TestArgs(duration);
+        args.queriesPerSecond = 200;
+        args.workers = 4;
+
+        try (WorkloadProviderScheduler scheduler = new WorkloadProviderScheduler(new OpenTelemetryDummy(),
+                                                                                duration,
+                                                                                args.queriesPerSecond,
+                                                                                false,
+                                                                                false,
+                                                                                args)) {
+            new TestRun(scheduler, null, null);
+            scheduler.Pause();
+            scheduler.Start();
+            final long pausedCount = scheduler.getSuccessCount();
+            scheduler.Resume();
+            assertTrue(scheduler.awaitTermination(), "workload did not terminate");
+            assertEquals(0, pausedCount, "queries were dispatched while paused");
+            assertTrue(scheduler.getSuccessCount() > 0, "no queries executed once resumed");
+            assertTrue(scheduler.getPausedDuration().toMillis() >= 900);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.aerospike;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ErrorAggregatorTest {
+
+    @Test
+    @DisplayName("Messages differing only by numbers, hex values, or UUIDs are normalized")
+    void normalizesMessages() {
+        assertEquals("Vertex # not found", ErrorAggregator.NormalizeMessage("Vertex 12345 not found"));
+        assertEquals("Node # at #", ErrorAggregator.NormalizeMessage("Node 0x1f3a at 10"));
+        assertEquals("Request # timed out",
+                ErrorAggregator.NormalizeMessage("Request 0b7f6c1a-2d3e-4f50-8a9b-0c1d2e3f4a5b timed out"));
+        assertEquals("<Null>", ErrorAggregator.NormalizeMessage(null));
+    }
+
+    @Test
+    @DisplayName("Errors are grouped by class and normalized message")
+    void groupsErrors() {
+        final ErrorAggregator aggregator = new ErrorAggregator();
+
+        for (int i = 0; i < 100; i++) {
+            aggregator.add(new IllegalStateException("Vertex " + i + " not found"), 1_000_000L);
+        }
+        aggregator.add(new IllegalStateException("Connection closed"), 0);
+        aggregator.add(new RuntimeException("Vertex 1 not found"), 0);
+
+        final List<ErrorAggregator.Group> groups = aggregator.getGroups();
+        assertEquals(3, groups.size());
+        assertEquals(102, aggregator.getCount());
+
+        final ErrorAggregator.Group vertexGroup = groups.get(0);
+        assertEquals(IllegalStateException.class.getName(), vertexGroup.getExceptionClass());
+        assertEquals("Vertex # not found", vertexGroup.getMessage());
+        assertEquals(100, vertexGroup.getCount());
+        assertEquals(100, vertexGroup.getLatencyHistogram().getTotalCount());
+        assertEquals(ErrorAggregator.DefaultSampleSize, vertexGroup.getSamples().size());
+        assertFalse(vertexGroup.getLastTime().isBefore(vertexGroup.getFirstTime()));
+
+        assertEquals(0, groups.get(1).getLatencyHistogram().getTotalCount());
+        assertEquals(1, groups.get(1).getSamples().size());
+        assertEquals(ErrorAggregator.DefaultSampleSize + 2, aggregator.getSamples().size());
+    }
+
+    @Test
+    @DisplayName("The number of groups is bounded")
+    void boundsGroups() {
+        final ErrorAggregator aggregator = new ErrorAggregator(2, 1);
+
+        aggregator.add(new IllegalStateException("first"), 0);
+        aggregator.add(new IllegalStateException("second"), 0);
+        aggregator.add(new IllegalStateException("third"), 0);
+        aggregator.add(new IllegalStateException("fourth"), 0);
+        aggregator.add(new IllegalStateException("first"), 0);
+
+        final List<ErrorAggregator.Group> groups = aggregator.getGroups();
+        assertEquals(3, groups.size());
+        assertEquals(5, aggregator.getCount());
+        assertTrue(groups.stream().anyMatch(g -> g.getMessage().equals(ErrorAggregator.OtherMessages)
+                                                    && g.getCount() == 2));
+        assertTrue(groups.stream().anyMatch(g -> g.getMessage().equals("first")
+                                                    && g.getCount() == 2));
+    }
+
+    @Test
+    @DisplayName("Concurrent errors are all counted")
+    void concurrentErrors() throws InterruptedException {
+        final ErrorAggregator aggregator = new ErrorAggregator();
+        final List<Thread> threads = new ArrayList<>();
+
+        for (int t = 0; t < 8; t++) {
+            final Thread thread = new Thread(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    aggregator.add(new IllegalStateException("Timeout after " + i + " ms"), i + 1);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1, aggregator.getGroups().size());
+        assertEquals(40_000, aggregator.getCount());
+        assertEquals(40_000, aggregator.getGroups().get(0).getLatencyHistogram().getTotalCount());
+        assertTrue(aggregator.getSamples().size() <= ErrorAggregator.DefaultSampleSize);
+    }
+
+    @Test
+    @DisplayName("A group's latency histogram is created on its first latency and isn't clipped")
+    void latencyHistogram() {
+        final ErrorAggregator aggregator = new ErrorAggregator();
+        final long driverTimeout = 30_000_000_000L;
+
+        aggregator.add(new IllegalStateException("No latency"), 0);
+        aggregator.add(new RuntimeException("With latency"), 2_000_000L);
+        aggregator.add(new RuntimeException("With latency"), 4_000_000L);
+        aggregator.add(new RuntimeException("With latency"), driverTimeout);
+
+        final ErrorAggregator.Group noLatency = aggregator.getGroups().stream()
+                                                    .filter(g -> g.getMessage().equals("No latency"))
+                                                    .findFirst()
+                                                    .orElseThrow();
+        final ErrorAggregator.Group withLatency = aggregator.getGroups().stream()
+                                                    .filter(g -> g.getMessage().equals("With latency"))
+                                                    .findFirst()
+                                                    .orElseThrow();
+        assertEquals(0, noLatency.getLatencyHistogram().getTotalCount());
+
+        final Histogram latency = withLatency.getLatencyHistogram();
+        assertEquals(ErrorAggregator.LatencyDigits, latency.getNumberOfSignificantValueDigits());
+        assertEquals(3, latency.getTotalCount());
+        assertTrue(latency.valuesAreEquivalent(2_000_000L, latency.getMinValue()));
+        assertTrue(latency.valuesAreEquivalent(driverTimeout, latency.getMaxValue()));
+        assertTrue(latency.valuesAreEquivalent(4_000_000L, latency.getValueAtPercentile(50.0)));
+    }
+}
@@ -0,0 +1,101 @@
+package com.aerospike;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.tinkerpop.gremlin.jsr223.JavaTranslator;
+import org.apache.tinkerpop.gremlin.language.grammar.GremlinAntlrToJava;
+import org.apache.tinkerpop.gremlin.language.grammar.GremlinParserException;
+import org.apache.tinkerpop.gremlin.language.grammar.GremlinQueryParser;
+import org.apache.tinkerpop.gremlin.language.grammar.VariableResolver;
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class EvalQueryBindBytecodeTest {
+
+    private GraphTraversalSource g;
+
+    @BeforeEach
+    void setUp() {
+        g = TinkerFactory.createModern().traversal();
+    }
+
+    private Bytecode compileTemplate(String gremlin, Map<String,Object> sampleBindings) {
+        final VariableResolver resolver = new VariableResolver.DefaultVariableResolver(sampleBindings);
+        final Object traversal = GremlinQueryParser.parse(gremlin,
+                                    new GremlinAntlrToJava(g,
+                                            (name, context) -> new Bytecode.Binding<>(name, resolver.apply(name, context))));
+        return ((Traversal.Admin<?,?>) traversal).getBytecode();
+    }
+
+    private List<?> execute(Bytecode bytecode) {
+        return JavaTranslator.of(g).translate(bytecode).toList();
+    }
+
+    @Test
+    @DisplayName("Template re-bound with new ids returns the results of the new ids")
+    void rebindsStepArguments() {
+        final Bytecode template = compileTemplate("g.V(id1).values('name')",
+                                                    new HashMap<>(Map.of("id1", 1)));
+
+        assertEquals(List.of("marko"),
+                        execute(EvalQueryWorkloadProvider.BindBytecode(template, Map.of("id1", 1))));
+        assertEquals(List.of("vadas"),
+                        execute(EvalQueryWorkloadProvider.BindBytecode(template, Map.of("id1", 2))));
+        assertEquals(List.of("josh"),
+                        execute(EvalQueryWorkloadProvider.BindBytecode(template, Map.of("id1", 4))));
+    }
+
+    @Test
+    @DisplayName("Bindings within predicates and nested traversals are re-bound")
+    void rebindsPredicatesAndNestedTraversals() {
+        final Bytecode template = compileTemplate("g.V().has('name', eq(n1).or(eq(n2))).where(out().hasId(id1)).values('age')",
+                                                    new HashMap<>(Map.of("n1", "marko",
+                                                                            "n2", "josh",
+                                                                            "id1", 3)));
+
+        assertEquals(List.of(29, 32),
+                        execute(EvalQueryWorkloadProvider.BindBytecode(template,
+                                                                        Map.of("n1", "marko",
+                                                                                "n2", "josh",
+                                                                                "id1", 3))));
+        assertEquals(List.of(29),
+                        execute(EvalQueryWorkloadProvider.BindBytecode(template,
+                                                                        Map.of("n1", "marko",
+                                                                                "n2", "josh",
+                                                                                "id1", 2))));
+        assertEquals(List.of(),
+                        execute(EvalQueryWorkloadProvider.BindBytecode(template,
+                                                                        Map.of("n1", "vadas",
+                                                                                "n2", "peter",
+                                                                                "id1", 2))));
+    }
+
+    @Test
+    @DisplayName("Template is not modified by re-binding")
+    void templateIsUnchanged() {
+        final Bytecode template = compileTemplate("g.V(id1).out()",
+                                                    new HashMap<>(Map.of("id1", 1)));
+        final String before = template.toString();
+
+        EvalQueryWorkloadProvider.BindBytecode(template, Map.of("id1", 4));
+
+        assertEquals(before, template.toString());
+    }
+
+    @Test
+    @DisplayName("Placeholders in literal-only positions cannot be compiled as a template")
+    void literalPositionFailsTemplateCompile() {
+        assertThrows(GremlinParserException.class,
+                        () -> compileTemplate("g.V().limit(x)",
+                                                new HashMap<>(Map.of("x", 1))));
+    }
+}
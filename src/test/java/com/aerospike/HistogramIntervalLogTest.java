@@ -0,0 +1,73 @@
+package com.aerospike;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.HdrHistogram.EncodableHistogram;
+import org.HdrHistogram.HistogramLogReader;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class HistogramIntervalLogTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    @DisplayName("Stage path adds warmup or QPS suffix before the extension")
+    void stagePath() {
+        assertEquals("run.hlog", HistogramIntervalLog.StagePath("run.hlog", false, 0));
+        assertEquals("run-warmup.hlog", HistogramIntervalLog.StagePath("run.hlog", true, 1000));
+        assertEquals("logs/run-1000qps.hlog", HistogramIntervalLog.StagePath("logs/run.hlog", false, 1000));
+        assertEquals("logs.d/run-500qps", HistogramIntervalLog.StagePath("logs.d/run", false, 500));
+        assertEquals("logs/run-peak_load.hlog", HistogramIntervalLog.StagePath("logs/run.hlog", "peak load"));
+    }
+
+    @Test
+    @DisplayName("Interval histograms are written with their tags and can be read back")
+    void writesTaggedIntervals() throws Exception {
+        final File logFile = new File(tempDir, "sub/run.hlog");
+        final LatencyRecorder latency = new LatencyRecorder(1_000_000_000L, 3);
+        final LatencyRecorder queueWait = new LatencyRecorder(1_000_000_000L, 3);
+
+        latency.recordValue(999); // recorded before start, not logged
+
+        try (HistogramIntervalLog log = new HistogramIntervalLog(logFile.getPath(), Duration.ofMillis(100))
+                                            .addRecorder("latency", latency)
+                                            .addRecorder("queuewait", queueWait)) {
+            log.Start();
+            for (int i = 1; i <= 100; i++) {
+                latency.recordValue(i * 1_000L);
+                queueWait.recordValue(10L);
+            }
+            Thread.sleep(250);
+            latency.recordValue(1_000_000L);
+        }
+
+        assertTrue(logFile.exists(), "log file not created");
+
+        final Map<String, Long> counts = new HashMap<>();
+        long maxLatency = 0;
+        int intervals = 0;
+        final HistogramLogReader reader = new HistogramLogReader(logFile);
+        EncodableHistogram interval;
+        while ((interval = reader.nextIntervalHistogram()) != null) {
+            final org.HdrHistogram.Histogram histogram = (org.HdrHistogram.Histogram) interval;
+            counts.merge(histogram.getTag(), histogram.getTotalCount(), Long::sum);
+            if ("latency".equals(histogram.getTag())) {
+                maxLatency = Math.max(maxLatency, histogram.getMaxValue());
+                intervals++;
+            }
+        }
+
+        assertTrue(intervals >= 2, "expected at least two latency intervals, got " + intervals);
+        assertEquals(101L, counts.get("latency"));
+        assertEquals(100L, counts.get("queuewait"));
+        assertEquals(1_000_000L, maxLatency, 1_000);
+    }
+}
@@ -0,0 +1,163 @@
+package com.aerospike;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LatencyRecorderTest {
+
+    @Test
+    @DisplayName("Values recorded by many threads are merged into the snapshot")
+    void mergesValuesFromAllThreads() throws InterruptedException {
+        final LatencyRecorder recorder = new LatencyRecorder(1_000_000_000L, 3);
+        final int nbrThreads = 8;
+        final int valuesPerThread = 10_000;
+        final List<Thread> threads = new ArrayList<>();
+
+        for (int t = 0; t < nbrThreads; t++) {
+            final Thread thread = new Thread(() -> {
+                for (int i = 1; i <= valuesPerThread; i++) {
+                    recorder.recordValue(i * 1_000L);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        final Histogram snapshot = recorder.snapshot();
+        assertEquals((long) nbrThreads * valuesPerThread, snapshot.getTotalCount());
+        assertEquals(valuesPerThread * 1_000L, snapshot.getMaxValue(), valuesPerThread);
+        assertEquals(1_000L, snapshot.getMinValue(), 1);
+    }
+
+    @Test
+    @DisplayName("Snapshot accumulates while nextInterval only returns new values")
+    void intervalsAndSnapshot() {
+        final LatencyRecorder recorder = new LatencyRecorder(1_000_000L, 3);
+
+        recorder.recordValue(10);
+        recorder.recordValue(20);
+        assertEquals(2, recorder.nextInterval().getTotalCount());
+
+        recorder.recordValue(30);
+        assertEquals(3, recorder.snapshot().getTotalCount());
+
+        final Histogram interval = recorder.nextInterval();
+        assertEquals(1, interval.getTotalCount());
+        assertEquals(30, interval.getMaxValue());
+        assertTrue(interval.getEndTimeStamp() >= interval.getStartTimeStamp());
+
+        assertEquals(0, recorder.nextInterval().getTotalCount());
+        assertEquals(3, recorder.snapshot().getTotalCount());
+    }
+
+    @Test
+    @DisplayName("Snapshot is a copy which is not changed by later recordings")
+    void snapshotIsCopy() {
+        final LatencyRecorder recorder = new LatencyRecorder(1_000_000L, 3);
+
+        recorder.recordValue(10);
+        final Histogram snapshot = recorder.snapshot();
+        recorder.recordValue(20);
+
+        assertEquals(1, snapshot.getTotalCount());
+        assertEquals(2, recorder.snapshot().getTotalCount());
+    }
+
+    @Test
+    @DisplayName("Reset clears all recorded values so the recorder can be reused")
+    void resetClearsValues() {
+        final LatencyRecorder recorder = new LatencyRecorder(1_000_000L, 3);
+
+        recorder.recordValue(10);
+        recorder.nextInterval();
+        recorder.recordValue(20);
+        recorder.reset();
+
+        assertEquals(0, recorder.snapshot().getTotalCount());
+        assertEquals(0, recorder.nextInterval().getTotalCount());
+
+        recorder.recordValue(30);
+        assertEquals(1, recorder.snapshot().getTotalCount());
+        assertEquals(30, recorder.snapshot().getMaxValue());
+    }
+
+    @Test
+    @DisplayName("An auto-resizing recorder records large values without clipping")
+    void autoResizeRecordsLargeValues() {
+        final LatencyRecorder recorder = new LatencyRecorder(3);
+        final long hour = 3_600_000_000_000L;
+
+        recorder.recordValue(1_000);
+        recorder.recordValue(hour);
+
+        final Histogram snapshot = recorder.snapshot();
+        assertTrue(recorder.isAutoResize());
+        assertEquals(2, snapshot.getTotalCount());
+        assertTrue(snapshot.valuesAreEquivalent(hour, snapshot.getMaxValue()));
+        assertEquals(0, recorder.getClippedCount());
+        assertEquals(2, recorder.nextInterval().getTotalCount());
+    }
+
+    @Test
+    @DisplayName("Values outside the range are clipped and counted")
+    void clipsAndCountsValues() {
+        final LatencyRecorder recorder = new LatencyRecorder(1_000_000L, 3);
+
+        recorder.recordValue(10);
+        recorder.recordValue(5_000_000L);
+        recorder.recordValue(-1);
+
+        final Histogram snapshot = recorder.snapshot();
+        assertEquals(3, snapshot.getTotalCount());
+        assertTrue(snapshot.valuesAreEquivalent(1_000_000L, snapshot.getMaxValue()));
+        assertEquals(2, recorder.getClippedCount());
+
+        recorder.reset();
+        assertEquals(0, recorder.getClippedCount());
+
+        //Beyond the largest range an auto-resizing recorder can grow to
+        final LatencyRecorder autoResize = new LatencyRecorder(3);
+        autoResize.recordValue(Long.MAX_VALUE);
+        assertEquals(1, autoResize.snapshot().getTotalCount());
+        assertEquals(1, autoResize.getClippedCount());
+    }
+
+    @Test
+    @DisplayName("Values recorded into several stripes are merged on every read")
+    void mergesMultipleStripes() throws InterruptedException {
+        for (LatencyRecorder recorder : new LatencyRecorder[] { new LatencyRecorder(1_000_000_000L, 3, 4),
+                                                                new LatencyRecorder(0, 3, 4) }) {
+            assertEquals(4, recorder.getStripeCount());
+            final int nbrThreads = 8;
+            final List<Thread> threads = new ArrayList<>();
+
+            for (int round = 1; round <= 3; round++) {
+                threads.clear();
+                for (int t = 0; t < nbrThreads; t++) {
+                    final Thread thread = new Thread(() -> {
+                        for (int i = 1; i <= 1_000; i++) {
+                            recorder.recordValue(i * 1_000L);
+                        }
+                    });
+                    threads.add(thread);
+                    thread.start();
+                }
+                for (Thread thread : threads) {
+                    thread.join();
+                }
+                //Each stripe's histogram is recycled by the same stripe on every read
+                assertEquals(nbrThreads * 1_000L, recorder.nextInterval().getTotalCount());
+                assertEquals(round * nbrThreads * 1_000L, recorder.snapshot().getTotalCount());
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.aerospike;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MixedQueryWorkloadProviderTest {
+
+    @Test
+    @DisplayName("Members are parsed as weight and query")
+    void parsesEntries() {
+        final MixedQueryWorkloadProvider.Entry entry = MixedQueryWorkloadProvider.Entry.Parse("70:AirRoutesQuery1");
+        assertEquals(70.0, entry.weight());
+        assertEquals("AirRoutesQuery1", entry.query());
+
+        //Only the first separator is used so Gremlin strings can contain ':'
+        final MixedQueryWorkloadProvider.Entry gremlin = MixedQueryWorkloadProvider.Entry.Parse("2.5:g.V().has('code','a:b').toList()");
+        assertEquals(2.5, gremlin.weight());
+        assertEquals("g.V().has('code','a:b').toList()", gremlin.query());
+    }
+
+    @Test
+    @DisplayName("Invalid members are rejected")
+    void rejectsInvalidEntries() {
+        assertThrows(IllegalArgumentException.class, () -> MixedQueryWorkloadProvider.Entry.Parse("AirRoutesQuery1"));
+        assertThrows(IllegalArgumentException.class, () -> MixedQueryWorkloadProvider.Entry.Parse("x:AirRoutesQuery1"));
+        assertThrows(IllegalArgumentException.class, () -> MixedQueryWorkloadProvider.Entry.Parse("0:AirRoutesQuery1"));
+        assertThrows(IllegalArgumentException.class, () -> MixedQueryWorkloadProvider.Entry.Parse("10:"));
+        assertThrows(IllegalArgumentException.class, () -> MixedQueryWorkloadProvider.Entry.Parse(" "));
+    }
+}
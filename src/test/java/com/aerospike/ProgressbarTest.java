@@ -62,6 +62,8 @@ class ProgressbarTest {
         @Override public Duration getAccumSuccessDuration() { return Duration.ZERO; }
         @Override public long getSuccessCount() { return 0; }
         @Override public long getErrorCount() { return errors; }
+        @Override public long getTimeoutCount() { return 0; }
+        @Override public long getShedCount() { return 0; }
         @Override public java.util.List<Exception> getErrors() { return java.util.Collections.emptyList(); }
         @Override public Duration getAccumErrorDuration() { return Duration.ZERO; }
         @Override public WorkloadStatus getStatus() { return null; }
@@ -71,6 +73,7 @@ class ProgressbarTest {
         @Override public double getCallsPerSecond() { return cps; }
         @Override public double getCPSDiffPct() { return 0; }
         @Override public double getErrorsPerSecond() { return 0; }
+        @Override public double getCorrectedLatencyMSAtPercentile(double desiredPercentile) { return 0; }
         @Override public OpenTelemetry getOpenTelemetry() { return null; }
         @Override public TinkerBenchArgs getCliArgs() { return args; }
         @Override public WorkloadProvider setQuery(QueryRunnable queryRunnable) { return this; }
@@ -142,6 +145,20 @@ class ProgressbarTest {
                 assertTrue(msg.contains("note"));
             }
         }
+
+        @Test
+        void tickerAdvancesWithoutStep() throws InterruptedException {
+            StubWorkload workload = new StubWorkload(false, false, false, Duration.ofSeconds(5), true);
+            workload.setMetrics(50, 1, 0);
+            try (Progressbar pb = new Progressbar(workload)) {
+                pb.start();
+                Thread.sleep(2300);
+
+                ProgressBarBuilder.ProgressBar up = extractUnderlying(pb);
+                assertTrue(up.getCurrent() >= 2, "ticker should advance the bar");
+                assertTrue(up.getExtraMessage().contains("OPS: 50"));
+            }
+        }
     }
 
     @Nested
@@ -0,0 +1,71 @@
+package com.aerospike;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class RateProfileTest {
+
+    private static final long SEC = 1_000_000_000L;
+
+    @Test
+    @DisplayName("Parses each profile")
+    void parsesProfiles() {
+        assertEquals(new RateProfile.Ramp(5000), RateProfile.Parse("ramp:5000"));
+        assertEquals(new RateProfile.Staircase(100, Duration.ofSeconds(30)), RateProfile.Parse("staircase:100:30s"));
+        assertEquals(new RateProfile.Sine(500, Duration.ofMinutes(5)), RateProfile.Parse("Sine:500:5m"));
+        assertEquals(new RateProfile.Spike(2000, Duration.ofMinutes(1), Duration.ofSeconds(5)),
+                        RateProfile.Parse("spike:2000:1m:5"));
+    }
+
+    @Test
+    @DisplayName("Rejects invalid profiles")
+    void rejectsInvalidProfiles() {
+        assertThrows(IllegalArgumentException.class, () -> RateProfile.Parse("wave:100"));
+        assertThrows(IllegalArgumentException.class, () -> RateProfile.Parse("ramp"));
+        assertThrows(IllegalArgumentException.class, () -> RateProfile.Parse("ramp:abc"));
+        assertThrows(IllegalArgumentException.class, () -> RateProfile.Parse("sine:100:xyz"));
+        assertThrows(IllegalArgumentException.class, () -> RateProfile.Parse("sine:100:0"));
+        assertThrows(IllegalArgumentException.class, () -> RateProfile.Parse("spike:100:5s:10s"));
+    }
+
+    @Test
+    @DisplayName("Ramp is linear from base to end QPS")
+    void ramp() {
+        final RateProfile ramp = RateProfile.Parse("ramp:300");
+        assertEquals(100, ramp.RateAt(100, 0, 10 * SEC), 0.001);
+        assertEquals(200, ramp.RateAt(100, 5 * SEC, 10 * SEC), 0.001);
+        assertEquals(300, ramp.RateAt(100, 10 * SEC, 10 * SEC), 0.001);
+        assertEquals(200, ramp.MeanRate(100, Duration.ofSeconds(10)), 0.5);
+        assertEquals(300, ramp.PeakRate(100, Duration.ofSeconds(10)), 0.001);
+    }
+
+    @Test
+    @DisplayName("Staircase, sine, and spike follow their shapes")
+    void shapes() {
+        final RateProfile stairs = RateProfile.Parse("staircase:50:10s");
+        assertEquals(100, stairs.RateAt(100, 9 * SEC, 0), 0.001);
+        assertEquals(150, stairs.RateAt(100, 10 * SEC, 0), 0.001);
+        assertEquals(200, stairs.RateAt(100, 25 * SEC, 0), 0.001);
+
+        final RateProfile sine = RateProfile.Parse("sine:50:40s");
+        assertEquals(100, sine.RateAt(100, 0, 0), 0.001);
+        assertEquals(150, sine.RateAt(100, 10 * SEC, 0), 0.001);
+        assertEquals(50, sine.RateAt(100, 30 * SEC, 0), 0.001);
+        assertEquals(100, sine.MeanRate(100, Duration.ofSeconds(40)), 0.5);
+
+        final RateProfile spike = RateProfile.Parse("spike:1000:10s:2s");
+        assertEquals(100, spike.RateAt(100, 7 * SEC, 0), 0.001);
+        assertEquals(1000, spike.RateAt(100, 9 * SEC, 0), 0.001);
+        assertEquals(100, spike.RateAt(100, 11 * SEC, 0), 0.001);
+    }
+
+    @Test
+    @DisplayName("QPS is never less than one")
+    void atLeastOne() {
+        assertEquals(1, RateProfile.Parse("sine:500:40s").RateAt(100, 30 * SEC, 0), 0.001);
+    }
+}
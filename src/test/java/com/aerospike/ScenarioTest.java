@@ -0,0 +1,152 @@
+package com.aerospike;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ScenarioTest {
+
+    @TempDir
+    File tempDir;
+
+    private TinkerBenchArgs newArgs() {
+        final TinkerBenchArgs args = new TestRunSchedulerTest.TestArgs(Duration.ofSeconds(10));
+        args.queriesPerSecond = 100;
+        args.warmupDuration = Duration.ofSeconds(5);
+        args.queryNameOrString = "TestRun";
+        return args;
+    }
+
+    private File write(String content) throws IOException {
+        final File file = new File(tempDir, "scenario.yaml");
+        Files.writeString(file.toPath(), content);
+        return file;
+    }
+
+    @Test
+    @DisplayName("Stages are loaded in order with the warmup and cool-down")
+    void loadsStages() throws IOException {
+        final Scenario scenario = Scenario.Load(write("""
+                name: Capacity
+                warmup:
+                  duration: 15s
+                  qps: 50
+                stages:
+                  - name: baseline
+                    duration: 1m
+                    qps: 500
+                    query: AirRoutesQuery1
+                  - name: mixed
+                    qps: 1000
+                    mix:
+                      - 70:AirRoutesQuery1
+                      - "30:g.V(%s).out().limit(5).toList()"
+                    profile: ramp:2000
+                    arrival: poisson
+                cooldown:
+                  duration: 30s
+                  qps: 10
+                """), newArgs());
+
+        assertEquals("Capacity", scenario.getName());
+        final List<Scenario.Stage> stages = scenario.getStages();
+        assertEquals(4, stages.size());
+
+        final Scenario.Stage warmup = stages.get(0);
+        assertTrue(warmup.warmup());
+        assertEquals(50, warmup.qps());
+        assertEquals(Duration.ofSeconds(15), warmup.duration());
+        assertEquals("AirRoutesQuery1", warmup.query());
+
+        final Scenario.Stage mixed = stages.get(2);
+        assertEquals("mixed", mixed.name());
+        assertEquals(Duration.ofSeconds(10), mixed.duration());
+        assertNull(mixed.query());
+        assertEquals(2, mixed.mix().length);
+        assertEquals("g.V(%s).out().limit(5).toList()", mixed.mix()[1].query());
+        assertInstanceOf(RateProfile.Ramp.class, mixed.rateProfile());
+        assertInstanceOf(ArrivalProcess.Poisson.class, mixed.arrivalProcess());
+
+        final Scenario.Stage cooldown = stages.get(3);
+        assertEquals("cooldown", cooldown.name());
+        assertFalse(cooldown.warmup());
+        assertTrue(cooldown.cooldown());
+        assertFalse(cooldown.isMeasured());
+        assertTrue(mixed.isMeasured());
+        assertEquals("cooldown (Cool-down)", cooldown.Label());
+        assertEquals("mixed", mixed.Label());
+        assertEquals(10, cooldown.qps());
+        assertArrayEquals(mixed.mix(), cooldown.mix());
+
+        final TinkerBenchArgs args = newArgs();
+        mixed.Apply(args);
+        assertEquals(MixedQueryWorkloadProvider.MixName, args.queryNameOrString);
+        assertSame(mixed.mix(), args.queryMix);
+        assertSame(mixed.rateProfile(), args.rateProfile);
+    }
+
+    @Test
+    @DisplayName("JSON files and command line defaults are supported")
+    void commandLineDefaults() throws IOException {
+        final Scenario scenario = Scenario.Load(write("""
+                {"stages": [{"qps": 200}, {"name": "peak", "qps": 400}]}
+                """), newArgs());
+
+        final List<Scenario.Stage> stages = scenario.getStages();
+        assertEquals(3, stages.size());
+        assertEquals("scenario.yaml", scenario.getName());
+        assertTrue(stages.get(0).warmup());
+        assertEquals(Duration.ofSeconds(5), stages.get(0).duration());
+        assertEquals("stage1", stages.get(1).name());
+        assertEquals("TestRun", stages.get(2).query());
+        assertTrue(scenario.isTestRun());
+    }
+
+    @Test
+    @DisplayName("The warmup and cool-down don't inherit the command line's rate profile")
+    void cooldownIgnoresRateProfile() throws IOException {
+        final TinkerBenchArgs args = newArgs();
+        args.rateProfile = RateProfile.Parse("ramp:2000");
+        final Scenario scenario = Scenario.Load(write("""
+                stages:
+                  - qps: 200
+                cooldown:
+                  qps: 10
+                """), args);
+
+        final List<Scenario.Stage> stages = scenario.getStages();
+        assertEquals(3, stages.size());
+        assertNull(stages.get(0).rateProfile());
+        assertSame(args.rateProfile, stages.get(1).rateProfile());
+        assertTrue(stages.get(2).cooldown());
+        assertNull(stages.get(2).rateProfile());
+    }
+
+    @Test
+    @DisplayName("Invalid scenarios are rejected")
+    void rejectsInvalidScenarios() {
+        final TinkerBenchArgs args = newArgs();
+        args.queryNameOrString = null;
+
+        assertThrows(IllegalArgumentException.class,
+                () -> Scenario.Load(write("stages:\n  - qps: 10\n"), args));
+        assertThrows(IllegalArgumentException.class,
+                () -> Scenario.Load(write("stages: []\n"), newArgs()));
+        assertThrows(IllegalArgumentException.class,
+                () -> Scenario.Load(write("stages:\n  - qpss: 10\n"), newArgs()));
+        assertThrows(IllegalArgumentException.class,
+                () -> Scenario.Load(write("stages:\n  - query: TestRun\n    mix: [\"1:TestRun\"]\n"), newArgs()));
+        assertThrows(IllegalArgumentException.class,
+                () -> Scenario.Load(write("stages:\n  - duration: abc\n"), newArgs()));
+        assertThrows(IllegalArgumentException.class,
+                () -> Scenario.Load(write("stages: [\n"), newArgs()));
+    }
+}
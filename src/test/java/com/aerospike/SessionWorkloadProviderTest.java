@@ -0,0 +1,184 @@
+package com.aerospike;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.aerospike.idmanager.dummyManager;
+import org.apache.tinkerpop.gremlin.driver.Cluster;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.javatuples.Pair;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+class SessionWorkloadProviderTest {
+
+    /*
+    A session step that returns the given values (null for no values) and keeps the input and ids of each call.
+     */
+    private static final class StubStep extends QueryWorkloadProvider {
+        private final String name;
+        private final List<Object> output;
+        final List<List<Object>> inputs = new ArrayList<>();
+        final List<Object> vIds = new ArrayList<>();
+
+        StubStep(String name, List<Object> output) {
+            super(null, null, null);
+            this.name = name;
+            this.output = output;
+        }
+
+        @Override
+        public String Name() { return name; }
+
+        @Override
+        public String getDescription() { return name; }
+
+        @Override
+        public Pair<Boolean, Object> call() {
+            inputs.add(getStepInput());
+            vIds.add(getVId());
+            vIds.add(getVId(1));
+            return new Pair<>(true, output);
+        }
+    }
+
+    private static WorkloadProviderScheduler NewScheduler() {
+        final Duration duration = Duration.ofSeconds(1);
+        return new WorkloadProviderScheduler(new OpenTelemetryDummy(),
+                                                duration,
+                                                100,
+                                                false,
+                                                false,
+                                                new TestRunSchedulerTest.TestArgs(duration));
+    }
+
+    @Test
+    @DisplayName("A step's output is converted into the values passed to the next step")
+    void convertsOutputToValues() {
+        assertNull(SessionWorkloadProvider.ToValues(null), "no output passes the input through");
+        assertEquals(List.of(1L, 2L), SessionWorkloadProvider.ToValues(List.of(1L, 2L)));
+        assertEquals(List.of("a", "b"), SessionWorkloadProvider.ToValues(new LinkedHashSet<>(List.of("a", "b"))));
+        assertEquals(List.of(3, 4), SessionWorkloadProvider.ToValues(new Object[] { 3, 4 }));
+        assertEquals(List.of(Map.of("k", 1)), SessionWorkloadProvider.ToValues(Map.of("k", 1)));
+        assertEquals(List.of(5L), SessionWorkloadProvider.ToValues(5L));
+
+        //Results can contain nulls (e.g., missing property values)
+        assertEquals(Arrays.asList("x", null), SessionWorkloadProvider.ToValues(Arrays.asList("x", null)));
+
+        //An empty result or a false 'hasNext()' ends the session
+        assertTrue(SessionWorkloadProvider.ToValues(List.of()).isEmpty());
+        assertTrue(SessionWorkloadProvider.ToValues(false).isEmpty());
+        assertEquals(List.of(true), SessionWorkloadProvider.ToValues(true));
+    }
+
+    @Test
+    @DisplayName("A session requires at least one step")
+    void rejectsEmptySession() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SessionWorkloadProvider(null, null, new String[0], null, false));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SessionWorkloadProvider(null, null, null, null, false));
+    }
+
+    @Test
+    @DisplayName("A step receives the values returned by the previous step")
+    void passesValuesToNextStep() throws Exception {
+        try (WorkloadProviderScheduler scheduler = NewScheduler()) {
+            final StubStep producer = new StubStep("Producer", List.of(10L, 20L));
+            final StubStep passThrough = new StubStep("PassThrough", null);
+            final StubStep consumer = new StubStep("Consumer", List.of(30L));
+            final SessionWorkloadProvider session = new SessionWorkloadProvider(scheduler,
+                                                                                null,
+                                                                                new QueryRunnable[] { producer, passThrough, consumer });
+            session.ResetStats(3);
+
+            assertTrue(session.call().getValue0());
+
+            assertNull(producer.inputs.get(0), "the first step has no input");
+            assertEquals(List.of(10L, 20L), passThrough.inputs.get(0));
+            //A step that doesn't return values passes its input to the next step
+            assertEquals(List.of(10L, 20L), consumer.inputs.get(0));
+            //getVId and getVId(depth) select from the input
+            assertTrue(List.of(10L, 20L).containsAll(consumer.vIds), consumer.vIds.toString());
+            //The input is cleared once the step is executed
+            assertNull(consumer.getStepInput());
+
+            final var stats = session.getStepStats();
+            for (SessionWorkloadProvider.StepStats step : stats) {
+                assertEquals(1, step.successCount().sum(), step.name());
+                assertEquals(0, step.endedCount().sum(), step.name());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("A step that returns no values ends the session")
+    void emptyValuesEndSession() throws Exception {
+        try (WorkloadProviderScheduler scheduler = NewScheduler()) {
+            final StubStep producer = new StubStep("Producer", List.of());
+            final StubStep consumer = new StubStep("Consumer", null);
+            final SessionWorkloadProvider session = new SessionWorkloadProvider(scheduler,
+                                                                                null,
+                                                                                new QueryRunnable[] { producer, consumer });
+            session.ResetStats(3);
+
+            //The ended session is still recorded
+            assertTrue(session.call().getValue0());
+            assertTrue(session.call().getValue0());
+
+            assertTrue(consumer.inputs.isEmpty(), "the step after an empty result was executed");
+            final var stats = session.getStepStats();
+            assertEquals(2, stats.get(0).successCount().sum());
+            assertEquals(2, stats.get(0).endedCount().sum());
+            assertEquals(0, stats.get(1).successCount().sum());
+            assertEquals(0, stats.get(1).endedCount().sum());
+        }
+    }
+
+    @Test
+    @DisplayName("A Gremlin step's result is bound to 'prev' in the next step")
+    void gremlinStepsPassValues() throws Exception {
+        final GraphTraversalSource g = TinkerFactory.createModern().traversal();
+        final AGSGraphTraversal ags = new AGSGraphTraversal() {
+            @Override
+            public GraphTraversalSource G() { return g; }
+
+            @Override
+            public Cluster getCluster() { return null; }
+        };
+
+        try (WorkloadProviderScheduler scheduler = NewScheduler()) {
+            final EvalQueryWorkloadProvider knows = new EvalQueryWorkloadProvider(scheduler,
+                                                                                    ags,
+                                                                                    "g.V(1).out('knows').id().toList()",
+                                                                                    new dummyManager());
+            final EvalQueryWorkloadProvider names = new EvalQueryWorkloadProvider(scheduler,
+                                                                                    ags,
+                                                                                    "g.V(prev).values('name').toList()",
+                                                                                    new dummyManager());
+            final StubStep consumer = new StubStep("Consumer", null);
+            final SessionWorkloadProvider session = new SessionWorkloadProvider(scheduler,
+                                                                                ags,
+                                                                                new QueryRunnable[] { knows, names, consumer });
+            session.ResetStats(3);
+            session.PrepareCompile();
+            assertFalse(scheduler.isAborted(), "session could not be prepared");
+
+            assertTrue(session.call().getValue0());
+
+            assertEquals(Set.of("vadas", "josh"), Set.copyOf(consumer.inputs.get(0)));
+            //Only a step followed by another step keeps its result
+            assertTrue(knows.keepStepOutput);
+            assertTrue(names.keepStepOutput);
+            assertNull(knows.getStepOutput(null), "the kept result was not consumed");
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.aerospike;
+
+import com.aerospike.predefined.TestRun;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SteadyStateTrackerTest {
+
+    @Test
+    @DisplayName("The steady state excludes the ramp-up and the drain")
+    void detectWindow() {
+        final double[] throughput = { 20, 60, 95, 100, 102, 98, 100, 101, 99, 40, 5 };
+        final boolean[] dispatching = { true, true, true, true, true, true, true, true, true, true, false };
+        assertArrayEquals(new int[] { 2, 8 }, SteadyStateTracker.DetectWindow(throughput, dispatching));
+
+        //The seconds after the dispatchers stopped are never included
+        final boolean[] stoppedEarly = { true, true, true, true, true, true, false, false, false, false, false };
+        assertArrayEquals(new int[] { 2, 5 }, SteadyStateTracker.DetectWindow(throughput, stoppedEarly));
+
+        //Never stable
+        assertNull(SteadyStateTracker.DetectWindow(new double[] { 10, 100, 10, 100, 10, 100 },
+                                                    new boolean[] { true, true, true, true, true, true }));
+        assertNull(SteadyStateTracker.DetectWindow(new double[] { 100, 100 },
+                                                    new boolean[] { true, true }));
+    }
+
+    @Test
+    @DisplayName("Samples each second and reports the steady-state latencies")
+    void sampleSeconds() {
+        final AtomicLong successes = new AtomicLong();
+        final AtomicBoolean dispatching = new AtomicBoolean(true);
+        final Histogram latencies = new Histogram(3);
+        final Histogram corrected = new Histogram(3);
+        final long[] secondLatency = { 50_000_000, 1_000_000, 1_000_000, 1_000_000, 1_000_000, 90_000_000 };
+        final long[] secondCount = { 10, 100, 100, 100, 100, 10 };
+
+        try (SteadyStateTracker tracker = new SteadyStateTracker(successes::get,
+                                                                    () -> 0,
+                                                                    latencies::copy,
+                                                                    corrected::copy,
+                                                                    dispatching::get)) {
+            //Sample is driven by the test, a scheduled sample would add a second
+            tracker.InitBaseline();
+            for (int second = 0; second < secondLatency.length; second++) {
+                latencies.recordValueWithCount(secondLatency[second], secondCount[second]);
+                corrected.recordValueWithCount(secondLatency[second] * 2, secondCount[second]);
+                successes.addAndGet(secondCount[second]);
+                dispatching.set(second < secondLatency.length - 1);
+                tracker.Sample();
+            }
+
+            assertEquals(secondLatency.length, tracker.getSeconds().size());
+            final SteadyStateTracker.SteadyState steady = tracker.getSteadyState();
+            assertNotNull(steady);
+            assertEquals(1, steady.startSecond());
+            assertEquals(4, steady.endSecond());
+            assertEquals(400, steady.successes());
+            assertEquals(100.0, steady.callsPerSecond(), 0.001);
+            assertTrue(steady.latency().valuesAreEquivalent(1_000_000, steady.latency().getMaxValue()));
+            assertTrue(steady.correctedLatency().valuesAreEquivalent(2_000_000, steady.correctedLatency().getMaxValue()));
+        }
+    }
+
+    @Test
+    @DisplayName("A workload reports its steady state")
+    void workloadSteadyState() {
+        final Duration duration = Duration.ofSeconds(5);
+        final TestRunSchedulerTest.TestArgs args = new TestRunSchedulerTest.TestArgs(duration);
+        args.queriesPerSecond = 100;
+
+        try (WorkloadProviderScheduler scheduler = new WorkloadProviderScheduler(new OpenTelemetryDummy(),
+                                                                                duration,
+                                                                                args.queriesPerSecond,
+                                                                                false,
+                                                                                false,
+                                                                                args)) {
+            new TestRun(scheduler, null, null);
+            scheduler.Start();
+            assertTrue(scheduler.awaitTermination(), "workload did not terminate");
+            final SteadyStateTracker.SteadyState steady = scheduler.getSteadyStateTracker().getSteadyState();
+            assertNotNull(steady, "steady state not detected");
+            assertTrue(steady.seconds() >= SteadyStateTracker.StableSeconds);
+            assertEquals(100.0, steady.callsPerSecond(), 10.0);
+        }
+    }
+}
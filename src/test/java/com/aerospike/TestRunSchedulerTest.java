@@ -3,11 +3,14 @@ package com.aerospike;
 import java.time.Duration;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import com.aerospike.predefined.TestRun;
+import com.aerospike.predefined.TestRunLong;
 
 /**
  * Integration-style test that exercises TestRun with WorkloadProviderScheduler
@@ -28,6 +31,7 @@ class TestRunSchedulerTest {
             this.qpsThreshold = 0;
             this.endQPS = 0;
             this.incrQPS = 0;
+            this.histogramPrecision = 3;
             this.appTestMode = true;
             this.backgroundMode = true; // reduces console noise
         }
@@ -117,4 +121,413 @@ class TestRunSchedulerTest {
             assertEquals(0, workload.getErrorCount(), "workload error count should be zero");
         }
     }
+
+    @Test
+    @DisplayName("Reset reuses the scheduler for warmup and then the workload")
+    void resetReusesScheduler() {
+        Duration phaseDuration = Duration.ofSeconds(2);
+        TestArgs args = newArgs(phaseDuration);
+
+        try (WorkloadProviderScheduler scheduler = new WorkloadProviderScheduler(
+                new OpenTelemetryDummy(),
+                phaseDuration,
+                args.queriesPerSecond,
+                true,
+                false,
+                args)) {
+            QueryRunnable run = new TestRun(scheduler, null, null);
+            scheduler.Start();
+            assertTrue(scheduler.awaitTermination(), "warmup did not terminate normally");
+            assertTrue(scheduler.isWarmup());
+            assertTrue(scheduler.canReset());
+            final long warmupCount = scheduler.getSuccessCount();
+            assertTrue(warmupCount > 0, "no warmup queries executed");
+
+            scheduler.Reset(Duration.ofSeconds(2), 20, false, true);
+            assertEquals(WorkloadStatus.CanRun, scheduler.getStatus());
+            assertFalse(scheduler.isWarmup());
+            assertEquals(0, scheduler.getSuccessCount(), "counters not reset");
+            assertEquals(0, scheduler.getLatencyMSCountAtPercentile(100.0).getValue1(), "histogram not reset");
+            assertEquals(Duration.ofSeconds(2), scheduler.getTargetRunDuration());
+
+            scheduler.Start();
+            assertTrue(scheduler.awaitTermination(), "workload did not terminate normally");
+            assertEquals(WorkloadStatus.Completed, scheduler.getStatus());
+            assertTrue(scheduler.getSuccessCount() > warmupCount, "workload didn't use the new QPS");
+            assertEquals(scheduler.getSuccessCount(), scheduler.getLatencyMSCountAtPercentile(100.0).getValue1());
+            assertEquals(0, scheduler.getErrorCount(), "workload error count should be zero");
+            assertEquals("TestRun", run.Name());
+        }
+    }
+
+    @Test
+    @DisplayName("Queries exceeding the deadline are canceled and counted as timeouts")
+    void queryTimeoutCancelsSlowQueries() {
+        Duration duration = Duration.ofSeconds(2);
+        TestArgs args = newArgs(duration);
+        args.queriesPerSecond = 4;
+        args.workers = 4;
+        args.queryTimeoutMS = 100;
+
+        try (WorkloadProviderScheduler scheduler = new WorkloadProviderScheduler(
+                new OpenTelemetryDummy(),
+                duration,
+                args.queriesPerSecond,
+                false,
+                false,
+                args)) {
+
+            new TestRunLong(scheduler, null, null);
+            final long start = System.nanoTime();
+            scheduler.Start();
+            assertTrue(scheduler.awaitTermination(), "workload did not terminate");
+            assertTrue(Duration.ofNanos(System.nanoTime() - start).toSeconds() < 5,
+                        "slow queries were not canceled");
+            assertTrue(scheduler.getTimeoutCount() > 0, "no timeouts recorded");
+            assertEquals(0, scheduler.getSuccessCount());
+            assertEquals(0, scheduler.getErrorCount(), "timeouts must not be counted as errors");
+            assertEquals(Duration.ofMillis(100), scheduler.getQueryTimeout());
+        }
+    }
+
+    @Test
+    @DisplayName("A full worker queue sheds queries or blocks the dispatcher based on the shed policy")
+    void shedPolicies() {
+        Duration duration = Duration.ofSeconds(2);
+
+        for (ShedPolicy policy : ShedPolicy.values()) {
+            TestArgs args = newArgs(duration);
+            args.queriesPerSecond = 50;
+            args.workers = 1;
+            args.queryTimeoutMS = 200;
+            args.maxQueued = 2;
+            args.shedPolicy = policy;
+
+            try (WorkloadProviderScheduler scheduler = new WorkloadProviderScheduler(
+                    new OpenTelemetryDummy(),
+                    duration,
+                    args.queriesPerSecond,
+                    false,
+                    false,
+                    args)) {
+
+                new TestRunLong(scheduler, null, null);
+                scheduler.Start();
+                assertTrue(scheduler.awaitTermination(), "workload did not terminate: " + policy);
+                assertEquals(policy, scheduler.getShedPolicy());
+                assertEquals(0, scheduler.getErrorCount(), "shed queries must not be counted as errors: " + policy);
+                assertTrue(scheduler.getTimeoutCount() > 0, "no queries executed: " + policy);
+                if(policy == ShedPolicy.Block) {
+                    assertEquals(0, scheduler.getShedCount());
+                    assertTrue(scheduler.getMissedSlots() > 0, "dispatcher was not blocked");
+                } else {
+                    assertTrue(scheduler.getShedCount() > 0, "no queries shed: " + policy);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Runs workload on virtual threads bounded by max in-flight")
+    void virtualThreadsWithMaxInFlight() {
+        Duration duration = Duration.ofSeconds(2);
+        TestArgs args = newArgs(duration);
+        args.queriesPerSecond = 200;
+        args.virtualThreads = true;
+        args.maxInFlight = 8;
+
+        try (WorkloadProviderScheduler scheduler = new WorkloadProviderScheduler(
+                new OpenTelemetryDummy(),
+                duration,
+                args.queriesPerSecond,
+                false,
+                false,
+                args)) {
+
+            new TestRun(scheduler, null, null);
+            scheduler.Start();
+            assertTrue(scheduler.awaitTermination(), "virtual thread workload did not terminate");
+            assertEquals(WorkloadStatus.Completed, scheduler.getStatus());
+            assertTrue(scheduler.getSuccessCount() > 0, "no queries executed");
+            assertEquals(0, scheduler.getErrorCount(), "virtual thread workload error count should be zero");
+            assertEquals(0, scheduler.getPendingCount(), "in-flight queries should be drained");
+        }
+    }
+
+    @Test
+    @DisplayName("Runs workload asynchronously from the scheduler threads")
+    void asyncSubmission() {
+        Duration duration = Duration.ofSeconds(2);
+        TestArgs args = newArgs(duration);
+        args.queriesPerSecond = 500;
+        args.asyncMode = true;
+
+        try (WorkloadProviderScheduler scheduler = new WorkloadProviderScheduler(
+                new OpenTelemetryDummy(),
+                duration,
+                args.queriesPerSecond,
+                false,
+                false,
+                args)) {
+
+            new TestRun(scheduler, null, null);
+            assertTrue(scheduler.isAsync(), "TestRun should support async submission");
+            scheduler.Start();
+            assertTrue(scheduler.awaitTermination(), "async workload did not terminate");
+            assertEquals(WorkloadStatus.Completed, scheduler.getStatus());
+            assertTrue(scheduler.getSuccessCount() > 0, "no queries executed");
+            assertEquals(0, scheduler.getErrorCount(), "async workload error count should be zero");
+        }
+    }
+
+    @Test
+    @DisplayName("Async submission sheds queries instead of stalling the dispatcher once max in-flight is reached")
+    void asyncMaxInFlightSheds() {
+        Duration duration = Duration.ofSeconds(2);
+        TestArgs args = newArgs(duration);
+        args.queriesPerSecond = 2000;
+        args.asyncMode = true;
+        args.maxInFlight = 1;
+
+        try (WorkloadProviderScheduler scheduler = new WorkloadProviderScheduler(
+                new OpenTelemetryDummy(),
+                duration,
+                args.queriesPerSecond,
+                false,
+                false,
+                args)) {
+
+            new TestRun(scheduler, null, null);
+            scheduler.Start();
+            assertTrue(scheduler.awaitTermination(), "async workload did not terminate");
+            assertTrue(scheduler.getSuccessCount() > 0, "no queries executed");
+            assertTrue(scheduler.getShedCount() > 0, "no queries were shed");
+            //The open-loop schedule is kept: every slot either executed or was shed
+            final long dispatched = scheduler.getSuccessCount() + scheduler.getShedCount();
+            assertTrue(dispatched >= args.queriesPerSecond * duration.toSeconds() * 0.8,
+                        "dispatcher stalled, only " + dispatched + " queries dispatched");
+        }
+    }
+
+    @Test
+    @DisplayName("Runs closed-loop clients back-to-back with think time")
+    void closedLoopClients() {
+        Duration duration = Duration.ofSeconds(2);
+        TestArgs args = newArgs(duration);
+        args.closedLoopClients = 2;
+        args.thinkTimeMS = 4;
+        args.qpsThreshold = 95;
+
+        try (WorkloadProviderScheduler scheduler = new WorkloadProviderScheduler(
+                new OpenTelemetryDummy(),
+                duration,
+                args.queriesPerSecond,
+                false,
+                false,
+                args)) {
+
+            new TestRun(scheduler, null, null);
+            assertTrue(scheduler.isClosedLoop());
+            scheduler.Start();
+            assertTrue(scheduler.awaitTermination(), "closed-loop workload did not terminate");
+            assertEquals(WorkloadStatus.Completed, scheduler.getStatus());
+            assertEquals(0, scheduler.getErrorCount(), "closed-loop workload error count should be zero");
+            // Each client completes at most one query per (1 ms call + 4 ms think time)
+            assertTrue(scheduler.getSuccessCount() > args.queriesPerSecond * duration.toSeconds(),
+                        "closed-loop should not be limited by the target QPS");
+            assertTrue(scheduler.getCallsPerSecond() <= 2 * 200 + 1,
+                        "closed-loop exceeded the clients' capacity");
+            assertFalse(args.qpsErrorRun.get(), "QPS threshold should not apply to closed-loop");
+        }
+    }
+
+    @Test
+    @DisplayName("Dispatcher parks between dispatches instead of spinning")
+    void dispatcherDoesNotSpin() {
+        Duration duration = Duration.ofSeconds(2);
+        TestArgs args = newArgs(duration);
+        args.queriesPerSecond = 100;
+        args.spinThresholdUS = 100;
+
+        try (WorkloadProviderScheduler scheduler = new WorkloadProviderScheduler(
+                new OpenTelemetryDummy(),
+                duration,
+                args.queriesPerSecond,
+                false,
+                false,
+                args)) {
+
+            new TestRun(scheduler, null, null);
+            scheduler.Start();
+            assertTrue(scheduler.awaitTermination(), "workload did not terminate");
+            assertTrue(scheduler.getSuccessCount() > 0, "no queries executed");
+            assertTrue(scheduler.getDispatcherCPUTime().toMillis() < duration.toMillis() / 2,
+                        "dispatcher used " + scheduler.getDispatcherCPUTime() + " of CPU");
+            assertTrue(scheduler.getScheduleLagUSAtPercentile(50.0) < 10_000,
+                        "median dispatch timing error too large");
+        }
+    }
+
+    @Test
+    @DisplayName("Ramps the target QPS during the run using a rate profile")
+    void rampRateProfile() {
+        Duration duration = Duration.ofSeconds(2);
+        TestArgs args = newArgs(duration);
+        args.queriesPerSecond = 100;
+        args.workers = 4;
+        args.rateProfile = RateProfile.Parse("ramp:300");
+
+        try (WorkloadProviderScheduler scheduler = new WorkloadProviderScheduler(
+                new OpenTelemetryDummy(),
+                duration,
+                args.queriesPerSecond,
+                false,
+                false,
+                args)) {
+
+            new TestRun(scheduler, null, null);
+            scheduler.Start();
+            assertTrue(scheduler.awaitTermination(), "workload did not terminate");
+            assertEquals(0, scheduler.getErrorCount(), "rate profile workload error count should be zero");
+            assertEquals(200, scheduler.getTargetMeanCallsPerSecond(), 1);
+            // A constant 100 QPS would complete about 200 queries; the ramp should complete about 400
+            assertTrue(scheduler.getSuccessCount() > 300,
+                        "ramp completed only " + scheduler.getSuccessCount() + " queries");
+        }
+    }
+
+    @Test
+    @DisplayName("Dispatches using Poisson arrivals while keeping the target QPS")
+    void poissonArrivals() {
+        Duration duration = Duration.ofSeconds(2);
+        TestArgs args = newArgs(duration);
+        args.queriesPerSecond = 500;
+        args.workers = 8;
+        args.arrivalProcess = ArrivalProcess.Parse("poisson");
+        args.arrivalSeed = 12345L;
+
+        try (WorkloadProviderScheduler scheduler = new WorkloadProviderScheduler(
+                new OpenTelemetryDummy(),
+                duration,
+                args.queriesPerSecond,
+                false,
+                false,
+                args)) {
+
+            new TestRun(scheduler, null, null);
+            scheduler.Start();
+            assertTrue(scheduler.awaitTermination(), "workload did not terminate");
+            assertEquals(0, scheduler.getErrorCount(), "poisson workload error count should be zero");
+            assertEquals(12345L, scheduler.getArrivalSeed());
+            final double cv = scheduler.getArrivalIntervalCV();
+            assertTrue(cv > 0.7 && cv < 1.3, "poisson arrival CV was " + cv);
+            assertEquals(2_000_000.0, scheduler.getArrivalIntervalHistogram().getMean(), 400_000.0);
+        }
+    }
+
+    @Test
+    @DisplayName("Runs a weighted query mix with per query statistics")
+    void queryMix() throws ReflectiveOperationException {
+        Duration duration = Duration.ofSeconds(2);
+        TestArgs args = newArgs(duration);
+        args.queriesPerSecond = 500;
+        args.workers = 8;
+        args.asyncMode = true;
+
+        try (WorkloadProviderScheduler scheduler = new WorkloadProviderScheduler(
+                new OpenTelemetryDummy(),
+                duration,
+                args.queriesPerSecond,
+                false,
+                false,
+                args)) {
+
+            final MixedQueryWorkloadProvider mix = new MixedQueryWorkloadProvider(scheduler,
+                    null,
+                    new MixedQueryWorkloadProvider.Entry[] {
+                            MixedQueryWorkloadProvider.Entry.Parse("3:TestRun"),
+                            MixedQueryWorkloadProvider.Entry.Parse("1:TestRunSpinWait")
+                    },
+                    null,
+                    false);
+            assertEquals(MixedQueryWorkloadProvider.MixName, mix.Name());
+            assertFalse(scheduler.isAsync(), "a mix with a synchronous member cannot be async");
+
+            scheduler.Start();
+            assertTrue(scheduler.awaitTermination(), "mix workload did not terminate");
+            assertEquals(0, scheduler.getErrorCount(), "mix workload error count should be zero");
+
+            final var stats = scheduler.getQueryMixStats();
+            assertEquals(2, stats.size());
+            assertEquals("TestRun", stats.get(0).name());
+            assertEquals("TestRunSpinWait", stats.get(1).name());
+            assertEquals(75.0, stats.get(0).weightPct(), 0.001);
+
+            final long first = stats.get(0).successCount().sum();
+            final long second = stats.get(1).successCount().sum();
+            assertEquals(scheduler.getSuccessCount(), first + second);
+            assertEquals(first, stats.get(0).histogram().snapshot().getTotalCount());
+            final double firstPct = (double) first / (first + second);
+            assertTrue(firstPct > 0.65 && firstPct < 0.85, "TestRun share was " + firstPct);
+
+            //Rebinding the same mix resets the member statistics instead of recreating them
+            scheduler.Reset(duration, args.queriesPerSecond, false, true);
+            final var resetStats = scheduler.getQueryMixStats();
+            assertSame(stats.get(0).histogram(), resetStats.get(0).histogram());
+            assertSame(stats.get(1).successCount(), resetStats.get(1).successCount());
+            assertEquals(0, resetStats.get(0).successCount().sum());
+            assertEquals(0, resetStats.get(0).histogram().snapshot().getTotalCount());
+            assertEquals(75.0, resetStats.get(0).weightPct(), 0.001);
+        }
+    }
+
+    @Test
+    @DisplayName("Runs a multi-step session with per step and end-to-end statistics")
+    void session() throws ReflectiveOperationException {
+        Duration duration = Duration.ofSeconds(2);
+        TestArgs args = newArgs(duration);
+        args.queriesPerSecond = 200;
+        args.workers = 8;
+
+        try (WorkloadProviderScheduler scheduler = new WorkloadProviderScheduler(
+                new OpenTelemetryDummy(),
+                duration,
+                args.queriesPerSecond,
+                false,
+                false,
+                args)) {
+
+            final SessionWorkloadProvider session = new SessionWorkloadProvider(scheduler,
+                    null,
+                    new String[] { "TestRun", "TestRunSpinWait" },
+                    null,
+                    false);
+            assertEquals(SessionWorkloadProvider.SessionName, session.Name());
+            assertEquals(session, scheduler.getQuery());
+
+            scheduler.Start();
+            assertTrue(scheduler.awaitTermination(), "session workload did not terminate");
+            assertEquals(0, scheduler.getErrorCount(), "session workload error count should be zero");
+
+            final var stats = session.getStepStats();
+            assertEquals(2, stats.size());
+            assertEquals("TestRun", stats.get(0).name());
+            assertEquals("TestRunSpinWait", stats.get(1).name());
+            assertTrue(scheduler.getSuccessCount() > 0, "no sessions executed");
+            //Every recorded session executed both steps
+            assertEquals(scheduler.getSuccessCount(), stats.get(1).successCount().sum());
+            assertTrue(stats.get(0).successCount().sum() >= stats.get(1).successCount().sum());
+            assertEquals(stats.get(1).successCount().sum(), stats.get(1).histogram().snapshot().getTotalCount());
+            //The end-to-end latency includes both steps
+            assertTrue(scheduler.getLatencyMSAtPercentile(50.0)
+                            >= stats.get(1).histogram().snapshot().getValueAtPercentile(50.0) / Helpers.NS_TO_MS);
+
+            //Rebinding the same session resets the step statistics instead of recreating them
+            scheduler.Reset(duration, args.queriesPerSecond, false, true);
+            final var resetStats = session.getStepStats();
+            assertSame(stats.get(0).histogram(), resetStats.get(0).histogram());
+            assertEquals(0, resetStats.get(1).successCount().sum());
+            assertEquals(0, resetStats.get(1).histogram().snapshot().getTotalCount());
+        }
+    }
 }
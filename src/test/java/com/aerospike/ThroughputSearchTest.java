@@ -0,0 +1,82 @@
+package com.aerospike;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ThroughputSearchTest {
+
+    /* Simulates a system that meets the SLO up to capacity QPS */
+    private static ThroughputSearch run(ThroughputSearch search, int capacity) {
+        int qps;
+        int probes = 0;
+        while ((qps = search.NextQPS()) > 0) {
+            assertTrue(++probes < 50, "search did not converge");
+            final boolean ok = qps <= capacity;
+            search.Record(search.Evaluate(qps,
+                                            ok ? qps : capacity,
+                                            ok ? 5.0 : 50.0,
+                                            1_000,
+                                            0));
+        }
+        return search;
+    }
+
+    @Test
+    @DisplayName("Grows exponentially then converges on the capacity")
+    void convergesOnCapacity() {
+        final ThroughputSearch search = run(new ThroughputSearch(100, 0, 2.0, 5.0, 10.0, 99.0, 1.0, 95.0), 1_000);
+
+        assertTrue(search.isDone());
+        assertTrue(search.getBestQPS() <= 1_000);
+        assertTrue(search.getBestQPS() >= 950, "best was " + search.getBestQPS());
+
+        final List<ThroughputSearch.Probe> probes = search.getProbes();
+        assertEquals(List.of(100, 200, 400, 800, 1_600),
+                     probes.subList(0, 5).stream().map(ThroughputSearch.Probe::targetQPS).toList());
+        assertTrue(probes.size() < 12, "too many probes: " + probes.size());
+    }
+
+    @Test
+    @DisplayName("Stops at the maximum QPS when it is sustainable")
+    void stopsAtMaximum() {
+        final ThroughputSearch search = run(new ThroughputSearch(100, 500, 2.0, 5.0, 10.0, 99.0, 1.0, 95.0), 10_000);
+
+        assertEquals(500, search.getBestQPS());
+        assertEquals(List.of(100, 200, 400, 500),
+                     search.getProbes().stream().map(ThroughputSearch.Probe::targetQPS).toList());
+    }
+
+    @Test
+    @DisplayName("Reports no sustainable QPS when every probe fails")
+    void noProbePasses() {
+        final ThroughputSearch search = run(new ThroughputSearch(100, 0, 2.0, 5.0, 10.0, 99.0, 1.0, 95.0), 0);
+
+        assertTrue(search.isDone());
+        assertEquals(0, search.getBestQPS());
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        search.PrintResults(new PrintStream(output));
+        assertTrue(output.toString().contains("None"));
+    }
+
+    @Test
+    @DisplayName("A probe fails on latency, errors, or QPS")
+    void evaluatesProbe() {
+        final ThroughputSearch search = new ThroughputSearch(100, 0, 2.0, 5.0, 10.0, 99.0, 1.0, 95.0);
+
+        assertTrue(search.Evaluate(100, 99, 9.0, 1_000, 5).passed());
+        assertTrue(search.Evaluate(100, 99, 11.0, 1_000, 0).reason().contains("latency"));
+        assertTrue(search.Evaluate(100, 99, 9.0, 900, 100).reason().contains("Error rate"));
+        assertTrue(search.Evaluate(100, 80, 9.0, 1_000, 0).reason().contains("QPS"));
+        assertFalse(search.Evaluate(100, 0, 0, 0, 0).passed());
+
+        final ThroughputSearch noLatencySLO = new ThroughputSearch(100, 0, 2.0, 5.0, 0, 99.0, 1.0, 95.0);
+        assertTrue(noLatencySLO.Evaluate(100, 99, 500.0, 1_000, 0).passed());
+    }
+}